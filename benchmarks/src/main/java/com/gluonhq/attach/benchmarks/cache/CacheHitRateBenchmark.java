@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.benchmarks.cache;
+
+import com.gluonhq.attach.cache.Cache;
+import com.gluonhq.attach.cache.Parameters;
+import com.gluonhq.attach.cache.impl.BoundedCache;
+import com.gluonhq.attach.cache.impl.DefaultCache;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hit rate of the soft reference {@link DefaultCache} with the
+ * {@link BoundedCache}, bounded by size or by weight, for keys that follow a
+ * Zipfian distribution, as the images of a scrolling list usually do.
+ *
+ * <p>Each miss loads a value between 1 and 16 KB. The fork runs with a small heap,
+ * so the soft references are cleared as they would be on a device. The hits and
+ * misses are reported as secondary results: the hit rate is
+ * {@code hits / (hits + misses)}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms64m", "-Xmx64m"})
+public class CacheHitRateBenchmark {
+
+    private static final int KEYS = 100_000;
+    private static final double EXPONENT = 0.99;
+    // about 8 MB of values when bounded
+    private static final int MAXIMUM_SIZE = 1_000;
+    private static final long MAXIMUM_WEIGHT = MAXIMUM_SIZE * 8_704L;
+
+    @Param({"soft", "size", "weight"})
+    public String policy;
+
+    private final double[] cdf = new double[KEYS];
+    private final Integer[] keys = new Integer[KEYS];
+    private Cache<Integer, byte[]> cache;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        double sum = 0;
+        for (int i = 0; i < KEYS; i++) {
+            sum += 1 / Math.pow(i + 1, EXPONENT);
+            cdf[i] = sum;
+            keys[i] = i;
+        }
+        for (int i = 0; i < KEYS; i++) {
+            cdf[i] /= sum;
+        }
+        switch (policy) {
+            case "size":
+                cache = new BoundedCache<>(new Parameters<Integer, byte[]>().withMaximumSize(MAXIMUM_SIZE));
+                break;
+            case "weight":
+                cache = new BoundedCache<>(new Parameters<Integer, byte[]>()
+                        .withMaximumWeight(MAXIMUM_WEIGHT, (key, value) -> value.length));
+                break;
+            default:
+                cache = new DefaultCache<>();
+                break;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Generator {
+        private final Random random = new Random(42);
+    }
+
+    @Benchmark
+    public byte[] access(Generator generator, Counters counters) {
+        int index = Arrays.binarySearch(cdf, generator.random.nextDouble());
+        Integer key = keys[index < 0 ? Math.min(-index - 1, KEYS - 1) : index];
+        byte[] value = cache.get(key);
+        if (value == null) {
+            counters.misses++;
+            value = new byte[1_024 + (key * 31 & 15) * 1_024];
+            cache.put(key, value);
+        } else {
+            counters.hits++;
+        }
+        return value;
+    }
+}
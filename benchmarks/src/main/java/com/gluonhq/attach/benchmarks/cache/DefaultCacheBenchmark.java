@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.benchmarks.cache;
+
+import com.gluonhq.attach.cache.impl.DefaultCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DefaultCache} get and put, from a single thread and from
+ * a group of three reader threads and one writer thread sharing the same cache.
+ *
+ * <p>All the keys are added before measuring and the writer only replaces
+ * existing values, so the map is never resized while it is read.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultCacheBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final DefaultCache<Integer, String> cache = new DefaultCache<>();
+    private final Integer[] keys = new Integer[SIZE];
+    // strong references, so the cached values are never cleared
+    private final String[] values = new String[SIZE];
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = i;
+            values[i] = "value" + i;
+            cache.put(keys[i], values[i]);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String get() {
+        return cache.get(keys[ThreadLocalRandom.current().nextInt(SIZE)]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void put() {
+        int i = ThreadLocalRandom.current().nextInt(SIZE);
+        cache.put(keys[i], values[i]);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public String contendedGet() {
+        return cache.get(keys[ThreadLocalRandom.current().nextInt(SIZE)]);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public void contendedPut() {
+        int i = ThreadLocalRandom.current().nextInt(SIZE);
+        cache.put(keys[i], values[i]);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.benchmarks.cache;
+
+import com.gluonhq.attach.cache.Parameters;
+import com.gluonhq.attach.cache.impl.BoundedCache;
+import com.gluonhq.attach.cache.impl.DefaultLongCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups by numeric id in a {@link BoundedCache} with {@code Long} keys,
+ * which boxes every id, and in a {@link DefaultLongCache} with the same parameters.
+ *
+ * <p>Ids are outside of the range of {@link Long#valueOf(long)}'s cache, like
+ * database ids, so boxing allocates. Run with {@code -prof gc} to compare the
+ * allocation rates.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveKeyCacheBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final long FIRST_ID = 1_000_000L;
+
+    private BoundedCache<Long, String> boxedCache;
+    private DefaultLongCache<String> longCache;
+
+    @Setup
+    public void setup() {
+        boxedCache = new BoundedCache<>(new Parameters<Long, String>().withMaximumSize(2 * SIZE));
+        longCache = new DefaultLongCache<>(new Parameters<Long, String>().withMaximumSize(2 * SIZE));
+        for (int i = 0; i < SIZE; i++) {
+            boxedCache.put(FIRST_ID + i, "value" + i);
+            longCache.put(FIRST_ID + i, "value" + i);
+        }
+    }
+
+    @Benchmark
+    public String boxedGet() {
+        return boxedCache.get(FIRST_ID + ThreadLocalRandom.current().nextInt(SIZE));
+    }
+
+    @Benchmark
+    public String primitiveGet() {
+        return longCache.get(FIRST_ID + ThreadLocalRandom.current().nextInt(SIZE));
+    }
+}
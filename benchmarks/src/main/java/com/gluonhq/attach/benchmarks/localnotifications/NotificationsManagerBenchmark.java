@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.benchmarks.localnotifications;
+
+import com.gluonhq.attach.localnotifications.Notification;
+import com.gluonhq.attach.localnotifications.impl.NotificationsManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link NotificationsManager#registerNotification(Notification)},
+ * for new notifications, which are unregistered first as part of the
+ * measurement, and for notifications that are already registered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationsManagerBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final Notification[] notifications = new Notification[SIZE];
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        ZonedDateTime dateTime = ZonedDateTime.now().plusDays(1);
+        for (int i = 0; i < SIZE; i++) {
+            notifications[i] = new Notification("id" + i, "Title " + i, "Text " + i, dateTime, () -> {});
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        for (Notification n : notifications) {
+            NotificationsManager.unregisterNotification(n.getId());
+        }
+    }
+
+    @Benchmark
+    public boolean registerNew() {
+        Notification n = notifications[next];
+        next = (next + 1) % SIZE;
+        NotificationsManager.unregisterNotification(n.getId());
+        return NotificationsManager.registerNotification(n);
+    }
+
+    @Benchmark
+    public boolean registerExisting() {
+        Notification n = notifications[next];
+        next = (next + 1) % SIZE;
+        return NotificationsManager.registerNotification(n);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.benchmarks.settings;
+
+import com.gluonhq.attach.settings.SettingsEditor;
+import com.gluonhq.attach.settings.impl.DesktopSettingsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Measures {@link DesktopSettingsService#store(String, String)} with a
+ * number of settings already stored, on its own, which only schedules a
+ * write, and followed by {@link DesktopSettingsService#flush()}, which
+ * writes the file. A form of {@value #FORM_FIELDS} fields is saved with one
+ * flush per field, and as one batch.
+ *
+ * <p>The service stores its settings in {@code user.home}, which is set
+ * to a temporary directory for the benchmark. Its logger is limited to
+ * warnings, so the console output isn't part of the measurement.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DesktopSettingsServiceBenchmark {
+
+    private static final Logger SERVICE_LOGGER = Logger.getLogger(DesktopSettingsService.class.getName());
+
+    private static final int FORM_FIELDS = 30;
+
+    @Param({"10", "1000"})
+    public int settings;
+
+    private Path home;
+    private String userHome;
+    private DesktopSettingsService service;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        SERVICE_LOGGER.setLevel(Level.WARNING);
+        userHome = System.getProperty("user.home");
+        home = Files.createTempDirectory("attach-settings");
+        System.setProperty("user.home", home.toString());
+        service = new DesktopSettingsService();
+        for (int i = 0; i < settings; i++) {
+            service.store("key" + i, "value" + i);
+        }
+        service.store("count", "42");
+        service.storeInt("typedCount", 42);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        service.flush();
+        System.setProperty("user.home", userHome);
+        try (Stream<Path> files = Files.walk(home)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void store() {
+        next = (next + 1) % settings;
+        service.store("key" + next, "value" + System.nanoTime());
+    }
+
+    @Benchmark
+    public int retrieveParsed() {
+        return Integer.parseInt(service.retrieve("count"));
+    }
+
+    @Benchmark
+    public int retrieveTyped() {
+        return service.retrieveInt("typedCount", 0);
+    }
+
+    @Benchmark
+    public void storeAndFlush() {
+        next = (next + 1) % settings;
+        service.store("key" + next, "value" + System.nanoTime());
+        service.flush();
+    }
+
+    @Benchmark
+    public void saveFormPerField() {
+        for (int i = 0; i < FORM_FIELDS; i++) {
+            service.store("field" + i, "value" + System.nanoTime());
+            service.flush();
+        }
+    }
+
+    @Benchmark
+    public void saveFormBatch() {
+        SettingsEditor editor = service.edit();
+        for (int i = 0; i < FORM_FIELDS; i++) {
+            editor.put("field" + i, "value" + System.nanoTime());
+        }
+        editor.apply();
+        service.flush();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.benchmarks.storage;
+
+import com.gluonhq.attach.storage.StorageService;
+import com.gluonhq.attach.storage.impl.DesktopStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the copy of a resource into storage with a 1 KB buffer loop, as the
+ * video, augmented reality and local notifications services used to do, with
+ * {@link StorageService#copy(InputStream, File)} and {@link StorageService#copy(URL, File)},
+ * that also replace the target atomically. Reading a stored file through
+ * {@link StorageService#map(File)} is measured as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageServiceBenchmark {
+
+    @Param({"65536", "8388608"})
+    public int size;
+
+    private final StorageService service = new DesktopStorageService();
+    private Path directory;
+    private Path source;
+    private File target;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("attach-storage");
+        source = directory.resolve("source.bin");
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        Files.write(source, content);
+        target = directory.resolve("target.bin").toFile();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean bufferLoop() throws IOException {
+        try (InputStream input = Files.newInputStream(source);
+             OutputStream output = new FileOutputStream(target)) {
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = input.read(buffer)) > 0) {
+                output.write(buffer, 0, length);
+            }
+            output.flush();
+            return true;
+        }
+    }
+
+    @Benchmark
+    public long copyStream() throws IOException {
+        // not a file stream, like a resource in a jar
+        try (InputStream input = Files.newInputStream(source)) {
+            return service.copy(input, target);
+        }
+    }
+
+    @Benchmark
+    public long copyFileUrl() throws IOException {
+        return service.copy(source.toUri().toURL(), target);
+    }
+
+    @Benchmark
+    public long readStream() throws IOException {
+        long sum = 0;
+        try (InputStream input = Files.newInputStream(source)) {
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = input.read(buffer)) > 0) {
+                for (int i = 0; i < length; i++) {
+                    sum += buffer[i];
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long readMapped() throws IOException {
+        long sum = 0;
+        MappedByteBuffer buffer = service.map(source.toFile());
+        for (int i = 0, n = buffer.limit(); i < n; i++) {
+            sum += buffer.get(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.benchmarks.util;
+
+import com.gluonhq.attach.util.FXDispatcher;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds a burst of sensor readings, one every 5 ms, into a property with a
+ * listener, and measures the time until the last reading has been delivered.
+ * A single threaded executor stands in for the JavaFX application thread, so
+ * the benchmark runs without a display.
+ *
+ * <ul>
+ *     <li>{@code runLater}: one submission per reading, as native callbacks
+ *     used to do with {@code Platform.runLater}</li>
+ *     <li>{@code coalescing}: the default {@link FXDispatcher} behavior</li>
+ *     <li>{@code allSamples}: {@link FXDispatcher} delivering every reading</li>
+ * </ul>
+ *
+ * The auxiliary counters report the number of submissions to the application
+ * thread and the time it spent running listeners, summed over all the measured bursts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FXDispatcherBenchmark {
+
+    private static final int READINGS = 200;
+    private static final long READING_INTERVAL = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Param({"runLater", "coalescing", "allSamples"})
+    public String mode;
+
+    /**
+     * Work done by the listener on each delivered reading, in {@link Blackhole#consumeCPU(long)} tokens.
+     */
+    @Param({"1000", "4000000"})
+    public long listenerTokens;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long submissions;
+        public long fxMillis;
+    }
+
+    private ExecutorService fxThread;
+    private final AtomicLong submissions = new AtomicLong();
+    private final AtomicLong fxNanos = new AtomicLong();
+    private FXDispatcher dispatcher;
+    private ObjectProperty<Long> reading;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        fxThread = Executors.newSingleThreadExecutor();
+        dispatcher = new FXDispatcher(this::submit, Duration.ofMillis(16), !"allSamples".equals(mode));
+        reading = new SimpleObjectProperty<>();
+        reading.addListener((obs, ov, nv) -> Blackhole.consumeCPU(listenerTokens));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        fxThread.shutdownNow();
+    }
+
+    @Benchmark
+    public Long burst(Counters counters) throws InterruptedException {
+        submissions.set(0);
+        fxNanos.set(0);
+        long next = System.nanoTime();
+        for (long i = 0; i < READINGS; i++) {
+            Long value = i;
+            if ("runLater".equals(mode)) {
+                submit(() -> reading.setValue(value));
+            } else {
+                dispatcher.set(reading, value);
+            }
+            next += READING_INTERVAL;
+            LockSupport.parkNanos(next - System.nanoTime());
+        }
+        // wait for the last pulse, then for the application thread to drain
+        Thread.sleep(20);
+        CountDownLatch drained = new CountDownLatch(1);
+        fxThread.execute(drained::countDown);
+        drained.await();
+        counters.submissions = submissions.get();
+        counters.fxMillis = TimeUnit.NANOSECONDS.toMillis(fxNanos.get());
+        return reading.get();
+    }
+
+    private void submit(Runnable runnable) {
+        submissions.incrementAndGet();
+        fxThread.execute(() -> {
+            long start = System.nanoTime();
+            runnable.run();
+            fxNanos.addAndGet(System.nanoTime() - start);
+        });
+    }
+}
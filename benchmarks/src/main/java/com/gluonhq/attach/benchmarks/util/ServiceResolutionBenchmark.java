@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.benchmarks.util;
+
+import com.gluonhq.attach.accelerometer.AccelerometerService;
+import com.gluonhq.attach.audio.AudioService;
+import com.gluonhq.attach.audiorecording.AudioRecordingService;
+import com.gluonhq.attach.augmentedreality.AugmentedRealityService;
+import com.gluonhq.attach.barcodescan.BarcodeScanService;
+import com.gluonhq.attach.battery.BatteryService;
+import com.gluonhq.attach.ble.BleService;
+import com.gluonhq.attach.browser.BrowserService;
+import com.gluonhq.attach.cache.CacheService;
+import com.gluonhq.attach.compass.CompassService;
+import com.gluonhq.attach.connectivity.ConnectivityService;
+import com.gluonhq.attach.device.DeviceService;
+import com.gluonhq.attach.dialer.DialerService;
+import com.gluonhq.attach.inappbilling.InAppBillingService;
+import com.gluonhq.attach.keyboard.KeyboardService;
+import com.gluonhq.attach.lifecycle.LifecycleService;
+import com.gluonhq.attach.localnotifications.LocalNotificationsService;
+import com.gluonhq.attach.magnetometer.MagnetometerService;
+import com.gluonhq.attach.orientation.OrientationService;
+import com.gluonhq.attach.pictures.PicturesService;
+import com.gluonhq.attach.position.PositionService;
+import com.gluonhq.attach.pushnotifications.PushNotificationsService;
+import com.gluonhq.attach.runtimeargs.RuntimeArgsService;
+import com.gluonhq.attach.settings.SettingsService;
+import com.gluonhq.attach.share.ShareService;
+import com.gluonhq.attach.statusbar.StatusBarService;
+import com.gluonhq.attach.storage.StorageService;
+import com.gluonhq.attach.storereview.StoreReviewService;
+import com.gluonhq.attach.util.Platform;
+import com.gluonhq.attach.util.impl.DefaultServiceFactory;
+import com.gluonhq.attach.version.VersionService;
+import com.gluonhq.attach.vibration.VibrationService;
+import com.gluonhq.attach.video.VideoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cold resolution of all Attach services on desktop, in a fresh JVM,
+ * with the reflective lookup by class name that was used before the service index
+ * ({@code reflection}), and with the current {@link DefaultServiceFactory}, which
+ * uses the generated service index ({@code index}).
+ *
+ * DisplayService is left out, as its desktop implementation requires the JavaFX toolkit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ServiceResolutionBenchmark {
+
+    private static final List<Class<?>> SERVICES = List.of(
+            AccelerometerService.class, AudioService.class, AudioRecordingService.class,
+            AugmentedRealityService.class, BarcodeScanService.class, BatteryService.class,
+            BleService.class, BrowserService.class, CacheService.class, CompassService.class,
+            ConnectivityService.class, DeviceService.class, DialerService.class,
+            InAppBillingService.class, KeyboardService.class, LifecycleService.class,
+            LocalNotificationsService.class, MagnetometerService.class, OrientationService.class,
+            PicturesService.class, PositionService.class, PushNotificationsService.class,
+            RuntimeArgsService.class, SettingsService.class, ShareService.class,
+            StatusBarService.class, StorageService.class, StoreReviewService.class,
+            VersionService.class, VibrationService.class, VideoService.class);
+
+    @Param({"reflection", "index"})
+    public String lookup;
+
+    @Benchmark
+    public void resolveAll(Blackhole blackhole) {
+        boolean index = "index".equals(lookup);
+        for (Class<?> service : SERVICES) {
+            blackhole.consume(index ?
+                    new DefaultServiceFactory<>(service).getInstance().orElse(null) :
+                    createByName(service));
+        }
+    }
+
+    // the lookup done by DefaultServiceFactory before the service index
+    private static Object createByName(Class<?> service) {
+        String fqn = service.getPackageName() + ".impl." + Platform.getCurrent().getName() + service.getSimpleName();
+        try {
+            return Class.forName(fqn).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
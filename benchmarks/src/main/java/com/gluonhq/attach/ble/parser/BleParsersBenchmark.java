@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.ble.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each {@link BleParser} implementation with a valid value, as
+ * received from a device.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BleParsersBenchmark {
+
+    @Param({"Appearance", "ClientConfiguration", "Default", "HeartRate",
+            "HeartRateMeasurement", "PeripheralPreferred", "String"})
+    public String parser;
+
+    private BleParser bleParser;
+    private byte[] value;
+
+    @Setup
+    public void setup() {
+        switch (parser) {
+            case "Appearance":
+                bleParser = new AppearanceBleParser();
+                value = new byte[] {0x41, 0x03};
+                break;
+            case "ClientConfiguration":
+                bleParser = new ClientConfigurationBleParser();
+                value = new byte[] {0x01, 0x00};
+                break;
+            case "Default":
+                bleParser = new DefaultBleParser();
+                value = new byte[] {0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08};
+                break;
+            case "HeartRate":
+                bleParser = new HeartRateBleParser();
+                value = new byte[] {72};
+                break;
+            case "HeartRateMeasurement":
+                // UINT16 value, contact detected, energy expended and RR intervals
+                bleParser = new HeartRateMeasurementBleParser();
+                value = new byte[] {0x1F, 0x48, 0x00, 0x10, 0x00, 0x00, 0x03, 0x10, 0x03};
+                break;
+            case "PeripheralPreferred":
+                bleParser = new PeripheralPreferredBleParser();
+                value = new byte[] {0x18, 0x00, 0x28, 0x00, 0x00, 0x00, (byte) 0xF4, 0x01};
+                break;
+            case "String":
+                bleParser = new StringBleParser();
+                value = "Gluon Attach".getBytes(StandardCharsets.UTF_8);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown parser: " + parser);
+        }
+    }
+
+    @Benchmark
+    public String parse() {
+        return bleParser.parse(value);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.accelerometer.impl;
+
+import com.gluonhq.attach.accelerometer.Acceleration;
+import com.gluonhq.attach.util.FXDispatcher;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
+import com.gluonhq.attach.util.trace.TraceEvent;
+import com.gluonhq.attach.util.trace.TracePlayer;
+
+/**
+ * Replays the {@code acceleration} events of a trace on desktop.
+ *
+ * @see TracePlayer
+ * @since 4.0.26
+ */
+public class DesktopReplayAccelerometerService extends MobileAccelerometerService {
+
+    private static final ServiceMetrics METRICS = Metrics.of("Accelerometer");
+
+    private TracePlayer.Subscription subscription;
+
+    @Override
+    protected void startAccelerometerImpl(boolean isFilterGravity, double frequency) {
+        if (subscription == null) {
+            subscription = TracePlayer.subscribe("Accelerometer", DesktopReplayAccelerometerService::replay);
+        }
+    }
+
+    @Override
+    protected void stopAccelerometerImpl() {
+        if (subscription != null) {
+            subscription.cancel();
+            subscription = null;
+        }
+    }
+
+    private static void replay(TraceEvent event) {
+        if ("acceleration".equals(event.getName())) {
+            Acceleration a = new Acceleration(event.getDouble(0), event.getDouble(1), event.getDouble(2),
+                    toLocalDateTime(event.getDouble(3)));
+            FXDispatcher.getDefault().set(METRICS, reading, a);
+        }
+    }
+}
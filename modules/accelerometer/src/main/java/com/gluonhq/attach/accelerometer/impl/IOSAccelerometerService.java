@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2020, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -28,10 +28,15 @@
 package com.gluonhq.attach.accelerometer.impl;
 
 import com.gluonhq.attach.accelerometer.Acceleration;
-import javafx.application.Platform;
+import com.gluonhq.attach.util.FXDispatcher;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
+import com.gluonhq.attach.util.trace.TraceRecorder;
 
 public class IOSAccelerometerService extends MobileAccelerometerService {
 
+    private static final ServiceMetrics METRICS = Metrics.of("Accelerometer");
+
     static {
         System.loadLibrary("Accelerometer");
         initAccelerometer();
@@ -54,7 +59,10 @@ public class IOSAccelerometerService extends MobileAccelerometerService {
     
     // callback
     private static void notifyAcceleration(double x, double y, double z, double t) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Accelerometer", "acceleration", x, y, z, t);
+        }
         Acceleration a = new Acceleration(x, y, z, toLocalDateTime(t));
-        Platform.runLater(() -> reading.setValue(a));
+        FXDispatcher.getDefault().set(METRICS, reading, a);
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2023, Gluon
+ * Copyright (c) 2020, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -30,9 +30,10 @@ package com.gluonhq.attach.audio.impl;
 import com.gluonhq.attach.audio.Audio;
 import com.gluonhq.attach.audio.AudioService;
 import com.gluonhq.attach.storage.StorageService;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
 
 import java.io.File;
-import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -48,11 +49,13 @@ import java.util.logging.Logger;
 public class AndroidAudioService implements AudioService {
 
     private static final Logger LOG = Logger.getLogger(AndroidAudioService.class.getName());
+    private static final ServiceMetrics METRICS = Metrics.of("Audio");
 
     static {
         System.loadLibrary("audio");
     }
 
+    private StorageService storageService;
     private File privateStorage;
 
     @Override
@@ -97,8 +100,9 @@ public class AndroidAudioService implements AudioService {
      */
     private String copyToPrivateStorageIfNeeded(URL url) throws Exception {
         if (privateStorage == null) {
-            privateStorage = StorageService.create()
-                    .flatMap(StorageService::getPrivateStorage)
+            storageService = StorageService.create()
+                    .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder"));
+            privateStorage = storageService.getPrivateStorage()
                     .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder"));
         }
 
@@ -111,13 +115,7 @@ public class AndroidAudioService implements AudioService {
                 .resolve(fileName);
 
         if (!Files.exists(file)) {
-            if (!Files.exists(file.getParent())) {
-                Files.createDirectories(file.getParent());
-            }
-
-            try (InputStream input = url.openStream()) {
-                Files.copy(input, file);
-            }
+            storageService.copy(url, file.toFile());
         }
 
         return file.toAbsolutePath().toString();
@@ -164,12 +162,19 @@ public class AndroidAudioService implements AudioService {
             // most important, this improves the performance (the game was noticeably slower when the native iOS sound
             // system was not alleviate in this way).
 
-            if (isDisposed || pendingPlay)
+            if (isDisposed)
+                return;
+
+            if (pendingPlay) {
+                METRICS.dropped();
                 return;
+            }
 
             pendingPlay = true;
             nativeExecutor.execute(() -> {
+                long start = METRICS.start();
                 AndroidAudioService.play(id);
+                METRICS.nativeCall("play", start);
                 pendingPlay = false;
             });
             skipPause = skipStop = false;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, Gluon
+ * Copyright (c) 2023, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -32,7 +32,6 @@ import com.gluonhq.attach.audio.AudioService;
 import com.gluonhq.attach.storage.StorageService;
 
 import java.io.File;
-import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -90,6 +89,7 @@ public class IOSAudioService implements AudioService {
     private static native void stop(int id);
     private static native void dispose(int id);
 
+    private StorageService storageService;
     private File privateStorage;
 
     /**
@@ -108,8 +108,9 @@ public class IOSAudioService implements AudioService {
             String fileName = extForm.substring(extForm.lastIndexOf("/") + 1);
 
             if (privateStorage == null) {
-                privateStorage = StorageService.create()
-                        .flatMap(StorageService::getPrivateStorage)
+                storageService = StorageService.create()
+                        .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder"));
+                privateStorage = storageService.getPrivateStorage()
                         .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder"));
             }
 
@@ -119,13 +120,7 @@ public class IOSAudioService implements AudioService {
                     .resolve(fileName);
 
             if (!Files.exists(file)) {
-                if (!Files.exists(file.getParent())) {
-                    Files.createDirectories(file.getParent());
-                }
-
-                try (InputStream input = url.openStream()) {
-                    Files.copy(input, file);
-                }
+                storageService.copy(url, file.toFile());
             }
 
             extForm = file.toUri().toString();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020, Gluon
+ * Copyright (c) 2018, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -32,10 +32,8 @@ import com.gluonhq.attach.storage.StorageService;
 import com.gluonhq.attach.util.Util;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.net.URL;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -49,12 +47,14 @@ public abstract class DefaultAugmentedRealityService implements AugmentedReality
 
     private static final Logger LOG = Logger.getLogger(DefaultAugmentedRealityService.class.getName());
     protected static boolean debug = Util.DEBUG;
+    private final StorageService storageService;
     private final File assetsFolder;
     private final ExecutorService exec = Executors.newFixedThreadPool(3);
 
     public DefaultAugmentedRealityService() {
-        assetsFolder = new File(StorageService.create()
-                .flatMap(StorageService::getPrivateStorage)
+        storageService = StorageService.create()
+                .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder"));
+        assetsFolder = new File(storageService.getPrivateStorage()
                 .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder")), "assets");
 
         if (!assetsFolder.exists()) {
@@ -115,7 +115,6 @@ public abstract class DefaultAugmentedRealityService implements AugmentedReality
 
             File modelFile = new File(assetsFolder, filePath);
             if (!modelFile.exists()) {
-                modelFile.getParentFile().mkdirs();
                 if (debug) {
                     LOG.log(Level.INFO, String.format("Copying model file: %s, from resources to %s", filePath, modelFile.getAbsolutePath()));
                 }
@@ -124,29 +123,21 @@ public abstract class DefaultAugmentedRealityService implements AugmentedReality
                     pathIni = "/" + pathIni;
                 }
 
-                if (!copyFile(pathIni, modelFile.getAbsolutePath())) {
+                if (!copyFile(pathIni, modelFile)) {
                     return Boolean.FALSE;
                 }
             }
             return Boolean.TRUE;
         }
 
-        private boolean copyFile(String pathIni, String pathEnd)  {
-            try (InputStream myInput = DefaultAugmentedRealityService.class.getResourceAsStream(pathIni)) {
-                if (myInput == null) {
-                    return false;
-                }
-                try (OutputStream myOutput = new FileOutputStream(pathEnd)) {
-                    byte[] buffer = new byte[1024];
-                    int length;
-                    while ((length = myInput.read(buffer)) > 0) {
-                        myOutput.write(buffer, 0, length);
-                    }
-                    myOutput.flush();
-                    return true;
-                } catch (IOException ex) {
-                    LOG.log(Level.WARNING, "Error copying file", ex);
-                }
+        private boolean copyFile(String pathIni, File modelFile)  {
+            URL resource = DefaultAugmentedRealityService.class.getResource(pathIni);
+            if (resource == null) {
+                return false;
+            }
+            try {
+                storageService.copy(resource, modelFile);
+                return true;
             } catch (IOException ex) {
                 LOG.log(Level.WARNING, "Error copying file", ex);
             }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2020, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -30,7 +30,10 @@ package com.gluonhq.attach.battery.impl;
 import com.gluonhq.attach.battery.BatteryService;
 import com.gluonhq.attach.lifecycle.LifecycleEvent;
 import com.gluonhq.attach.lifecycle.LifecycleService;
-import javafx.application.Platform;
+import com.gluonhq.attach.util.FXDispatcher;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
+import com.gluonhq.attach.util.trace.TraceRecorder;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.ReadOnlyFloatProperty;
@@ -41,6 +44,8 @@ public class AndroidBatteryService implements BatteryService {
     private static final ReadOnlyBooleanWrapper PLUGGED_IN = new ReadOnlyBooleanWrapper();
     private static final ReadOnlyFloatWrapper BATTERY_LEVEL = new ReadOnlyFloatWrapper(-1f);
 
+    private static final ServiceMetrics METRICS = Metrics.of("Battery");
+
     static {
         System.loadLibrary("battery");
     }
@@ -70,11 +75,15 @@ public class AndroidBatteryService implements BatteryService {
     
     // callback
     private static void notifyBattery(float level, boolean plugged) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Battery", "level", level);
+            TraceRecorder.record("Battery", "plugged", plugged);
+        }
         if (PLUGGED_IN.get() != plugged) {
-            Platform.runLater(() -> PLUGGED_IN.set(plugged));
+            FXDispatcher.getDefault().set(METRICS, PLUGGED_IN, plugged);
         }
         if (BATTERY_LEVEL.get() != level) {
-            Platform.runLater(() -> BATTERY_LEVEL.set(level));
+            FXDispatcher.getDefault().set(METRICS, BATTERY_LEVEL, level);
         }
     }
 }
\ No newline at end of file
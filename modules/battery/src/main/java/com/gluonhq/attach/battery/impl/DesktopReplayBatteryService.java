@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.battery.impl;
+
+import com.gluonhq.attach.battery.BatteryService;
+import com.gluonhq.attach.util.FXDispatcher;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
+import com.gluonhq.attach.util.trace.TraceEvent;
+import com.gluonhq.attach.util.trace.TracePlayer;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyFloatProperty;
+import javafx.beans.property.ReadOnlyFloatWrapper;
+
+/**
+ * Replays the {@code level} and {@code plugged} events of a trace on desktop.
+ *
+ * @see TracePlayer
+ * @since 4.0.26
+ */
+public class DesktopReplayBatteryService implements BatteryService {
+
+    private static final ServiceMetrics METRICS = Metrics.of("Battery");
+
+    private final ReadOnlyBooleanWrapper pluggedIn = new ReadOnlyBooleanWrapper();
+    private final ReadOnlyFloatWrapper batteryLevel = new ReadOnlyFloatWrapper(-1f);
+
+    public DesktopReplayBatteryService() {
+        TracePlayer.subscribe("Battery", this::replay);
+    }
+
+    @Override
+    public float getBatteryLevel() {
+        return batteryLevel.get();
+    }
+
+    @Override
+    public ReadOnlyFloatProperty batteryLevelProperty() {
+        return batteryLevel.getReadOnlyProperty();
+    }
+
+    @Override
+    public boolean isPluggedIn() {
+        return pluggedIn.get();
+    }
+
+    @Override
+    public ReadOnlyBooleanProperty pluggedInProperty() {
+        return pluggedIn.getReadOnlyProperty();
+    }
+
+    private void replay(TraceEvent event) {
+        switch (event.getName()) {
+            case "level":
+                FXDispatcher.getDefault().set(METRICS, batteryLevel, event.getFloat(0));
+                break;
+            case "plugged":
+                FXDispatcher.getDefault().set(METRICS, pluggedIn, event.getBoolean(0));
+                break;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Gluon
+ * Copyright (c) 2020, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -34,7 +34,11 @@ import com.gluonhq.attach.ble.BleProfile;
 import com.gluonhq.attach.ble.BleService;
 import com.gluonhq.attach.ble.Configuration;
 import com.gluonhq.attach.ble.ScanDetection;
+import com.gluonhq.attach.util.FXDispatcher;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
 import com.gluonhq.attach.util.Util;
+import com.gluonhq.attach.util.trace.TraceRecorder;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -62,6 +66,8 @@ public class AndroidBleService implements BleService {
 
     private static Consumer<ScanDetection> callback;
 
+    private static final ServiceMetrics METRICS = Metrics.of("Ble");
+
     static {
         LOG.fine("Loading AndroidBleService");
         System.loadLibrary("ble");
@@ -122,7 +128,9 @@ public class AndroidBleService implements BleService {
         }
         profileNames.clear();
         device.getProfiles().clear();
+        long start = METRICS.start();
         doConnect(device.getName(), device.getAddress());
+        METRICS.nativeCall("doConnect", start);
     }
 
     @Override
@@ -130,27 +138,37 @@ public class AndroidBleService implements BleService {
         if (!checkDevice(device)) {
             return;
         }
+        long start = METRICS.start();
         doDisconnect(device.getName(), device.getAddress());
+        METRICS.nativeCall("doDisconnect", start);
     }
 
     @Override
     public void readCharacteristic(BleDevice device, UUID uuidProfile, UUID uuidCharacteristic) {
+        long start = METRICS.start();
         doRead(device.getAddress(), uuidProfile.toString(), uuidCharacteristic.toString());
+        METRICS.nativeCall("doRead", start);
     }
 
     @Override
     public void writeCharacteristic(BleDevice device, UUID uuidProfile, UUID uuidCharacteristic, byte[] value) {
+        long start = METRICS.start();
         doWrite(device.getAddress(), uuidProfile.toString(), uuidCharacteristic.toString(), value);
+        METRICS.nativeCall("doWrite", start);
     }
 
     @Override
     public void subscribeCharacteristic(BleDevice device, UUID uuidProfile, UUID uuidCharacteristic) {
+        long start = METRICS.start();
         doSubscribe(device.getAddress(), uuidProfile.toString(), uuidCharacteristic.toString(), true);
+        METRICS.nativeCall("doSubscribe", start);
     }
 
     @Override
     public void unsubscribeCharacteristic(BleDevice device, UUID uuidProfile, UUID uuidCharacteristic) {
+        long start = METRICS.start();
         doSubscribe(device.getAddress(), uuidProfile.toString(), uuidCharacteristic.toString(), false);
+        METRICS.nativeCall("doSubscribe", start);
     }
 
     private static boolean checkDevice(BleDevice device) {
@@ -187,17 +205,23 @@ public class AndroidBleService implements BleService {
 
     // callbacks BLE Beacons
     private static void setDetection(String uuid, int major, int minor, int rssi, int proximity) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Ble", "detection", uuid, major, minor, rssi, proximity);
+        }
         ScanDetection detection = new ScanDetection();
         detection.setUuid(uuid);
         detection.setMajor(major);
         detection.setMinor(minor);
         detection.setRssi(rssi);
         detection.setProximity(proximity);
-        Platform.runLater(() -> callback.accept(detection));
+        FXDispatcher.getDefault().runLatest(METRICS, uuid + ":" + major + ":" + minor, () -> callback.accept(detection));
     }
 
     // callbacks BLE Devices
     private static void gotPeripheral(String name, String address) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Ble", "peripheral", name, address);
+        }
         if ((name != null && deviceNames.contains(name)) ||
                 (name == null && address != null && deviceNames.contains(address))) {
             return;
@@ -218,6 +242,9 @@ public class AndroidBleService implements BleService {
     }
 
     private static void gotState(String name, String state) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Ble", "state", name, state);
+        }
         if (debug) {
             LOG.log(Level.INFO, String.format("BLE device %s changed state to %s", name, state));
         }
@@ -227,6 +254,9 @@ public class AndroidBleService implements BleService {
     }
 
     private static void gotProfile(String name, String uuid, String type) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Ble", "profile", name, uuid, type);
+        }
         if (debug) {
             LOG.log(Level.INFO, String.format("BLE device has profile: %s with type: %s", uuid, type));
         }
@@ -248,6 +278,9 @@ public class AndroidBleService implements BleService {
     }
 
     private static void gotCharacteristic(String name, String profileUuid, String charUuid, String properties) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Ble", "characteristic", name, profileUuid, charUuid, properties);
+        }
         if (debug) {
             LOG.log(Level.INFO, String.format("BLE profile %s has characteristic: %s with properties: %s", profileUuid, charUuid, properties));
         }
@@ -306,6 +339,9 @@ public class AndroidBleService implements BleService {
     }
 
     private static void gotValue(String name, String charUuid, byte[] value) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Ble", "value", name, charUuid, value);
+        }
         if (debug) {
             LOG.log(Level.INFO, String.format("BLE with characteristic: %s has value %s", charUuid, Arrays.toString(value)));
         }
@@ -319,7 +355,7 @@ public class AndroidBleService implements BleService {
                             if (debug) {
                                 LOG.log(Level.INFO, String.format("AndroidBleService DONE updating value for characteristic %s", charUuid));
                             }
-                            Platform.runLater(() -> c.setValue(value));
+                            FXDispatcher.getDefault().run(METRICS, () -> c.valueProperty().set(value));
                         }));
     }
 
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.ble.impl;
+
+import com.gluonhq.attach.ble.BleCharacteristic;
+import com.gluonhq.attach.ble.BleDevice;
+import com.gluonhq.attach.ble.BleProfile;
+import com.gluonhq.attach.ble.BleService;
+import com.gluonhq.attach.ble.Configuration;
+import com.gluonhq.attach.ble.ScanDetection;
+import com.gluonhq.attach.util.FXDispatcher;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
+import com.gluonhq.attach.util.trace.TraceEvent;
+import com.gluonhq.attach.util.trace.TracePlayer;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Replays the BLE events of a trace on desktop:
+ *
+ * <ul>
+ *     <li>{@code detection}: uuid, major, minor, rssi and proximity of a beacon</li>
+ *     <li>{@code peripheral}: name and address of a device</li>
+ *     <li>{@code state}: name and state of a device</li>
+ *     <li>{@code profile}: device name, uuid and type of a profile</li>
+ *     <li>{@code characteristic}: device name, profile uuid, uuid and properties of a characteristic</li>
+ *     <li>{@code value}: device name, characteristic uuid and value</li>
+ * </ul>
+ *
+ * Requests like connecting to a device or reading a characteristic are not sent
+ * anywhere, as the trace already contains the responses of the devices.
+ *
+ * @see TracePlayer
+ * @since 4.0.26
+ */
+public class DesktopReplayBleService implements BleService {
+
+    private static final Logger LOG = Logger.getLogger(DesktopReplayBleService.class.getName());
+    private static final ServiceMetrics METRICS = Metrics.of("Ble");
+
+    private final ObservableList<BleDevice> devices = FXCollections.observableArrayList();
+
+    // only accessed from the replay thread
+    private final Map<String, BleDevice> deviceMap = new HashMap<>();
+    private final Map<String, BleProfile> profileMap = new HashMap<>();
+    private final Map<String, BleCharacteristic> characteristicMap = new HashMap<>();
+
+    private volatile Consumer<ScanDetection> callback;
+    private volatile List<String> uuids;
+    private volatile boolean scanningDevices;
+    private volatile boolean clearDevices;
+
+    public DesktopReplayBleService() {
+        TracePlayer.subscribe("Ble", this::replay);
+    }
+
+    // BLE BEACONS
+
+    @Override
+    public void startScanning(Configuration configuration, Consumer<ScanDetection> callback) {
+        this.uuids = List.copyOf(configuration.getUuids());
+        this.callback = callback;
+    }
+
+    @Override
+    public void stopScanning() {
+        callback = null;
+    }
+
+    @Override
+    public void startBroadcasting(UUID beaconUUID, int major, int minor, String identifier) {
+        LOG.fine("Broadcasting is not replayed");
+    }
+
+    @Override
+    public void stopBroadcasting() {
+    }
+
+    // BLE DEVICES
+
+    @Override
+    public ObservableList<BleDevice> startScanningDevices() {
+        devices.clear();
+        clearDevices = true;
+        scanningDevices = true;
+        return devices;
+    }
+
+    @Override
+    public void stopScanningDevices() {
+        scanningDevices = false;
+    }
+
+    @Override
+    public void connect(BleDevice device) {
+    }
+
+    @Override
+    public void disconnect(BleDevice device) {
+    }
+
+    @Override
+    public void readCharacteristic(BleDevice device, UUID uuidProfile, UUID uuidCharacteristic) {
+    }
+
+    @Override
+    public void writeCharacteristic(BleDevice device, UUID uuidProfile, UUID uuidCharacteristic, byte[] value) {
+    }
+
+    @Override
+    public void subscribeCharacteristic(BleDevice device, UUID uuidProfile, UUID uuidCharacteristic) {
+    }
+
+    @Override
+    public void unsubscribeCharacteristic(BleDevice device, UUID uuidProfile, UUID uuidCharacteristic) {
+    }
+
+    private void replay(TraceEvent event) {
+        if (clearDevices) {
+            clearDevices = false;
+            deviceMap.clear();
+            profileMap.clear();
+            characteristicMap.clear();
+        }
+        switch (event.getName()) {
+            case "detection":
+                replayDetection(event);
+                break;
+            case "peripheral":
+                replayPeripheral(event.getValue(0), event.getValue(1));
+                break;
+            case "state": {
+                BleDevice device = deviceMap.get(event.getValue(0));
+                if (device != null) {
+                    BleDevice.State state = BleDevice.State.fromName(event.getValue(1));
+                    FXDispatcher.getDefault().run(METRICS, () -> device.stateProperty().set(state));
+                }
+                break;
+            }
+            case "profile":
+                replayProfile(event.getValue(0), event.getValue(1), event.getValue(2));
+                break;
+            case "characteristic":
+                replayCharacteristic(event.getValue(0), event.getValue(1), event.getValue(2), event.getValue(3));
+                break;
+            case "value": {
+                BleCharacteristic c = characteristicMap.get(event.getValue(0) + "/" + event.getValue(1).toLowerCase());
+                if (c != null) {
+                    byte[] value = event.getBytes(2);
+                    FXDispatcher.getDefault().run(METRICS, () -> c.valueProperty().set(value));
+                }
+                break;
+            }
+        }
+    }
+
+    private void replayDetection(TraceEvent event) {
+        Consumer<ScanDetection> callback = this.callback;
+        String uuid = event.getValue(0);
+        if (callback == null || !uuids.isEmpty() && uuids.stream().noneMatch(uuid::equalsIgnoreCase)) {
+            return;
+        }
+        ScanDetection detection = new ScanDetection();
+        detection.setUuid(uuid);
+        detection.setMajor(event.getInt(1));
+        detection.setMinor(event.getInt(2));
+        detection.setRssi(event.getInt(3));
+        detection.setProximity(event.getInt(4));
+        FXDispatcher.getDefault().runLatest(METRICS, uuid + ":" + detection.getMajor() + ":" + detection.getMinor(),
+                () -> callback.accept(detection));
+    }
+
+    private void replayPeripheral(String name, String address) {
+        String key = name != null ? name : address;
+        if (!scanningDevices || key == null || deviceMap.containsKey(key)) {
+            return;
+        }
+        BleDevice device = new BleDevice();
+        device.setName(name);
+        device.setAddress(address);
+        deviceMap.put(key, device);
+        Platform.runLater(() -> devices.add(device));
+    }
+
+    private void replayProfile(String name, String uuid, String type) {
+        BleDevice device = deviceMap.get(name);
+        String key = name + "/" + uuid.toLowerCase();
+        if (device == null || profileMap.containsKey(key)) {
+            return;
+        }
+        BleProfile profile = new BleProfile();
+        profile.setUuid(UUID.fromString(uuid));
+        profile.setType(type);
+        profileMap.put(key, profile);
+        Platform.runLater(() -> device.getProfiles().add(profile));
+    }
+
+    private void replayCharacteristic(String name, String profileUuid, String uuid, String properties) {
+        BleProfile profile = profileMap.get(name + "/" + profileUuid.toLowerCase());
+        String key = name + "/" + uuid.toLowerCase();
+        if (profile == null) {
+            return;
+        }
+        BleCharacteristic existing = characteristicMap.get(key);
+        if (existing != null) {
+            Platform.runLater(() -> existing.setProperties(properties));
+            return;
+        }
+        BleCharacteristic characteristic = new BleCharacteristic(UUID.fromString(uuid));
+        characteristic.setProperties(properties);
+        characteristicMap.put(key, characteristic);
+        Platform.runLater(() -> profile.getCharacteristics().add(characteristic));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2020, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -35,7 +35,11 @@ import com.gluonhq.attach.ble.BleService;
 import com.gluonhq.attach.ble.BleSpecs;
 import com.gluonhq.attach.ble.Configuration;
 import com.gluonhq.attach.ble.ScanDetection;
+import com.gluonhq.attach.util.FXDispatcher;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
 import com.gluonhq.attach.util.Util;
+import com.gluonhq.attach.util.trace.TraceRecorder;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -77,6 +81,8 @@ public class IOSBleService implements BleService {
 
     private static final Logger LOG = Logger.getLogger(IOSBleService.class.getName());
 
+    private static final ServiceMetrics METRICS = Metrics.of("Ble");
+
     static {
         System.loadLibrary("Ble");
         initBle();
@@ -141,13 +147,16 @@ public class IOSBleService implements BleService {
 
     // callback
     private static void setDetection(String uuid, int major, int minor, int rssi, int proximity) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Ble", "detection", uuid, major, minor, rssi, proximity);
+        }
         ScanDetection detection = new ScanDetection();
         detection.setUuid(uuid);
         detection.setMajor(major);
         detection.setMinor(minor);
         detection.setRssi(rssi);
         detection.setProximity(proximity);
-        Platform.runLater(() -> callback.accept(detection));
+        FXDispatcher.getDefault().runLatest(METRICS, uuid + ":" + major + ":" + minor, () -> callback.accept(detection));
     }
 
     // BLE DEVICES
@@ -173,7 +182,9 @@ public class IOSBleService implements BleService {
         }
         profileNames.clear();
         device.getProfiles().clear();
+        long start = METRICS.start();
         doConnect(device.getName(), device.getAddress());
+        METRICS.nativeCall("doConnect", start);
     }
 
     @Override
@@ -181,7 +192,9 @@ public class IOSBleService implements BleService {
         if (!checkDevice(device)) {
             return;
         }
+        long start = METRICS.start();
         doDisconnect(device.getName(), device.getAddress());
+        METRICS.nativeCall("doDisconnect", start);
     }
 
     @Override
@@ -190,7 +203,9 @@ public class IOSBleService implements BleService {
             return;
         }
 
+        long start = METRICS.start();
         doRead(device.getName(), BleSpecs.getServiceToken(uuidProfile), BleSpecs.getCharacteristicsToken(uuidCharacteristic));
+        METRICS.nativeCall("doRead", start);
     }
 
     @Override
@@ -198,7 +213,9 @@ public class IOSBleService implements BleService {
         if (!checkDevice(device)) {
             return;
         }
+        long start = METRICS.start();
         doWrite(device.getName(), BleSpecs.getServiceToken(uuidProfile), BleSpecs.getCharacteristicsToken(uuidCharacteristic), value);
+        METRICS.nativeCall("doWrite", start);
     }
 
     @Override
@@ -206,7 +223,9 @@ public class IOSBleService implements BleService {
         if (!checkDevice(device)) {
             return;
         }
+        long start = METRICS.start();
         doSubscribe(device.getName(), BleSpecs.getServiceToken(uuidProfile), BleSpecs.getCharacteristicsToken(uuidCharacteristic), true);
+        METRICS.nativeCall("doSubscribe", start);
     }
 
     @Override
@@ -214,7 +233,9 @@ public class IOSBleService implements BleService {
         if (!checkDevice(device)) {
             return;
         }
+        long start = METRICS.start();
         doSubscribe(device.getName(), BleSpecs.getServiceToken(uuidProfile), BleSpecs.getCharacteristicsToken(uuidCharacteristic), false);
+        METRICS.nativeCall("doSubscribe", start);
     }
 
     private static boolean checkDevice(BleDevice device) {
@@ -366,7 +387,7 @@ public class IOSBleService implements BleService {
             for (BleProfile p : device.getProfiles()) {
                 for (BleCharacteristic c : p.getCharacteristics()) {
                     if (c.getUuid().equals(uuid)) {
-                        c.setValue(bytes);
+                        FXDispatcher.getDefault().run(METRICS, () -> c.valueProperty().set(bytes));
                         if (debug) {
                             LOG.log(Level.INFO, String.format("IOSBleService DONE updating value with characteristic %s", charNumber));
                         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -27,6 +27,9 @@
  */
 package com.gluonhq.attach.cache;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
 /**
  * Cache is a simple Map-like API for caching in-memory on the local platform in a way roughly equivalent
  * to using {@link java.lang.ref.SoftReference soft references}. Because of the quirks of some platforms,
@@ -57,6 +60,65 @@ public interface Cache<K, V>  {
      */
     void put(K key, V value);
 
+    /**
+     * Get the value for the specified key, loading it if there is no such value.
+     * The loaded value is stored in the cache, unless it is <code>null</code>.
+     *
+     * <p>Concurrent calls for the same missing key share a single load: the loader
+     * is called once, and the other callers wait for its value. If the loader
+     * throws an exception, it is rethrown to all of them, and nothing is stored.</p>
+     *
+     * <p>The loader should not get the same key from this cache: as it would wait
+     * for its own load, an <code>IllegalStateException</code> is thrown instead.</p>
+     *
+     * <p><b>Example</b></p>
+     * <pre>
+     * {@code Image image = cache.get(url, u -> new Image(u));
+     * }</pre>
+     *
+     * @param key the key for which we need the value, should not be <code>null</code>
+     * @param loader the function that loads the value when it is not in the cache
+     * @return the cached or loaded value, <code>null</code> if the loader returned <code>null</code>
+     * @throws IllegalStateException if called by the loader of the same key
+     * @since 4.0.26
+     */
+    default V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Get the value for the specified key, loading it asynchronously if there is
+     * no such value. The loaded value is stored in the cache when the future completes,
+     * unless it is <code>null</code>.
+     *
+     * <p>Concurrent calls for the same missing key, either through this method or
+     * through {@link #get(Object, Function)}, share a single load.</p>
+     *
+     * @param key the key for which we need the value, should not be <code>null</code>
+     * @param loader the function that starts loading the value when it is not in the cache
+     * @return a future that completes with the cached or loaded value
+     * @since 4.0.26
+     */
+    default CompletableFuture<V> getAsync(K key, Function<? super K, ? extends CompletableFuture<? extends V>> loader) {
+        V value = get(key);
+        if (value != null) {
+            return CompletableFuture.completedFuture(value);
+        }
+        return loader.apply(key).thenApply(v -> {
+            if (v != null) {
+                put(key, v);
+            }
+            return v;
+        });
+    }
+
     /**
      * Remove the entry associated with this key.
      * @param key the key for which the entry is requested
@@ -69,4 +131,14 @@ public interface Cache<K, V>  {
      */
     void removeAll();
 
+    /**
+     * Returns a snapshot of the counters of this cache.
+     *
+     * @return the {@link CacheStats} of this cache
+     * @since 4.0.26
+     */
+    default CacheStats getStats() {
+        return new CacheStats(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -29,6 +29,8 @@ package com.gluonhq.attach.cache;
 
 import com.gluonhq.attach.util.Services;
 
+import java.nio.ByteBuffer;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -70,4 +72,123 @@ public interface CacheService {
      */
     <K,V> Cache<K,V> getCache(String cacheName);
 
+    /**
+     * Returns a {@link Cache} instance, configured with the given parameters. As with
+     * {@link #getCache(String)}, the name is a unique identifier, and the parameters are only
+     * applied when the cache is created: later calls with the same name return the existing
+     * cache, whatever the parameters are.
+     *
+     * @param cacheName The name of the cache.
+     * @param parameters The {@link Parameters} used to create the cache
+     * @param <K> The key type for the cache
+     * @param <V> The value type for the cache
+     * @return A named {@link Cache} instance.
+     * @throws UnsupportedOperationException if the service doesn't support configured caches
+     * @since 4.0.26
+     */
+    default <K,V> Cache<K,V> getCache(String cacheName, Parameters<K,V> parameters) {
+        throw new UnsupportedOperationException("Configured caches are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Returns a {@link Cache} instance that stores its values outside of the Java heap,
+     * for large binary values like encoded images or audio. Values are copied to direct
+     * memory when they are put in the cache, and the least recently used entries are
+     * evicted when the capacity is reached.
+     *
+     * <p>The values returned by the cache are read-only views of its memory, so they
+     * are not copied again. A view is only valid while its entry is in the cache: if it
+     * has to be used after the entry could be removed, replaced or evicted, it should be
+     * copied first.</p>
+     *
+     * <p>As with {@link #getCache(String)}, the name is a unique identifier, and the
+     * capacity is only applied when the cache is created. The cache doesn't record
+     * statistics, see {@link #getOffHeapCache(String, long, Parameters)}.</p>
+     *
+     * @param cacheName The name of the cache.
+     * @param capacity The maximum amount of memory used by the cache, in bytes
+     * @param <K> The key type for the cache
+     * @return A named {@link Cache} instance.
+     * @throws IllegalArgumentException if a cache with this name exists, and it is not stored off-heap
+     * @throws UnsupportedOperationException if the service doesn't support off-heap caches
+     * @since 4.0.26
+     */
+    default <K> Cache<K, ByteBuffer> getOffHeapCache(String cacheName, long capacity) {
+        throw new UnsupportedOperationException("Off-heap caches are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Returns a {@link Cache} instance that stores its values outside of the Java heap,
+     * like {@link #getOffHeapCache(String, long)}, configured with the given parameters.
+     * Off-heap caches only support {@link Parameters#withStatistics() statistics}.
+     *
+     * @param cacheName The name of the cache.
+     * @param capacity The maximum amount of memory used by the cache, in bytes
+     * @param parameters The {@link Parameters} used to create the cache
+     * @param <K> The key type for the cache
+     * @return A named {@link Cache} instance.
+     * @throws IllegalArgumentException if a cache with this name exists, and it is not stored off-heap,
+     * or if the parameters enable anything else than statistics
+     * @throws UnsupportedOperationException if the service doesn't support off-heap caches
+     * @since 4.0.26
+     */
+    default <K> Cache<K, ByteBuffer> getOffHeapCache(String cacheName, long capacity, Parameters<K, ByteBuffer> parameters) {
+        throw new UnsupportedOperationException("Off-heap caches are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Returns a {@link LongCache} instance, for values identified by {@code long} ids. It is
+     * configured like {@link #getCache(String, Parameters)}, but it doesn't box the keys.
+     * Primitive key caches are kept in memory, so they don't support
+     * {@link Parameters#withRefreshAfterWrite(java.time.Duration) refresh},
+     * {@link Parameters#withDiskStorage(long, Serializer, Serializer) disk storage} or
+     * {@link Parameters#withWarmStart(int, Serializer, Serializer) warm start}.
+     *
+     * @param cacheName The name of the cache.
+     * @param parameters The {@link Parameters} used to create the cache
+     * @param <V> The value type for the cache
+     * @return A named {@link LongCache} instance.
+     * @throws IllegalArgumentException if a cache with this name exists, and it is not a {@link LongCache},
+     * or if the parameters enable refresh, disk storage or warm start
+     * @throws UnsupportedOperationException if the service doesn't support primitive key caches
+     * @since 4.0.26
+     */
+    default <V> LongCache<V> getLongCache(String cacheName, Parameters<Long, V> parameters) {
+        throw new UnsupportedOperationException("Primitive key caches are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Returns an {@link IntCache} instance, for values identified by {@code int} ids. It is
+     * configured like {@link #getCache(String, Parameters)}, but it doesn't box the keys.
+     * Primitive key caches are kept in memory, so they don't support
+     * {@link Parameters#withRefreshAfterWrite(java.time.Duration) refresh},
+     * {@link Parameters#withDiskStorage(long, Serializer, Serializer) disk storage} or
+     * {@link Parameters#withWarmStart(int, Serializer, Serializer) warm start}.
+     *
+     * @param cacheName The name of the cache.
+     * @param parameters The {@link Parameters} used to create the cache
+     * @param <V> The value type for the cache
+     * @return A named {@link IntCache} instance.
+     * @throws IllegalArgumentException if a cache with this name exists, and it is not an {@link IntCache},
+     * or if the parameters enable refresh, disk storage or warm start
+     * @throws UnsupportedOperationException if the service doesn't support primitive key caches
+     * @since 4.0.26
+     */
+    default <V> IntCache<V> getIntCache(String cacheName, Parameters<Integer, V> parameters) {
+        throw new UnsupportedOperationException("Primitive key caches are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Returns a snapshot of the statistics of every cache returned by this service so far.
+     * Caches only count their hits, misses and loads if they were created with
+     * {@link Parameters#withStatistics()}.
+     *
+     * @return an unmodifiable map with the {@link CacheStats} of each cache, sorted by name,
+     * empty if the service doesn't keep statistics
+     * @since 4.0.26
+     */
+    default Map<String, CacheStats> getCacheStats() {
+        return Map.of();
+    }
+
 }
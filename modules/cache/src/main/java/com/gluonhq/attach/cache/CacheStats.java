@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache;
+
+/**
+ * A snapshot of the counters of a {@link Cache}, returned by {@link Cache#getStats()}
+ * and {@link CacheService#getCacheStats()}.
+ *
+ * <p>Entries can leave a cache because they were evicted to keep a bounded cache
+ * under its maximum size or weight, because they expired, or because the garbage
+ * collector reclaimed the softly referenced value of an unbounded cache. A high
+ * reclaimed count means the cache is trimmed by memory pressure, and a bounded
+ * cache could keep its most useful entries instead.</p>
+ *
+ * <p>Hits, misses and loads are only counted by caches created with
+ * {@link Parameters#withStatistics()}. Otherwise, they are 0.</p>
+ *
+ * @since 4.0.26
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final long evictionCount;
+    private final long expiredCount;
+    private final long reclaimedCount;
+    private final long size;
+    private final long weightedSize;
+
+    /**
+     * Construct a snapshot of the cache counters.
+     *
+     * @param hitCount the number of reads that returned a value
+     * @param missCount the number of reads that didn't return a value
+     * @param loadSuccessCount the number of loads that returned a value
+     * @param loadFailureCount the number of loads that failed or returned null
+     * @param totalLoadTime the time spent loading values, in nanoseconds
+     * @param evictionCount the number of entries evicted by the cache policy
+     * @param expiredCount the number of entries removed because they expired
+     * @param reclaimedCount the number of entries reclaimed by the garbage collector
+     * @param size the estimated number of entries in the cache
+     * @param weightedSize the estimated total weight of the entries in the cache
+     */
+    public CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+                      long totalLoadTime, long evictionCount, long expiredCount, long reclaimedCount,
+                      long size, long weightedSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCount = evictionCount;
+        this.expiredCount = expiredCount;
+        this.reclaimedCount = reclaimedCount;
+        this.size = size;
+        this.weightedSize = weightedSize;
+    }
+
+    /**
+     * @return the number of reads that returned a value
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of reads that didn't return a value
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the ratio of reads that returned a value, or 1 if there were no reads
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * @return the number of loads that returned a value
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * @return the number of loads that threw an exception or returned null
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * @return the time spent loading values, in nanoseconds
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * @return the average time spent loading a value, in nanoseconds, or 0 if there were no loads
+     */
+    public long getAverageLoadTime() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0 : totalLoadTime / loads;
+    }
+
+    /**
+     * @return the number of entries evicted to keep the cache under its maximum size or weight
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of entries removed because they expired
+     */
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    /**
+     * @return the number of entries removed after their value was reclaimed by the garbage collector
+     */
+    public long getReclaimedCount() {
+        return reclaimedCount;
+    }
+
+    /**
+     * @return the estimated number of entries in the cache
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the estimated total weight of the entries in the cache: the total weight for
+     * a cache bounded by weight, the bytes used by an off-heap cache, or the size otherwise
+     */
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", loadSuccessCount=" + loadSuccessCount +
+                ", loadFailureCount=" + loadFailureCount +
+                ", totalLoadTime=" + totalLoadTime +
+                ", evictionCount=" + evictionCount +
+                ", expiredCount=" + expiredCount +
+                ", reclaimedCount=" + reclaimedCount +
+                ", size=" + size +
+                ", weightedSize=" + weightedSize +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache;
+
+import java.util.function.LongFunction;
+
+/**
+ * A cache with primitive {@code long} keys, for values identified by numeric ids.
+ * It behaves like a {@link Cache} created with the same {@link Parameters}, but
+ * reads don't box the key or allocate: keys are stored in an open-addressing table.
+ *
+ * <p><b>Example</b></p>
+ * <pre>
+ * {@code LongCache<Product> cache = service.getLongCache("products",
+ *          new Parameters<Long, Product>().withMaximumSize(1000));
+ *  Product product = cache.get(id, this::loadProduct);
+ * }</pre>
+ *
+ * @param <V> type for the value
+ * @see CacheService#getLongCache(String, Parameters)
+ * @since 4.0.26
+ */
+public interface LongCache<V> {
+
+    /**
+     * Get the value for the specified key, or null when there is no such key.
+     *
+     * @param key the key for which we need the value
+     * @return the value for the specified key, <code>null</code> in case there is no
+     * value corresponding to this key.
+     */
+    V get(long key);
+
+    /**
+     * Get the value for the specified key, loading it if there is no such value.
+     * The loaded value is stored in the cache, unless it is <code>null</code>.
+     * Concurrent calls for the same missing key share a single load, and the
+     * loader should not get the same key again.
+     *
+     * @param key the key for which we need the value
+     * @param loader the function that loads the value when it is not in the cache
+     * @return the cached or loaded value, <code>null</code> if the loader returned <code>null</code>
+     * @throws IllegalStateException if called by the loader of the same key
+     */
+    V get(long key, LongFunction<? extends V> loader);
+
+    /**
+     * Stores a key-value pair in the cache. A <code>NullPointerException</code> will be
+     * thrown if the value is <code>null</code>.
+     * @param key the key
+     * @param value the value, should not be <code>null</code>
+     */
+    void put(long key, V value);
+
+    /**
+     * Remove the entry associated with this key.
+     * @param key the key for which the entry is requested
+     * @return true if the cache contained an entry with this key
+     */
+    boolean remove(long key);
+
+    /**
+     * Remove all entries from the cache
+     */
+    void removeAll();
+
+    /**
+     * Returns a snapshot of the counters of this cache.
+     *
+     * @return the {@link CacheStats} of this cache
+     */
+    CacheStats getStats();
+}
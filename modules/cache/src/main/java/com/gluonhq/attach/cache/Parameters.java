@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A data structure that allows configuring the {@link Cache} instances
+ * returned by {@link CacheService#getCache(String, Parameters)}.
+ *
+ * <p>By default, a cache is unbounded, and its values are softly referenced,
+ * so they can be reclaimed when memory is needed. A bounded cache holds its
+ * values strongly, and keeps its size below a maximum number of entries or a
+ * maximum weight. When it is full, entries are evicted based on how recently
+ * and how frequently they were used (W-TinyLFU), so the entries that are used
+ * most often stay in the cache, and its memory footprint remains steady.</p>
+ *
+ * <p>Entries can expire after a duration since they were written, or since they
+ * were last used. Expired entries are never returned, and they are removed from
+ * the cache as time goes by, without scanning it.</p>
+ *
+ * <p>A cache can also be stored on disk, in the private storage of the application,
+ * so it is not empty when the application starts again. Besides, a cache can save
+ * its most used entries when the application is paused, and load them back in the
+ * background when it starts again, so they are already in memory when they are needed.</p>
+ *
+ * <p>Caches can also refresh their values ahead of time: after the refresh
+ * duration, the next read through {@link Cache#get(Object, java.util.function.Function)}
+ * or {@link Cache#getAsync(Object, java.util.function.Function)} returns the
+ * current value and reloads it in the background. A refresh duration shorter than
+ * the expiry duration keeps frequently used values fresh, without making callers
+ * wait for a load.</p>
+ *
+ * <p><b>Example</b></p>
+ * <pre>
+ * {@code Parameters<String, Image> parameters = new Parameters<String, Image>()
+ *          .withMaximumWeight(50_000_000, (url, image) -> (long) (image.getWidth() * image.getHeight() * 4));
+ *  Cache<String, Image> cache = service.getCache("images", parameters);
+ * }</pre>
+ *
+ * @param <K> type for the key
+ * @param <V> type for the value
+ * @since 4.0.26
+ */
+public final class Parameters<K, V> {
+
+    /**
+     * Value of {@link #getMaximumSize()} and {@link #getMaximumWeight()} for
+     * an unbounded cache.
+     */
+    public static final long UNBOUNDED = -1;
+
+    // only set on new copies, before they are returned
+    private long maximumSize = UNBOUNDED;
+    private long maximumWeight = UNBOUNDED;
+    private Weigher<? super K, ? super V> weigher;
+    private Duration refreshAfterWrite;
+    private Duration expireAfterWrite;
+    private Duration expireAfterAccess;
+    private long diskMaximumSize = UNBOUNDED;
+    private Serializer<K> keySerializer;
+    private Serializer<V> valueSerializer;
+    private boolean recordingStatistics;
+    private int warmStartSize;
+
+    /**
+     * Construct new parameters for an unbounded cache with softly referenced values.
+     */
+    public Parameters() {
+    }
+
+    private Parameters<K, V> copy() {
+        Parameters<K, V> copy = new Parameters<>();
+        copy.maximumSize = maximumSize;
+        copy.maximumWeight = maximumWeight;
+        copy.weigher = weigher;
+        copy.refreshAfterWrite = refreshAfterWrite;
+        copy.expireAfterWrite = expireAfterWrite;
+        copy.expireAfterAccess = expireAfterAccess;
+        copy.diskMaximumSize = diskMaximumSize;
+        copy.keySerializer = keySerializer;
+        copy.valueSerializer = valueSerializer;
+        copy.recordingStatistics = recordingStatistics;
+        copy.warmStartSize = warmStartSize;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of these parameters, for a cache with a maximum number of entries.
+     *
+     * @param maximumSize the maximum number of entries, greater than 0
+     * @return the new parameters
+     */
+    public Parameters<K, V> withMaximumSize(long maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size should be greater than 0: " + maximumSize);
+        }
+        Parameters<K, V> copy = copy();
+        copy.maximumSize = maximumSize;
+        copy.maximumWeight = UNBOUNDED;
+        copy.weigher = null;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of these parameters, for a cache with a maximum weight.
+     *
+     * @param maximumWeight the maximum total weight of the entries, greater than 0
+     * @param weigher the weigher that calculates the weight of each entry
+     * @return the new parameters
+     */
+    public Parameters<K, V> withMaximumWeight(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight should be greater than 0: " + maximumWeight);
+        }
+        Parameters<K, V> copy = copy();
+        copy.maximumSize = UNBOUNDED;
+        copy.maximumWeight = maximumWeight;
+        copy.weigher = Objects.requireNonNull(weigher);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of these parameters, for a cache that reloads its values
+     * when they are read through a loader, once the given duration has elapsed
+     * since they were written.
+     *
+     * @param refreshAfterWrite the duration after which a value is reloaded, greater than 0
+     * @return the new parameters
+     */
+    public Parameters<K, V> withRefreshAfterWrite(Duration refreshAfterWrite) {
+        Parameters<K, V> copy = copy();
+        copy.refreshAfterWrite = requirePositive(refreshAfterWrite);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of these parameters, for a cache that expires its entries
+     * once the given duration has elapsed since they were written.
+     *
+     * @param expireAfterWrite the duration after which an entry expires, greater than 0
+     * @return the new parameters
+     */
+    public Parameters<K, V> withExpireAfterWrite(Duration expireAfterWrite) {
+        Parameters<K, V> copy = copy();
+        copy.expireAfterWrite = requirePositive(expireAfterWrite);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of these parameters, for a cache that expires its entries
+     * once the given duration has elapsed since they were last read or written.
+     *
+     * <p>The entries of a cache that is stored on disk can't expire after access,
+     * as their accesses in memory are not recorded on disk.</p>
+     *
+     * @param expireAfterAccess the duration after which an entry that is not used expires, greater than 0
+     * @return the new parameters
+     * @throws IllegalArgumentException if the cache is stored on disk
+     */
+    public Parameters<K, V> withExpireAfterAccess(Duration expireAfterAccess) {
+        if (isStoredOnDisk()) {
+            throw new IllegalArgumentException("A cache stored on disk can't expire after access");
+        }
+        Parameters<K, V> copy = copy();
+        copy.expireAfterAccess = requirePositive(expireAfterAccess);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of these parameters, for a cache that keeps its entries in
+     * memory and also writes them to the private storage of the application, so
+     * they are still available after the application is restarted. Entries that
+     * are not in memory are read from disk, and put in memory again.
+     *
+     * <p>Entries are written to disk in the background. When the files of the
+     * cache exceed the given size, the oldest entries on disk are removed.
+     * Expire-after-write applies to the entries on disk as well. Expire-after-access
+     * is not supported, as the accesses in memory are not recorded on disk, so an
+     * entry that expired in memory would be read from disk again.</p>
+     *
+     * @param diskMaximumSize the maximum size of the files of the cache, in bytes, greater than 0
+     * @param keySerializer the serializer of the keys
+     * @param valueSerializer the serializer of the values
+     * @return the new parameters
+     * @throws IllegalArgumentException if the cache expires its entries after access
+     */
+    public Parameters<K, V> withDiskStorage(long diskMaximumSize, Serializer<K> keySerializer,
+                                            Serializer<V> valueSerializer) {
+        if (diskMaximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum disk size should be greater than 0: " + diskMaximumSize);
+        }
+        if (expireAfterAccess != null) {
+            throw new IllegalArgumentException("A cache that expires after access can't be stored on disk");
+        }
+        Parameters<K, V> copy = copy();
+        copy.diskMaximumSize = diskMaximumSize;
+        copy.keySerializer = Objects.requireNonNull(keySerializer);
+        copy.valueSerializer = Objects.requireNonNull(valueSerializer);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of these parameters, for a cache that saves a snapshot of its
+     * most used entries to the private storage of the application when the application
+     * is paused or exits, and loads it back in the background when the cache is created
+     * again, on the next launch. Entries that are put in the cache before the snapshot
+     * is loaded are not replaced, and entries that are removed are not loaded back.
+     *
+     * <p>If the cache is also stored on disk, the snapshot only has the keys, and
+     * their values are read from disk. Otherwise, the snapshot has the keys and the
+     * values, so it should only be used for small values. The serializers replace
+     * those given to {@link #withDiskStorage(long, Serializer, Serializer)}.</p>
+     *
+     * <p>Loaded entries keep the time they were written and last accessed, so they
+     * expire when they would have if the application had kept running, and the
+     * entries that expired in the meantime are not loaded.</p>
+     *
+     * @param warmStartSize the maximum number of entries in the snapshot, greater than 0
+     * @param keySerializer the serializer of the keys
+     * @param valueSerializer the serializer of the values
+     * @return the new parameters
+     */
+    public Parameters<K, V> withWarmStart(int warmStartSize, Serializer<K> keySerializer,
+                                          Serializer<V> valueSerializer) {
+        if (warmStartSize <= 0) {
+            throw new IllegalArgumentException("Warm start size should be greater than 0: " + warmStartSize);
+        }
+        Parameters<K, V> copy = copy();
+        copy.warmStartSize = warmStartSize;
+        copy.keySerializer = Objects.requireNonNull(keySerializer);
+        copy.valueSerializer = Objects.requireNonNull(valueSerializer);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of these parameters, for a cache that counts its hits, misses
+     * and loads, as returned by {@link Cache#getStats()}. Counting has a small cost
+     * on every read, so it is disabled by default.
+     *
+     * @return the new parameters
+     */
+    public Parameters<K, V> withStatistics() {
+        Parameters<K, V> copy = copy();
+        copy.recordingStatistics = true;
+        return copy;
+    }
+
+    /**
+     * @return the maximum number of entries, or {@link #UNBOUNDED}
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the maximum total weight of the entries, or {@link #UNBOUNDED}
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * @return the weigher of the entries, or null if the cache is not bounded by weight
+     */
+    public Weigher<? super K, ? super V> getWeigher() {
+        return weigher;
+    }
+
+    /**
+     * @return the duration after which a value is reloaded, or null if values are not refreshed
+     */
+    public Duration getRefreshAfterWrite() {
+        return refreshAfterWrite;
+    }
+
+    /**
+     * @return the duration after which an entry expires since it was written, or null if it doesn't expire
+     */
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    /**
+     * @return the duration after which an entry expires since it was last used, or null if it doesn't expire
+     */
+    public Duration getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    /**
+     * @return the maximum size of the files of the cache, in bytes, or {@link #UNBOUNDED}
+     * if the cache is not stored on disk
+     */
+    public long getDiskMaximumSize() {
+        return diskMaximumSize;
+    }
+
+    /**
+     * @return the serializer of the keys, or null if the cache is not stored on disk nor warm started
+     */
+    public Serializer<K> getKeySerializer() {
+        return keySerializer;
+    }
+
+    /**
+     * @return the serializer of the values, or null if the cache is not stored on disk nor warm started
+     */
+    public Serializer<V> getValueSerializer() {
+        return valueSerializer;
+    }
+
+    /**
+     * @return true if the cache is stored on disk
+     */
+    public boolean isStoredOnDisk() {
+        return diskMaximumSize != UNBOUNDED;
+    }
+
+    /**
+     * @return the maximum number of entries in the warm start snapshot, or 0 if the cache is not warm started
+     */
+    public int getWarmStartSize() {
+        return warmStartSize;
+    }
+
+    /**
+     * @return true if the cache saves a snapshot of its most used entries, and loads it on the next launch
+     */
+    public boolean isWarmStarted() {
+        return warmStartSize > 0;
+    }
+
+    /**
+     * @return true if the cache counts its hits, misses and loads
+     */
+    public boolean isRecordingStatistics() {
+        return recordingStatistics;
+    }
+
+    /**
+     * @return true if the cache has a maximum number of entries or a maximum weight
+     */
+    public boolean isBounded() {
+        return maximumSize != UNBOUNDED || maximumWeight != UNBOUNDED;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Parameters<?, ?> that = (Parameters<?, ?>) o;
+        return maximumSize == that.maximumSize &&
+                maximumWeight == that.maximumWeight &&
+                Objects.equals(weigher, that.weigher) &&
+                Objects.equals(refreshAfterWrite, that.refreshAfterWrite) &&
+                Objects.equals(expireAfterWrite, that.expireAfterWrite) &&
+                Objects.equals(expireAfterAccess, that.expireAfterAccess) &&
+                diskMaximumSize == that.diskMaximumSize &&
+                Objects.equals(keySerializer, that.keySerializer) &&
+                Objects.equals(valueSerializer, that.valueSerializer) &&
+                recordingStatistics == that.recordingStatistics &&
+                warmStartSize == that.warmStartSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maximumSize, maximumWeight, weigher, refreshAfterWrite,
+                expireAfterWrite, expireAfterAccess, diskMaximumSize, keySerializer, valueSerializer,
+                recordingStatistics, warmStartSize);
+    }
+
+    @Override
+    public String toString() {
+        return "Parameters{" +
+                "maximumSize=" + maximumSize +
+                ", maximumWeight=" + maximumWeight +
+                ", weigher=" + weigher +
+                ", refreshAfterWrite=" + refreshAfterWrite +
+                ", expireAfterWrite=" + expireAfterWrite +
+                ", expireAfterAccess=" + expireAfterAccess +
+                ", diskMaximumSize=" + diskMaximumSize +
+                ", recordingStatistics=" + recordingStatistics +
+                ", warmStartSize=" + warmStartSize +
+                '}';
+    }
+
+    private static Duration requirePositive(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration should be greater than 0: " + duration);
+        }
+        return duration;
+    }
+}
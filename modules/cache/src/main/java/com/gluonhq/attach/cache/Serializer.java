@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts keys or values of a cache to bytes and back, so they can be stored
+ * on disk by a cache with a disk tier.
+ *
+ * <p><b>Example</b></p>
+ * <pre>
+ * {@code Serializer<Image> serializer = new Serializer<>() {
+ *      public byte[] serialize(Image image) throws IOException { ... }
+ *      public Image deserialize(byte[] data) throws IOException { ... }
+ *  };
+ * }</pre>
+ *
+ * @param <T> type for the keys or values
+ * @since 4.0.26
+ */
+public interface Serializer<T> {
+
+    /**
+     * A serializer for strings, in UTF-8.
+     */
+    Serializer<String> STRING = new Serializer<>() {
+        @Override
+        public byte[] serialize(String s) {
+            return s.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String deserialize(byte[] data) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * A serializer for byte arrays, that stores them as they are.
+     */
+    Serializer<byte[]> BYTES = new Serializer<>() {
+        @Override
+        public byte[] serialize(byte[] bytes) {
+            return bytes;
+        }
+
+        @Override
+        public byte[] deserialize(byte[] data) {
+            return data;
+        }
+    };
+
+    /**
+     * Converts an object to bytes.
+     *
+     * @param t the object, not null
+     * @return the bytes that represent the object
+     * @throws IOException if the object can't be serialized
+     */
+    byte[] serialize(T t) throws IOException;
+
+    /**
+     * Converts bytes back to an object.
+     *
+     * @param data the bytes returned by {@link #serialize(Object)}
+     * @return the object
+     * @throws IOException if the bytes can't be deserialized
+     */
+    T deserialize(byte[] data) throws IOException;
+}
@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.Cache;
+import com.gluonhq.attach.cache.CacheStats;
+import com.gluonhq.attach.cache.Parameters;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loading and time support for the Attach caches. Concurrent loads of the same key
+ * share one in-flight future, and values older than the refresh duration of the cache
+ * are reloaded in the background while the current value is returned. Entries keep
+ * their write and access times, in {@link System#nanoTime()} units, only if the
+ * cache refreshes or expires them, or if it is warm started. Hits, misses and loads are counted if the cache
+ * records statistics.
+ *
+ * @param <K> type for the key
+ * @param <V> type for the value
+ */
+abstract class AbstractCache<K, V> implements Cache<K, V> {
+
+    private static final Logger LOG = Logger.getLogger(AbstractCache.class.getName());
+
+    private final Map<K, Load<V>> loads = new ConcurrentHashMap<>();
+    private final long refreshNanos;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final boolean warmStarted;
+    // the removals made while a snapshot is restored, or null
+    private volatile Removals<K> removals;
+
+    // null if the cache doesn't record statistics
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+    private final LongAdder loadSuccessCount;
+    private final LongAdder loadFailureCount;
+    private final LongAdder totalLoadTime;
+
+    AbstractCache(Parameters<K, V> parameters) {
+        boolean recordingStatistics = parameters.isRecordingStatistics();
+        refreshNanos = toNanos(parameters.getRefreshAfterWrite());
+        expireAfterWriteNanos = toNanos(parameters.getExpireAfterWrite());
+        expireAfterAccessNanos = toNanos(parameters.getExpireAfterAccess());
+        warmStarted = parameters.isWarmStarted();
+        hitCount = recordingStatistics ? new LongAdder() : null;
+        missCount = recordingStatistics ? new LongAdder() : null;
+        loadSuccessCount = recordingStatistics ? new LongAdder() : null;
+        loadFailureCount = recordingStatistics ? new LongAdder() : null;
+        totalLoadTime = recordingStatistics ? new LongAdder() : null;
+    }
+
+    /**
+     * Returns the value for the key, without counting a hit or a miss.
+     */
+    abstract V getIfPresent(K key);
+
+    /**
+     * Returns true if the entry for the key was written longer than the
+     * refresh duration ago. Only called if the cache refreshes its values.
+     */
+    abstract boolean isRefreshNeeded(K key);
+
+    /**
+     * Returns up to the given number of entries, the most used first, for a warm
+     * start snapshot. Caches that don't keep track of the use of their entries
+     * return none.
+     */
+    List<SnapshotEntry<K, V>> getHottestEntries(int limit) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Puts a value that was written and last accessed at the given times, in
+     * {@link System#currentTimeMillis()} units, such as a value of a warm start
+     * snapshot, so it expires and is refreshed when it would have if it had stayed
+     * in the cache. A value that has expired since is not put, and neither is a
+     * value for a key that has a value already, or that was removed while the
+     * snapshot is restored.
+     */
+    final void restore(K key, V value, long writeTimeMillis, long accessTimeMillis) {
+        long now = now();
+        if (now == 0) {
+            putIfAbsent(key, value, 0, 0);
+            return;
+        }
+        long writeTime = toNanoTime(writeTimeMillis, now);
+        long accessTime = toNanoTime(accessTimeMillis, now);
+        if (!isExpired(writeTime, accessTime, now)) {
+            putIfAbsent(key, value, writeTime, accessTime);
+        }
+    }
+
+    /**
+     * Puts a value with the given write and access times, in {@link System#nanoTime()}
+     * units, unless the key has a value that has not expired, or {@link #isRestorable(Object)}
+     * returns false. The check and the put are atomic. Only the caches that can be
+     * restored implement it.
+     */
+    void putIfAbsent(K key, V value, long writeTime, long accessTime) {
+        throw new UnsupportedOperationException("Values can't be restored in " + getClass().getSimpleName());
+    }
+
+    /**
+     * Records the removals made from now on, until {@link #endRestore()}, so
+     * the values of a snapshot restored meanwhile don't undo them.
+     */
+    final void startRestore() {
+        removals = new Removals<>();
+    }
+
+    final void endRestore() {
+        removals = null;
+    }
+
+    /**
+     * Called before the key is removed, so a restore doesn't put it back.
+     */
+    final void onRemove(K key) {
+        Removals<K> r = removals;
+        if (r != null && key != null) {
+            r.keys.add(key);
+        }
+    }
+
+    /**
+     * Called before all the keys are removed, so a restore doesn't put any of
+     * them back.
+     */
+    final void onRemoveAll() {
+        Removals<K> r = removals;
+        if (r != null) {
+            r.cleared = true;
+        }
+    }
+
+    /**
+     * @return false if the key, or all the keys, were removed since the restore started
+     */
+    final boolean isRestorable(K key) {
+        Removals<K> r = removals;
+        return r == null || !r.cleared && !r.keys.contains(key);
+    }
+
+    /**
+     * Returns an entry of a snapshot, with its times converted to
+     * {@link System#currentTimeMillis()} units, so they are still valid on the next launch.
+     */
+    final SnapshotEntry<K, V> toSnapshotEntry(K key, V value, long writeTime, long accessTime, long now) {
+        return new SnapshotEntry<>(key, value, toMillisTime(writeTime, now), toMillisTime(accessTime, now));
+    }
+
+    /**
+     * Returns the current time, or 0 if the cache doesn't need the time of its entries.
+     */
+    final long now() {
+        return refreshNanos > 0 || expires() || warmStarted ? System.nanoTime() : 0;
+    }
+
+    final boolean isRefreshNeeded(long writeTime) {
+        return System.nanoTime() - writeTime >= refreshNanos;
+    }
+
+    /**
+     * @return true if the entries expire after a write or an access
+     */
+    final boolean expires() {
+        return expireAfterWriteNanos > 0 || expireAfterAccessNanos > 0;
+    }
+
+    /**
+     * @return true if the access time of the entries has to be updated on reads
+     */
+    final boolean expiresAfterAccess() {
+        return expireAfterAccessNanos > 0;
+    }
+
+    /**
+     * @return true if the access time of the entries is needed to expire them, or
+     * to find the most used entries of an unbounded cache for a warm start snapshot
+     */
+    final boolean tracksAccess() {
+        return expireAfterAccessNanos > 0 || warmStarted;
+    }
+
+    /**
+     * Returns the time when an entry expires, given its write and access times.
+     * Only called if the cache expires its entries.
+     */
+    final long getDeadline(long writeTime, long accessTime) {
+        if (expireAfterWriteNanos == 0) {
+            return accessTime + expireAfterAccessNanos;
+        } else if (expireAfterAccessNanos == 0) {
+            return writeTime + expireAfterWriteNanos;
+        }
+        long afterWrite = writeTime + expireAfterWriteNanos;
+        long afterAccess = accessTime + expireAfterAccessNanos;
+        return afterWrite - afterAccess < 0 ? afterWrite : afterAccess;
+    }
+
+    final boolean isExpired(long writeTime, long accessTime, long now) {
+        return expires() && getDeadline(writeTime, accessTime) - now <= 0;
+    }
+
+    @Override
+    public final V get(K key) {
+        V value = getIfPresent(key);
+        if (hitCount != null) {
+            (value == null ? missCount : hitCount).increment();
+        }
+        return value;
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache, with the counters
+     * that are kept by the subclass.
+     */
+    final CacheStats getStats(long evictionCount, long expiredCount, long reclaimedCount, long size, long weightedSize) {
+        if (hitCount == null) {
+            return new CacheStats(0, 0, 0, 0, 0, evictionCount, expiredCount, reclaimedCount, size, weightedSize);
+        }
+        return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+                totalLoadTime.sum(), evictionCount, expiredCount, reclaimedCount, size, weightedSize);
+    }
+
+    private long startLoad() {
+        return totalLoadTime == null ? 0 : System.nanoTime();
+    }
+
+    private void endLoad(long start, boolean success) {
+        if (totalLoadTime != null) {
+            totalLoadTime.add(System.nanoTime() - start);
+            (success ? loadSuccessCount : loadFailureCount).increment();
+        }
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            if (refreshNanos > 0 && isRefreshNeeded(key)) {
+                refresh(key, loader);
+            }
+            return value;
+        }
+        Load<V> load = new Load<>();
+        Load<V> existing = loads.putIfAbsent(key, load);
+        if (existing != null) {
+            if (existing.isLoading()) {
+                // the loader would wait for itself
+                throw new IllegalStateException("Recursive load of cache key " + key);
+            }
+            return existing.await();
+        }
+        try {
+            // it may have been loaded since the first read
+            value = getIfPresent(key);
+            if (value == null) {
+                value = load(key, load, loader);
+                if (value != null) {
+                    put(key, value);
+                }
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    @Override
+    public CompletableFuture<V> getAsync(K key, Function<? super K, ? extends CompletableFuture<? extends V>> loader) {
+        V value = get(key);
+        if (value != null) {
+            if (refreshNanos > 0 && isRefreshNeeded(key)) {
+                Load<V> load = new Load<>();
+                if (loads.putIfAbsent(key, load) == null) {
+                    loadAsync(key, load, loader);
+                }
+            }
+            return CompletableFuture.completedFuture(value);
+        }
+        Load<V> load = new Load<>();
+        Load<V> existing = loads.putIfAbsent(key, load);
+        if (existing != null) {
+            return existing.copy();
+        }
+        loadAsync(key, load, loader);
+        // callers can't complete or cancel the shared load
+        return load.copy();
+    }
+
+    private V load(K key, Load<V> load, Function<? super K, ? extends V> loader) {
+        long start = startLoad();
+        load.startLoading();
+        try {
+            V value = loader.apply(key);
+            endLoad(start, value != null);
+            return value;
+        } catch (RuntimeException | Error e) {
+            endLoad(start, false);
+            throw e;
+        } finally {
+            load.endLoading();
+        }
+    }
+
+    private void loadAsync(K key, Load<V> load,
+                           Function<? super K, ? extends CompletableFuture<? extends V>> loader) {
+        CompletableFuture<? extends V> future;
+        long start = startLoad();
+        load.startLoading();
+        try {
+            future = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            endLoad(start, false);
+            loads.remove(key, load);
+            load.completeExceptionally(e);
+            return;
+        } finally {
+            load.endLoading();
+        }
+        future.whenComplete((v, t) -> {
+            endLoad(start, t == null && v != null);
+            if (t == null && v != null) {
+                put(key, v);
+            }
+            loads.remove(key, load);
+            if (t == null) {
+                load.complete(v);
+            } else {
+                load.completeExceptionally(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+            }
+        });
+    }
+
+    private void refresh(K key, Function<? super K, ? extends V> loader) {
+        Load<V> load = new Load<>();
+        if (loads.putIfAbsent(key, load) != null) {
+            return;
+        }
+        Refresher.EXECUTOR.execute(() -> {
+            try {
+                V value = load(key, load, loader);
+                if (value != null) {
+                    put(key, value);
+                }
+                load.complete(value);
+            } catch (RuntimeException | Error e) {
+                LOG.log(Level.WARNING, "Error refreshing cache value for key " + key, e);
+                load.completeExceptionally(e);
+            } finally {
+                loads.remove(key, load);
+            }
+        });
+    }
+
+    private static long toNanoTime(long millisTime, long now) {
+        return now - (System.currentTimeMillis() - millisTime) * 1_000_000L;
+    }
+
+    private static long toMillisTime(long nanoTime, long now) {
+        return System.currentTimeMillis() - (now - nanoTime) / 1_000_000L;
+    }
+
+    private static long toNanos(Duration duration) {
+        return duration == null ? 0 : duration.toNanos();
+    }
+
+    /**
+     * An entry of a warm start snapshot, with its write and access times in
+     * {@link System#currentTimeMillis()} units.
+     */
+    static final class SnapshotEntry<K, V> {
+        final K key;
+        final V value;
+        final long writeTime;
+        final long accessTime;
+
+        SnapshotEntry(K key, V value, long writeTime, long accessTime) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+            this.accessTime = accessTime;
+        }
+    }
+
+    private static final class Removals<K> {
+        final Set<K> keys = ConcurrentHashMap.newKeySet();
+        volatile boolean cleared;
+    }
+
+    private static class Refresher {
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r);
+            t.setName("Attach-CacheRefresh");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
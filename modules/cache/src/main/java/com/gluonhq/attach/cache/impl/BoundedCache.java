@@ -0,0 +1,508 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.CacheStats;
+import com.gluonhq.attach.cache.Parameters;
+import com.gluonhq.attach.cache.Weigher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * A cache with strongly referenced values, bounded by a maximum number of entries
+ * or a maximum weight, that evicts entries with the W-TinyLFU policy.
+ *
+ * <p>New entries are added to a small LRU window. Entries that overflow the window
+ * become candidates for the main space, which is split in a probation and a protected
+ * LRU segment. A candidate is only admitted if its estimated frequency, as recorded by
+ * a {@link FrequencySketch}, is higher than the one of the probation entry that would
+ * be evicted instead. Entries used again while in probation are promoted to the protected
+ * segment. This keeps frequently used entries in the cache when a burst of new keys
+ * is used only once.</p>
+ *
+ * <p>The entries are stored in a {@link ConcurrentHashMap}, so reads don't block.
+ * The policy is only updated while holding a lock: writes take it, and reads are
+ * recorded in a {@link ReadBuffer} that is replayed by the next thread that takes
+ * the lock, or by the reader itself if the lock is free and its buffer fills up.</p>
+ *
+ * <p>If the entries expire, expired entries are never returned, and they are removed
+ * by a {@link TimerWheel} that is advanced while holding the lock.</p>
+ *
+ * @param <K> type for the key
+ * @param <V> type for the value
+ */
+public class BoundedCache<K, V> extends AbstractCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final Map<K, Node<K, V>> map = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReadBuffer<Node<K, V>> readBuffer = new ReadBuffer<>();
+    private final Consumer<Node<K, V>> onRead = this::onRead;
+    private final FrequencySketch sketch = new FrequencySketch();
+    private final TimerWheel<Node<K, V>> timerWheel;
+    private final Weigher<? super K, ? super V> weigher;
+
+    private final long maximum;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+
+    private final Queue<K, V> window = new Queue<>();
+    private final Queue<K, V> probation = new Queue<>();
+    private final Queue<K, V> protectedQueue = new Queue<>();
+    private long windowWeight;
+    private long protectedWeight;
+    private long weight;
+    private long evictionCount;
+    private long expiredCount;
+
+    public BoundedCache(Parameters<K, V> parameters) {
+        super(parameters);
+        if (parameters.getMaximumWeight() != Parameters.UNBOUNDED) {
+            maximum = parameters.getMaximumWeight();
+            weigher = parameters.getWeigher();
+        } else if (parameters.getMaximumSize() != Parameters.UNBOUNDED) {
+            maximum = parameters.getMaximumSize();
+            weigher = null;
+            sketch.ensureCapacity(maximum);
+        } else {
+            throw new IllegalArgumentException("Cache parameters should be bounded: " + parameters);
+        }
+        // 1% for the window, 80% of the rest for the protected segment
+        windowMaximum = Math.max(1, maximum / 100);
+        protectedMaximum = (maximum - windowMaximum) * 4 / 5;
+        timerWheel = expires() ? new TimerWheel<>(new NodeExpiry()) : null;
+    }
+
+    @Override
+    V getIfPresent(K key) {
+        if (key == null) {
+            return null;
+        }
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        V value = node.value;
+        if (value == null) {
+            // removed since
+            return null;
+        }
+        long now = now();
+        if (isExpired(node.writeTime, node.accessTime, now)) {
+            return null;
+        }
+        if (expiresAfterAccess()) {
+            node.accessTime = now;
+        }
+        if (readBuffer.offer(node) && lock.tryLock()) {
+            try {
+                maintenance(now);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        long now = now();
+        put(key, value, now, now, false);
+    }
+
+    @Override
+    void putIfAbsent(K key, V value, long writeTime, long accessTime) {
+        put(key, value, writeTime, accessTime, true);
+    }
+
+    private void put(K key, V value, long writeTime, long accessTime, boolean onlyIfAbsent) {
+        if (key == null) {
+            throw new NullPointerException ("Cache key should not be null");
+        }
+        if (value == null) {
+            throw new NullPointerException ("Cache value should not be null");
+        }
+        long w = weigh(key, value);
+        long now = now();
+        lock.lock();
+        try {
+            maintenance(now);
+            Node<K, V> node = map.get(key);
+            if (onlyIfAbsent && (node != null && !isExpired(node.writeTime, node.accessTime, now) || !isRestorable(key))) {
+                return;
+            }
+            if (w > maximum) {
+                // it would evict everything else, and then itself
+                if (node != null) {
+                    remove(node);
+                }
+                return;
+            }
+            sketch.increment(key);
+            if (node == null) {
+                node = new Node<>(key, value, w, writeTime, accessTime);
+                map.put(key, node);
+                if (timerWheel != null) {
+                    timerWheel.schedule(node, getDeadline(writeTime, accessTime));
+                }
+                window.addLast(node);
+                windowWeight += w;
+                weight += w;
+                sketch.ensureCapacity(map.size());
+            } else {
+                node.value = value;
+                node.writeTime = writeTime;
+                node.accessTime = accessTime;
+                setWeight(node, w);
+                onAccess(node);
+            }
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(K key) {
+        if (key == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            onRemove(key);
+            maintenance(now());
+            Node<K, V> node = map.get(key);
+            if (node == null) {
+                return false;
+            }
+            remove(node);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        lock.lock();
+        try {
+            onRemoveAll();
+            readBuffer.drainTo(onRead);
+            for (Node<K, V> node : map.values()) {
+                node.removed = true;
+                node.value = null;
+            }
+            map.clear();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+            windowWeight = 0;
+            protectedWeight = 0;
+            weight = 0;
+            sketch.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        lock.lock();
+        try {
+            maintenance(now());
+            return getStats(evictionCount, expiredCount, 0, map.size(), weight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of entries in the cache
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * @return the total weight of the entries in the cache, or the number of
+     * entries if the cache is bounded by size
+     */
+    public long weightedSize() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long weigh(K key, V value) {
+        if (weigher == null) {
+            return 1;
+        }
+        long w = weigher.weigh(key, value);
+        if (w < 0) {
+            throw new IllegalArgumentException("Cache weight should not be negative: " + w);
+        }
+        return w;
+    }
+
+    private void setWeight(Node<K, V> node, long w) {
+        long delta = w - node.weight;
+        node.weight = w;
+        weight += delta;
+        if (node.queue == WINDOW) {
+            windowWeight += delta;
+        } else if (node.queue == PROTECTED) {
+            protectedWeight += delta;
+        }
+    }
+
+    @Override
+    boolean isRefreshNeeded(K key) {
+        Node<K, V> node = map.get(key);
+        return node != null && isRefreshNeeded(node.writeTime);
+    }
+
+    @Override
+    List<SnapshotEntry<K, V>> getHottestEntries(int limit) {
+        List<SnapshotEntry<K, V>> entries = new ArrayList<>();
+        lock.lock();
+        try {
+            long now = now();
+            maintenance(now);
+            // the protected entries were used more than once, then the most recent ones
+            addHottestEntries(entries, protectedQueue, limit, now);
+            addHottestEntries(entries, window, limit, now);
+            addHottestEntries(entries, probation, limit, now);
+        } finally {
+            lock.unlock();
+        }
+        return entries;
+    }
+
+    // must hold the lock
+    private void addHottestEntries(List<SnapshotEntry<K, V>> entries, Queue<K, V> queue, int limit, long now) {
+        for (Node<K, V> node = queue.last; node != null && entries.size() < limit; node = node.prev) {
+            V value = node.value;
+            if (value != null && !isExpired(node.writeTime, node.accessTime, now)) {
+                entries.add(toSnapshotEntry(node.key, value, node.writeTime, node.accessTime, now));
+            }
+        }
+    }
+
+    // must hold the lock
+    private void maintenance(long now) {
+        readBuffer.drainTo(onRead);
+        if (timerWheel != null) {
+            timerWheel.advance(now);
+        }
+    }
+
+    // replays a buffered read, unless the entry was removed since
+    private void onRead(Node<K, V> node) {
+        if (!node.removed) {
+            sketch.increment(node.key);
+            onAccess(node);
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToEnd(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.addLast(node);
+                protectedWeight += node.weight;
+                demote();
+                break;
+            default:
+                protectedQueue.moveToEnd(node);
+                break;
+        }
+    }
+
+    // moves the least recently used protected entries back to probation
+    private void demote() {
+        while (protectedWeight > protectedMaximum) {
+            Node<K, V> node = protectedQueue.first;
+            if (node == null) {
+                break;
+            }
+            protectedQueue.remove(node);
+            protectedWeight -= node.weight;
+            node.queue = PROBATION;
+            probation.addLast(node);
+        }
+    }
+
+    private void evict() {
+        // entries leaving the window are candidates at the tail of probation
+        while (windowWeight > windowMaximum) {
+            Node<K, V> node = window.first;
+            if (node == null) {
+                break;
+            }
+            window.remove(node);
+            windowWeight -= node.weight;
+            node.queue = PROBATION;
+            probation.addLast(node);
+        }
+        while (weight > maximum) {
+            Node<K, V> victim = probation.first;
+            if (victim == null) {
+                victim = protectedQueue.first != null ? protectedQueue.first : window.first;
+            } else {
+                // the candidate is only admitted if it is used more often than the victim
+                Node<K, V> candidate = probation.last;
+                if (sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                    victim = candidate;
+                }
+            }
+            remove(victim);
+            evictionCount++;
+        }
+    }
+
+    private void remove(Node<K, V> node) {
+        map.remove(node.key);
+        node.removed = true;
+        // the timer wheel may still reference the node
+        node.value = null;
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                windowWeight -= node.weight;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            default:
+                protectedQueue.remove(node);
+                protectedWeight -= node.weight;
+                break;
+        }
+        weight -= node.weight;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile long writeTime;
+        volatile long accessTime;
+        // the fields below are only accessed while holding the lock
+        long weight;
+        int queue = WINDOW;
+        boolean removed;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, long weight, long writeTime, long accessTime) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = writeTime;
+            this.accessTime = accessTime;
+        }
+    }
+
+    // an LRU list, with the least recently used node first
+    private static final class Queue<K, V> {
+        Node<K, V> first;
+        Node<K, V> last;
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToEnd(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            first = null;
+            last = null;
+        }
+    }
+
+    // called while holding the lock
+    private class NodeExpiry implements TimerWheel.Expiry<Node<K, V>> {
+
+        @Override
+        public boolean isLive(Node<K, V> node) {
+            return !node.removed;
+        }
+
+        @Override
+        public long getDeadline(Node<K, V> node) {
+            return BoundedCache.this.getDeadline(node.writeTime, node.accessTime);
+        }
+
+        @Override
+        public void expire(Node<K, V> node) {
+            remove(node);
+            expiredCount++;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -27,55 +27,231 @@
  */
 package com.gluonhq.attach.cache.impl;
 
-import com.gluonhq.attach.cache.Cache;
+import com.gluonhq.attach.cache.CacheStats;
+import com.gluonhq.attach.cache.Parameters;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * An unbounded cache with softly referenced values. It is safe to use from
+ * multiple threads: the map is a {@link ConcurrentHashMap}, and entries
+ * reclaimed by the GC are purged with atomic conditional removals.
+ *
+ * <p>If the entries expire, expired entries are never returned, and they are
+ * removed by a {@link TimerWheel} that is advanced on every operation.</p>
  *
  * @param <K> type for the key
  * @param <V> type for the value
  */
-public class DefaultCache<K, V> implements Cache<K,V> {
+public class DefaultCache<K, V> extends AbstractCache<K,V> {
 
-    private Map<K, SoftReference<V>> map = new HashMap<>();
+    private final Map<K, Entry<K, V>> map = new ConcurrentHashMap<>();
+    // values cleared by the GC, whose entries are purged on the next operation
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+    private final TimerWheel<Entry<K, V>> timerWheel;
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder reclaimedCount = new LongAdder();
 
     public DefaultCache () {
+        this(new Parameters<>());
+    }
+
+    public DefaultCache(Parameters<K, V> parameters) {
+        super(parameters);
+        timerWheel = expires() ? new TimerWheel<>(new EntryExpiry()) : null;
     }
     
     @Override
-    public V get(K key) {
-        SoftReference<V> ref = map.get(key);
+    V getIfPresent(K key) {
+        long now = now();
+        purge(now);
+        if (key == null) {
+            return null;
+        }
+        Entry<K, V> ref = map.get(key);
         if (ref != null) {
-            return ref.get();
+            V value = ref.get();
+            if (value == null) {
+                if (map.remove(key, ref)) {
+                    // cleared, but not enqueued yet
+                    reclaimedCount.increment();
+                }
+            } else if (isExpired(ref.writeTime, ref.accessTime, now)) {
+                if (map.remove(key, ref)) {
+                    ref.clear();
+                    expiredCount.increment();
+                }
+                return null;
+            } else if (tracksAccess()) {
+                ref.accessTime = now;
+            }
+            return value;
         }
         return null;
     }
 
     @Override
     public void put(K key, V value) {
-        if (key == null) {
-            throw new NullPointerException ("Cache key should not be null");
+        checkNotNull(key, value);
+        long now = now();
+        purge(now);
+        Entry<K, V> entry = new Entry<>(key, value, queue, now, now);
+        Entry<K, V> old = map.put(key, entry);
+        if (old != null) {
+            old.clear();
         }
-        if (value == null) {
-            throw new NullPointerException ("Cache value should not be null");
+        if (timerWheel != null) {
+            timerWheel.schedule(entry, getDeadline(now, now));
+        }
+    }
+
+    @Override
+    void putIfAbsent(K key, V value, long writeTime, long accessTime) {
+        checkNotNull(key, value);
+        long now = now();
+        purge(now);
+        Entry<K, V> entry = new Entry<>(key, value, queue, writeTime, accessTime);
+        // a value cleared by the GC, or expired, is replaced
+        Entry<K, V> answer = map.compute(key, (k, old) ->
+                (old == null || old.get() == null || isExpired(old.writeTime, old.accessTime, now)) && isRestorable(k) ?
+                        entry : old);
+        if (answer == entry && timerWheel != null) {
+            timerWheel.schedule(entry, getDeadline(writeTime, accessTime));
         }
-        SoftReference<V> ref = new SoftReference<>(value);
-        map.put(key, ref);
     }
 
     @Override
     public boolean remove(K key) {
-        boolean answer = map.containsKey(key);
-        map.remove(key);
-        return answer;
+        purge(now());
+        if (key == null) {
+            return false;
+        }
+        onRemove(key);
+        Entry<K, V> old = map.remove(key);
+        if (old == null) {
+            return false;
+        }
+        old.clear();
+        return true;
     }
 
     @Override
     public void removeAll() {
+        onRemoveAll();
+        for (Entry<K, V> entry : map.values()) {
+            entry.clear();
+        }
         map.clear();
     }
 
+    @Override
+    public CacheStats getStats() {
+        purge(now());
+        int size = map.size();
+        return getStats(0, expiredCount.sum(), reclaimedCount.sum(), size, size);
+    }
+
+    @Override
+    boolean isRefreshNeeded(K key) {
+        Entry<K, V> ref = map.get(key);
+        return ref != null && isRefreshNeeded(ref.writeTime);
+    }
+
+    @Override
+    List<SnapshotEntry<K, V>> getHottestEntries(int limit) {
+        long now = now();
+        purge(now);
+        // the most recently used entries, the least recently used first
+        PriorityQueue<Entry<K, V>> hottest = new PriorityQueue<>(limit + 1,
+                (a, b) -> Long.signum(a.accessTime - b.accessTime));
+        for (Entry<K, V> entry : map.values()) {
+            if (entry.get() != null && !isExpired(entry.writeTime, entry.accessTime, now)) {
+                hottest.add(entry);
+                if (hottest.size() > limit) {
+                    hottest.poll();
+                }
+            }
+        }
+        Deque<Entry<K, V>> entries = new ArrayDeque<>(hottest.size());
+        while (!hottest.isEmpty()) {
+            entries.addFirst(hottest.poll());
+        }
+        List<SnapshotEntry<K, V>> answer = new ArrayList<>(entries.size());
+        for (Entry<K, V> entry : entries) {
+            V value = entry.get();
+            if (value != null) {
+                answer.add(toSnapshotEntry(entry.key, value, entry.writeTime, entry.accessTime, now));
+            }
+        }
+        return answer;
+    }
+
+    private static void checkNotNull(Object key, Object value) {
+        if (key == null) {
+            throw new NullPointerException ("Cache key should not be null");
+        }
+        if (value == null) {
+            throw new NullPointerException ("Cache value should not be null");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void purge(long now) {
+        Reference<? extends V> ref;
+        while ((ref = queue.poll()) != null) {
+            Entry<K, V> entry = (Entry<K, V>) ref;
+            // the key may have been removed or put again since
+            if (map.remove(entry.key, entry)) {
+                reclaimedCount.increment();
+            }
+        }
+        if (timerWheel != null) {
+            timerWheel.advance(now);
+        }
+    }
+
+    private class EntryExpiry implements TimerWheel.Expiry<Entry<K, V>> {
+
+        @Override
+        public boolean isLive(Entry<K, V> entry) {
+            return map.get(entry.key) == entry;
+        }
+
+        @Override
+        public long getDeadline(Entry<K, V> entry) {
+            return DefaultCache.this.getDeadline(entry.writeTime, entry.accessTime);
+        }
+
+        @Override
+        public void expire(Entry<K, V> entry) {
+            if (map.remove(entry.key, entry)) {
+                entry.clear();
+                expiredCount.increment();
+            }
+        }
+    }
+
+    private static final class Entry<K, V> extends SoftReference<V> {
+        final K key;
+        final long writeTime;
+        volatile long accessTime;
+
+        Entry(K key, V value, ReferenceQueue<V> queue, long writeTime, long accessTime) {
+            super(value, queue);
+            this.key = key;
+            this.writeTime = writeTime;
+            this.accessTime = accessTime;
+        }
+    }
+
 }
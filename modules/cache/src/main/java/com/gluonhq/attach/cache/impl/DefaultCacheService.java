@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -29,27 +29,184 @@ package com.gluonhq.attach.cache.impl;
 
 import com.gluonhq.attach.cache.CacheService;
 import com.gluonhq.attach.cache.Cache;
+import com.gluonhq.attach.cache.CacheStats;
+import com.gluonhq.attach.cache.IntCache;
+import com.gluonhq.attach.cache.LongCache;
+import com.gluonhq.attach.cache.Parameters;
+import com.gluonhq.attach.lifecycle.LifecycleEvent;
+import com.gluonhq.attach.lifecycle.LifecycleService;
+import com.gluonhq.attach.storage.StorageService;
 
-import java.util.HashMap;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class DefaultCacheService implements CacheService {
 
+    private static final Logger LOG = Logger.getLogger(DefaultCacheService.class.getName());
+    private static final String CACHE_DIRECTORY = "attach-cache";
+
     @SuppressWarnings("rawtypes")
-    static Map<String, Cache> caches = new HashMap<>();
-    
+    static final Map<String, NamedCache> caches = new ConcurrentHashMap<>();
+    static final Map<String, WarmStart<?, ?>> warmStarts = new ConcurrentHashMap<>();
+    private static final AtomicBoolean savingSnapshots = new AtomicBoolean();
+
     @SuppressWarnings("unchecked")
     @Override
     public <K, V> Cache<K, V> getCache(String cacheName) {
-        if (!caches.containsKey(cacheName)) {
-            return createCache(cacheName);
+        NamedCache<K, V> answer = caches.computeIfAbsent(cacheName, name -> createCache(name, new Parameters<>()));
+        return answer.getCache(cacheName, Cache.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V> Cache<K, V> getCache(String cacheName, Parameters<K, V> parameters) {
+        Objects.requireNonNull(parameters);
+        NamedCache<K, V> answer = caches.computeIfAbsent(cacheName, name -> createCache(name, parameters));
+        Cache<K, V> cache = answer.getCache(cacheName, Cache.class);
+        checkParameters(cacheName, answer, parameters);
+        return cache;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> LongCache<V> getLongCache(String cacheName, Parameters<Long, V> parameters) {
+        Objects.requireNonNull(parameters);
+        NamedCache<Long, V> answer = caches.computeIfAbsent(cacheName,
+                name -> new NamedCache<>(new DefaultLongCache<>(parameters), parameters));
+        LongCache<V> cache = answer.getCache(cacheName, LongCache.class);
+        checkParameters(cacheName, answer, parameters);
+        return cache;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> IntCache<V> getIntCache(String cacheName, Parameters<Integer, V> parameters) {
+        Objects.requireNonNull(parameters);
+        NamedCache<Integer, V> answer = caches.computeIfAbsent(cacheName,
+                name -> new NamedCache<>(new DefaultIntCache<>(parameters), parameters));
+        IntCache<V> cache = answer.getCache(cacheName, IntCache.class);
+        checkParameters(cacheName, answer, parameters);
+        return cache;
+    }
+
+    @Override
+    public <K> Cache<K, ByteBuffer> getOffHeapCache(String cacheName, long capacity) {
+        return getOffHeapCache(cacheName, capacity, new Parameters<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K> Cache<K, ByteBuffer> getOffHeapCache(String cacheName, long capacity, Parameters<K, ByteBuffer> parameters) {
+        NamedCache<K, ByteBuffer> answer = caches.computeIfAbsent(cacheName,
+                name -> new NamedCache<>(new OffHeapCache<>(capacity, parameters), parameters));
+        if (!(answer.cache instanceof OffHeapCache)) {
+            throw new IllegalArgumentException("Cache " + cacheName + " already exists, and it is not stored off-heap");
+        }
+        if (((OffHeapCache<K>) answer.cache).getCapacity() != capacity) {
+            LOG.warning("Cache " + cacheName + " already exists with capacity " +
+                    ((OffHeapCache<K>) answer.cache).getCapacity() + ", ignoring " + capacity);
         }
-        return caches.get(cacheName);
+        checkParameters(cacheName, answer, parameters);
+        return (Cache<K, ByteBuffer>) answer.cache;
     }
 
-    private <K, V> Cache<K,V> createCache(String name) {
-        Cache<K,V> answer = new DefaultCache<>();
-        caches.put(name, answer);
-        return answer;
+    @Override
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+        caches.forEach((name, namedCache) -> stats.put(name, namedCache.getStats()));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    private static <K, V> NamedCache<K, V> createCache(String name, Parameters<K, V> parameters) {
+        AbstractCache<K,V> cache = parameters.isBounded() ? new BoundedCache<>(parameters) : new DefaultCache<>(parameters);
+        Optional<File> root = parameters.isStoredOnDisk() || parameters.isWarmStarted() ?
+                StorageService.create().flatMap(StorageService::getPrivateStorage) : Optional.empty();
+        if (parameters.isStoredOnDisk()) {
+            if (root.isPresent()) {
+                File directory = new File(new File(root.get(), CACHE_DIRECTORY), toFileName(name));
+                try {
+                    DiskStore<K> disk = new DiskStore<>(directory, parameters.getDiskMaximumSize(),
+                            parameters.getKeySerializer());
+                    cache = new TieredCache<>(cache, disk, parameters);
+                } catch (IOException e) {
+                    LOG.log(Level.WARNING, "Error opening cache directory " + directory + ", cache " + name + " is kept in memory", e);
+                }
+            } else {
+                LOG.warning("Private storage not available, cache " + name + " is kept in memory");
+            }
+        }
+        if (parameters.isWarmStarted()) {
+            if (root.isPresent()) {
+                File file = new File(new File(root.get(), CACHE_DIRECTORY), toFileName(name) + ".snapshot");
+                WarmStart<K, V> warmStart = new WarmStart<>(name, cache, parameters, file);
+                warmStarts.put(name, warmStart);
+                warmStart.start();
+                if (savingSnapshots.compareAndSet(false, true)) {
+                    LifecycleService.create().ifPresent(service ->
+                            service.addListener(LifecycleEvent.PAUSE, DefaultCacheService::saveSnapshots));
+                    // the desktop application is never paused
+                    Runtime.getRuntime().addShutdownHook(new Thread(DefaultCacheService::saveSnapshots, "Attach-CacheSnapshot"));
+                }
+            } else {
+                LOG.warning("Private storage not available, cache " + name + " is not warm started");
+            }
+        }
+        return new NamedCache<>(cache, parameters);
+    }
+
+    private static void saveSnapshots() {
+        warmStarts.values().forEach(WarmStart::save);
+    }
+
+    private static void checkParameters(String cacheName, NamedCache<?, ?> answer, Parameters<?, ?> parameters) {
+        if (!parameters.equals(answer.parameters)) {
+            LOG.warning("Cache " + cacheName + " already exists with " + answer.parameters + ", ignoring " + parameters);
+        }
+    }
+
+    private static String toFileName(String name) {
+        StringBuilder fileName = new StringBuilder();
+        for (char c : name.toCharArray()) {
+            fileName.append(Character.isLetterOrDigit(c) || c == '-' || c == '.' ? c : '_');
+        }
+        // the hash keeps names that only differ in replaced characters apart
+        return fileName.append('-').append(Integer.toHexString(name.hashCode())).toString();
+    }
+
+    static final class NamedCache<K, V> {
+        // a Cache, LongCache or IntCache
+        final Object cache;
+        final Parameters<K, V> parameters;
+
+        NamedCache(Object cache, Parameters<K, V> parameters) {
+            this.cache = cache;
+            this.parameters = parameters;
+        }
+
+        <C> C getCache(String cacheName, Class<C> type) {
+            if (!type.isInstance(cache)) {
+                throw new IllegalArgumentException("Cache " + cacheName + " already exists, and it is not a " + type.getSimpleName() + " instance");
+            }
+            return type.cast(cache);
+        }
+
+        CacheStats getStats() {
+            if (cache instanceof LongCache) {
+                return ((LongCache<?>) cache).getStats();
+            } else if (cache instanceof IntCache) {
+                return ((IntCache<?>) cache).getStats();
+            }
+            return ((Cache<?, ?>) cache).getStats();
+        }
     }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.CacheStats;
+import com.gluonhq.attach.cache.IntCache;
+import com.gluonhq.attach.cache.Parameters;
+import com.gluonhq.attach.cache.Weigher;
+
+import java.util.function.IntFunction;
+
+/**
+ * A {@link IntCache} that stores its keys in an open-addressing table, see {@link PrimitiveKeyCache}.
+ *
+ * @param <V> type for the value
+ */
+public class DefaultIntCache<V> extends PrimitiveKeyCache<V, IntFunction<? extends V>> implements IntCache<V> {
+
+    private final Weigher<? super Integer, ? super V> weigher;
+
+    public DefaultIntCache(Parameters<Integer, V> parameters) {
+        super(parameters);
+        this.weigher = parameters.getWeigher();
+    }
+
+    @Override
+    public V get(int key) {
+        return getValue(key);
+    }
+
+    @Override
+    public V get(int key, IntFunction<? extends V> loader) {
+        return getValue(key, loader);
+    }
+
+    @Override
+    public void put(int key, V value) {
+        putValue(key, value);
+    }
+
+    @Override
+    public boolean remove(int key) {
+        return removeValue(key);
+    }
+
+    @Override
+    public void removeAll() {
+        removeAllValues();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return getCacheStats();
+    }
+
+    @Override
+    V load(IntFunction<? extends V> loader, long key) {
+        return loader.apply((int) key);
+    }
+
+    @Override
+    long weigh(long key, V value) {
+        return weigher.weigh((int) key, value);
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.Serializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * The disk tier of a cache. Entries are appended to segment files, and an
+ * index in memory maps each key to the location of its latest record. The
+ * index is rebuilt when the store is opened, by reading the record headers
+ * and keys of the segments, from the oldest to the newest.
+ *
+ * <p>A record is a header with the length of the key, the length of the value,
+ * or -1 if the key was removed, the write time and a CRC32 checksum of the key
+ * and the value, followed by the key and the value. A record that was not
+ * completely written, because the application was killed, ends its segment.</p>
+ *
+ * <p>When the segments exceed the maximum size, the oldest segment is deleted
+ * with all its records. Values are not compacted: records that were overwritten
+ * or removed only take space until their segment is deleted.</p>
+ *
+ * @param <K> type for the key
+ */
+final class DiskStore<K> {
+
+    private static final Logger LOG = Logger.getLogger(DiskStore.class.getName());
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.dat");
+    // key length, value length, write time, checksum
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+    private static final int REMOVED = -1;
+    private static final long MINIMUM_SEGMENT_SIZE = 64 * 1024;
+
+    /**
+     * A value read from disk, with the time it was written, in milliseconds since the epoch.
+     */
+    static final class Value {
+        final byte[] data;
+        final long writeTime;
+
+        Value(byte[] data, long writeTime) {
+            this.data = data;
+            this.writeTime = writeTime;
+        }
+    }
+
+    private final File directory;
+    private final long maximumSize;
+    private final long segmentSize;
+    private final Serializer<K> keySerializer;
+
+    private final Map<K, Location> index = new HashMap<>();
+    private final Deque<Segment<K>> segments = new ArrayDeque<>();
+    private long size;
+
+    DiskStore(File directory, long maximumSize, Serializer<K> keySerializer) throws IOException {
+        this.directory = directory;
+        this.maximumSize = maximumSize;
+        // at least 8 segments, so deleting the oldest one doesn't empty the store
+        this.segmentSize = Math.max(Math.min(MINIMUM_SEGMENT_SIZE, maximumSize), maximumSize / 8);
+        this.keySerializer = keySerializer;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Error creating cache directory " + directory);
+        }
+        open();
+    }
+
+    synchronized Value get(K key) {
+        Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(location.keyLength + location.valueLength);
+            read(location.segment.channel, buffer, location.offset + HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array());
+            if ((int) crc.getValue() != location.checksum) {
+                LOG.warning("Invalid cache record in " + location.segment.file);
+                index.remove(key);
+                return null;
+            }
+            byte[] data = Arrays.copyOfRange(buffer.array(), location.keyLength, buffer.capacity());
+            return new Value(data, location.writeTime);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Error reading cache record in " + location.segment.file, e);
+            index.remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * @return the time the value of the key was written, or -1 if there is no value
+     */
+    synchronized long getWriteTime(K key) {
+        Location location = index.get(key);
+        return location == null ? -1 : location.writeTime;
+    }
+
+    synchronized void put(K key, byte[] value, long writeTime) throws IOException {
+        byte[] keyData = keySerializer.serialize(key);
+        if (HEADER_SIZE + keyData.length + value.length > maximumSize) {
+            remove(key);
+            return;
+        }
+        Location location = append(key, keyData, value, writeTime);
+        index.put(key, location);
+        evict();
+    }
+
+    synchronized void remove(K key) throws IOException {
+        if (index.remove(key) != null) {
+            append(key, keySerializer.serialize(key), null, System.currentTimeMillis());
+        }
+    }
+
+    synchronized void clear() throws IOException {
+        index.clear();
+        while (!segments.isEmpty()) {
+            delete(segments.removeFirst());
+        }
+        size = 0;
+    }
+
+    synchronized int size() {
+        return index.size();
+    }
+
+    private void open() throws IOException {
+        File[] files = directory.listFiles();
+        List<Integer> ids = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getName());
+                if (matcher.matches()) {
+                    ids.add(Integer.parseInt(matcher.group(1)));
+                }
+            }
+        }
+        ids.sort(null);
+        for (int id : ids) {
+            Segment<K> segment = new Segment<>(id, new File(directory, "segment-" + id + ".dat"));
+            segments.addLast(segment);
+            scan(segment);
+            size += segment.size;
+        }
+        evict();
+    }
+
+    private void scan(Segment<K> segment) throws IOException {
+        long length = segment.channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        long offset = 0;
+        while (offset + HEADER_SIZE <= length) {
+            header.clear();
+            read(segment.channel, header, offset);
+            header.flip();
+            int keyLength = header.getInt();
+            int valueLength = header.getInt();
+            long writeTime = header.getLong();
+            int checksum = header.getInt();
+            long end = offset + HEADER_SIZE + keyLength + Math.max(valueLength, 0);
+            if (keyLength <= 0 || valueLength < REMOVED || end > length) {
+                break;
+            }
+            ByteBuffer keyData = ByteBuffer.allocate(keyLength);
+            read(segment.channel, keyData, offset + HEADER_SIZE);
+            try {
+                K key = keySerializer.deserialize(keyData.array());
+                if (valueLength == REMOVED) {
+                    index.remove(key);
+                } else {
+                    index.put(key, new Location(segment, offset, keyLength, valueLength, writeTime, checksum));
+                    segment.keys.add(key);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.log(Level.FINE, "Skipping cache record in " + segment.file, e);
+            }
+            offset = end;
+        }
+        if (offset < length) {
+            LOG.fine("Truncating incomplete cache record in " + segment.file);
+            segment.channel.truncate(offset);
+        }
+        segment.size = offset;
+    }
+
+    private Location append(K key, byte[] keyData, byte[] value, long writeTime) throws IOException {
+        int valueLength = value == null ? REMOVED : value.length;
+        int recordSize = HEADER_SIZE + keyData.length + Math.max(valueLength, 0);
+        Segment<K> segment = segments.peekLast();
+        if (segment == null || (segment.size > 0 && segment.size + recordSize > segmentSize)) {
+            int id = segment == null ? 0 : segment.id + 1;
+            segment = new Segment<>(id, new File(directory, "segment-" + id + ".dat"));
+            segments.addLast(segment);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(keyData);
+        if (value != null) {
+            crc.update(value);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(recordSize);
+        buffer.putInt(keyData.length).putInt(valueLength).putLong(writeTime).putInt((int) crc.getValue());
+        buffer.put(keyData);
+        if (value != null) {
+            buffer.put(value);
+        }
+        buffer.flip();
+        long offset = segment.size;
+        while (buffer.hasRemaining()) {
+            segment.channel.write(buffer, offset + buffer.position());
+        }
+        segment.size += recordSize;
+        size += recordSize;
+        if (value != null) {
+            segment.keys.add(key);
+        }
+        return new Location(segment, offset, keyData.length, valueLength, writeTime, (int) crc.getValue());
+    }
+
+    private void evict() throws IOException {
+        while (size > maximumSize && segments.size() > 1) {
+            Segment<K> oldest = segments.removeFirst();
+            for (K key : oldest.keys) {
+                Location location = index.get(key);
+                if (location != null && location.segment == oldest) {
+                    index.remove(key);
+                }
+            }
+            size -= oldest.size;
+            delete(oldest);
+        }
+    }
+
+    private void delete(Segment<K> segment) throws IOException {
+        segment.channel.close();
+        Files.deleteIfExists(segment.file.toPath());
+    }
+
+    private static void read(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+    }
+
+    private static final class Segment<K> {
+        final int id;
+        final File file;
+        final FileChannel channel;
+        // keys written to this segment, to update the index when it is deleted
+        final List<K> keys = new ArrayList<>();
+        long size;
+
+        Segment(int id, File file) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+    }
+
+    private static final class Location {
+        final Segment<?> segment;
+        final long offset;
+        final int keyLength;
+        final int valueLength;
+        final long writeTime;
+        final int checksum;
+
+        Location(Segment<?> segment, long offset, int keyLength, int valueLength, long writeTime, int checksum) {
+            this.segment = segment;
+            this.offset = offset;
+            this.keyLength = keyLength;
+            this.valueLength = valueLength;
+            this.writeTime = writeTime;
+            this.checksum = checksum;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import java.util.Arrays;
+
+/**
+ * A probabilistic estimate of how often keys have been used, for the admission
+ * policy of {@link BoundedCache} and of the bounded primitive key caches.
+ *
+ * <p>This is a count-min sketch with four rows of 4-bit counters, one counter per
+ * byte. A key maps to one counter per row, chosen by double hashing, and its
+ * estimate is the smallest of its four counters. Uses are recorded with a
+ * conservative update: only the counters that hold that smallest value are
+ * incremented, which keeps the other counters from overestimating the keys they
+ * share. Once the number of recorded uses reaches ten times the number of keys,
+ * every counter is halved, so the estimate favours the recent history.</p>
+ */
+final class FrequencySketch {
+
+    private static final int ROWS = 4;
+    private static final int MAXIMUM_COUNT = 15;
+    private static final int MINIMUM_WIDTH = 16;
+    private static final int MAXIMUM_WIDTH = 1 << 24;
+
+    // the rows, one after the other
+    private byte[] counters;
+    private int width;
+    private int additions;
+    private int agingPeriod;
+
+    FrequencySketch() {
+        ensureCapacity(MINIMUM_WIDTH);
+    }
+
+    /**
+     * Grows the sketch, if needed, to estimate the frequency of the given number
+     * of keys. The current counts are discarded when the sketch grows.
+     */
+    void ensureCapacity(long maximumSize) {
+        int keys = (int) Math.min(Math.max(maximumSize, MINIMUM_WIDTH), MAXIMUM_WIDTH);
+        if (counters != null && width >= keys) {
+            return;
+        }
+        // a power of two, so a hash is mapped to a counter with a mask
+        width = Integer.highestOneBit(keys - 1) << 1;
+        counters = new byte[ROWS * width];
+        agingPeriod = 10 * keys;
+        additions = 0;
+    }
+
+    /**
+     * Returns the estimated number of uses of the key, up to 15.
+     */
+    int frequency(Object key) {
+        return frequencyOf(mix(key.hashCode()));
+    }
+
+    /**
+     * Returns the estimated number of uses of a primitive key, without boxing it.
+     */
+    int frequency(long key) {
+        return frequencyOf(mix(key));
+    }
+
+    /**
+     * Records one use of the key.
+     */
+    void increment(Object key) {
+        incrementHash(mix(key.hashCode()));
+    }
+
+    /**
+     * Records one use of a primitive key, without boxing it.
+     */
+    void increment(long key) {
+        incrementHash(mix(key));
+    }
+
+    void clear() {
+        Arrays.fill(counters, (byte) 0);
+        additions = 0;
+    }
+
+    private int frequencyOf(long hash) {
+        int minimum = MAXIMUM_COUNT;
+        for (int row = 0; row < ROWS; row++) {
+            minimum = Math.min(minimum, counters[indexOf(hash, row)]);
+        }
+        return minimum;
+    }
+
+    private void incrementHash(long hash) {
+        int minimum = frequencyOf(hash);
+        if (minimum == MAXIMUM_COUNT) {
+            return;
+        }
+        for (int row = 0; row < ROWS; row++) {
+            int index = indexOf(hash, row);
+            if (counters[index] == minimum) {
+                counters[index]++;
+            }
+        }
+        if (++additions >= agingPeriod) {
+            age();
+        }
+    }
+
+    private void age() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>= 1;
+        }
+        additions /= 2;
+    }
+
+    // the counter of a row: the rows use the two halves of the hash with different weights
+    private int indexOf(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return row * width + ((h1 + row * h2) & (width - 1));
+    }
+
+    // the 64-bit finalizer of MurmurHash3, which is in the public domain, so every bit of the key affects every counter index
+    private static long mix(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * A lossy buffer of the reads of a {@link PrimitiveKeyCache}, like {@link ReadBuffer},
+ * that records the keys as primitives, so recording a read doesn't box the key. A
+ * slot is published by writing its sequence number after the key, so a key that is
+ * not completely written yet is not replayed.
+ */
+final class LongReadBuffer {
+
+    private static final int STRIPE_SIZE = 16;
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+    private static final int MAXIMUM_STRIPES = 64;
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    LongReadBuffer() {
+        int processors = Math.min(Runtime.getRuntime().availableProcessors(), MAXIMUM_STRIPES);
+        int count = processors <= 1 ? 1 : Integer.highestOneBit(processors - 1) << 1;
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        mask = count - 1;
+    }
+
+    /**
+     * Records a key, unless its ring buffer is full.
+     *
+     * @return true if the ring buffer should be drained
+     */
+    boolean offer(long key) {
+        long id = Thread.currentThread().getId();
+        Stripe stripe = stripes[(int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask];
+        return stripe.offer(key);
+    }
+
+    /**
+     * Replays and clears the recorded keys. Must be called by one thread at a time.
+     */
+    void drainTo(LongConsumer consumer) {
+        for (Stripe stripe : stripes) {
+            stripe.drainTo(consumer);
+        }
+    }
+
+    private static final class Stripe {
+        private final AtomicLongArray keys = new AtomicLongArray(STRIPE_SIZE);
+        // the sequence number + 1 of the key in each slot, once it is written
+        private final AtomicLongArray published = new AtomicLongArray(STRIPE_SIZE);
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head;
+
+        boolean offer(long key) {
+            long h = head;
+            long t = tail.get();
+            long size = t - h;
+            if (size >= STRIPE_SIZE) {
+                return true;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                int index = (int) t & STRIPE_MASK;
+                keys.lazySet(index, key);
+                published.lazySet(index, t + 1);
+                return size + 1 >= STRIPE_SIZE / 2;
+            }
+            return false;
+        }
+
+        void drainTo(LongConsumer consumer) {
+            long h = head;
+            long t = tail.get();
+            for (; h < t; h++) {
+                int index = (int) h & STRIPE_MASK;
+                if (published.get(index) != h + 1) {
+                    // not published yet, it will be drained next time
+                    break;
+                }
+                consumer.accept(keys.get(index));
+            }
+            head = h;
+        }
+    }
+}
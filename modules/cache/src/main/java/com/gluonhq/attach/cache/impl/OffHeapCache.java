@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.CacheStats;
+import com.gluonhq.attach.cache.Parameters;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A cache of binary values stored outside of the Java heap. The values are
+ * copied to direct memory arenas, allocated as needed up to the capacity of the
+ * cache, and split with a buddy allocator. The arenas are powers of two, up to
+ * 16 MB, the largest first, that add up to the capacity. When no arena can fit a
+ * new value, the least recently used entries are evicted until one does. The
+ * arenas are released when all the entries are removed.
+ *
+ * <p>Reads return a read-only view of the value in the arena, without copying
+ * it. The view is only valid while the entry is in the cache: once it is removed,
+ * replaced or evicted, its memory can be reused by another value.</p>
+ *
+ * @param <K> type for the key
+ */
+public class OffHeapCache<K> extends AbstractCache<K, ByteBuffer> {
+
+    static final int MAXIMUM_ARENA_SIZE = 16 * 1024 * 1024;
+    private static final int MINIMUM_BLOCK_SIZE = 64;
+
+    private final long capacity;
+    // the sizes of the arenas, the largest first
+    private final int[] arenaSizes;
+    private final List<Arena> arenas = new ArrayList<>();
+    // access ordered, the least recently used entry first
+    private final Map<K, Slot> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long evictionCount;
+    private long usedBytes;
+
+    public OffHeapCache(long capacity) {
+        this(capacity, new Parameters<>());
+    }
+
+    /**
+     * @param capacity the maximum amount of direct memory used by this cache, in bytes
+     * @param parameters the parameters of the cache, which can only enable statistics
+     */
+    public OffHeapCache(long capacity, Parameters<K, ByteBuffer> parameters) {
+        super(parameters);
+        Parameters<K, ByteBuffer> supported = new Parameters<>();
+        if (!parameters.equals(parameters.isRecordingStatistics() ? supported.withStatistics() : supported)) {
+            throw new IllegalArgumentException("Off-heap caches only support statistics: " + parameters);
+        }
+        if (capacity < MINIMUM_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Capacity should be at least " + MINIMUM_BLOCK_SIZE + ": " + capacity);
+        }
+        this.capacity = capacity;
+        // less than the minimum block size of the capacity is not used
+        List<Integer> sizes = new ArrayList<>();
+        for (long remaining = capacity; remaining >= MINIMUM_BLOCK_SIZE; ) {
+            int size = (int) Math.min(MAXIMUM_ARENA_SIZE, Long.highestOneBit(remaining));
+            sizes.add(size);
+            remaining -= size;
+        }
+        this.arenaSizes = sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return the maximum amount of direct memory used by this cache, in bytes
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    ByteBuffer getIfPresent(K key) {
+        if (key == null) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Slot slot = map.get(key);
+            return slot == null ? null : slot.view.duplicate();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the remaining bytes of the value to direct memory. The position of
+     * the value is not changed. Values larger than the largest arena, which is the
+     * capacity rounded down to a power of two, up to 16 MB, are not cached.
+     */
+    @Override
+    public void put(K key, ByteBuffer value) {
+        if (key == null) {
+            throw new NullPointerException ("Cache key should not be null");
+        }
+        if (value == null) {
+            throw new NullPointerException ("Cache value should not be null");
+        }
+        int length = value.remaining();
+        lock.lock();
+        try {
+            Slot old = map.remove(key);
+            if (old != null) {
+                free(old);
+            }
+            if (length > arenaSizes[0]) {
+                return;
+            }
+            int blockSize = blockSizeOf(length);
+            Slot slot = allocate(blockSize, length);
+            while (slot == null) {
+                Iterator<Slot> eldest = map.values().iterator();
+                if (!eldest.hasNext()) {
+                    return;
+                }
+                Slot victim = eldest.next();
+                eldest.remove();
+                free(victim);
+                evictionCount++;
+                slot = allocate(blockSize, length);
+            }
+            ByteBuffer target = slot.arena.buffer.duplicate();
+            target.position(slot.offset);
+            target.put(value.duplicate());
+            map.put(key, slot);
+            usedBytes += length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(K key) {
+        if (key == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            Slot slot = map.remove(key);
+            if (slot == null) {
+                return false;
+            }
+            free(slot);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the entries, and releases the arenas, so their direct memory
+     * can be reclaimed once the views returned by the cache are not used anymore.
+     */
+    @Override
+    public void removeAll() {
+        lock.lock();
+        try {
+            map.clear();
+            arenas.clear();
+            usedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        lock.lock();
+        try {
+            return getStats(evictionCount, 0, 0, map.size(), usedBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    boolean isRefreshNeeded(K key) {
+        return false;
+    }
+
+    private void free(Slot slot) {
+        slot.arena.free(slot.id);
+        usedBytes -= slot.view.capacity();
+    }
+
+    private Slot allocate(int blockSize, int length) {
+        for (Arena arena : arenas) {
+            Slot slot = arena.allocate(blockSize, length);
+            if (slot != null) {
+                return slot;
+            }
+        }
+        while (arenas.size() < arenaSizes.length) {
+            Arena arena = new Arena(arenaSizes[arenas.size()]);
+            arenas.add(arena);
+            Slot slot = arena.allocate(blockSize, length);
+            if (slot != null) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    // the size of the smallest block that fits the length
+    private static int blockSizeOf(int length) {
+        return Math.max(MINIMUM_BLOCK_SIZE, length <= 1 ? 1 : Integer.highestOneBit(length - 1) << 1);
+    }
+
+    /**
+     * A buddy allocator over a direct buffer. The blocks form a complete binary
+     * tree, where the root is the whole arena, and each node holds the depth of
+     * the largest free block in its subtree, or {@code maximumDepth + 1} if it is
+     * fully allocated.
+     */
+    private static final class Arena {
+        final ByteBuffer buffer;
+        private final int size;
+        private final int maximumDepth;
+        private final byte[] tree;
+
+        Arena(int size) {
+            this.buffer = ByteBuffer.allocateDirect(size);
+            this.size = size;
+            this.maximumDepth = Integer.numberOfTrailingZeros(size / MINIMUM_BLOCK_SIZE);
+            this.tree = new byte[2 << maximumDepth];
+            for (int id = 1; id < tree.length; id++) {
+                tree[id] = (byte) depth(id);
+            }
+        }
+
+        Slot allocate(int blockSize, int length) {
+            if (blockSize > size) {
+                return null;
+            }
+            // the depth of the blocks of that size in the tree
+            int depth = Integer.numberOfTrailingZeros(size) - Integer.numberOfTrailingZeros(blockSize);
+            if (tree[1] > depth) {
+                return null;
+            }
+            int id = 1;
+            while (depth(id) < depth) {
+                id <<= 1;
+                if (tree[id] > depth) {
+                    // the buddy has a free block of this depth
+                    id ^= 1;
+                }
+            }
+            tree[id] = (byte) (maximumDepth + 1);
+            update(id);
+            int offset = (id - (1 << depth)) * (size >> depth);
+            return new Slot(this, id, offset, length);
+        }
+
+        void free(int id) {
+            tree[id] = (byte) depth(id);
+            update(id);
+        }
+
+        private void update(int id) {
+            while (id > 1) {
+                int parent = id >>> 1;
+                int left = tree[parent << 1];
+                int right = tree[(parent << 1) | 1];
+                int childDepth = depth(parent) + 1;
+                // two free buddies merge into their parent
+                tree[parent] = (byte) (left == childDepth && right == childDepth ? childDepth - 1 : Math.min(left, right));
+                id = parent;
+            }
+        }
+
+        private static int depth(int id) {
+            return 31 - Integer.numberOfLeadingZeros(id);
+        }
+    }
+
+    private static final class Slot {
+        final Arena arena;
+        final int id;
+        final int offset;
+        final ByteBuffer view;
+
+        Slot(Arena arena, int id, int offset, int length) {
+            this.arena = arena;
+            this.id = id;
+            this.offset = offset;
+            ByteBuffer view = arena.buffer.duplicate();
+            view.position(offset);
+            view.limit(offset + length);
+            this.view = view.slice().asReadOnlyBuffer();
+        }
+    }
+}
@@ -0,0 +1,810 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.CacheStats;
+import com.gluonhq.attach.cache.Parameters;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongConsumer;
+
+/**
+ * The common implementation of {@link DefaultLongCache} and {@link DefaultIntCache}.
+ *
+ * <p>Entries are stored in parallel arrays, indexed by an entry id, and found with
+ * an open-addressing table of entry ids, with linear probing and backward shift
+ * deletion. Reads don't box the key or allocate. Like {@link DefaultCache}, an
+ * unbounded cache holds its values with soft references. Like {@link BoundedCache},
+ * a bounded cache evicts with W-TinyLFU: its window, probation and protected LRU
+ * queues are linked through arrays of entry ids. Expired entries are removed when
+ * they are read, and a few entries are checked on every write.</p>
+ *
+ * <p>Writes hold the cache lock. Reads are optimistic: they search the arrays without
+ * the lock and then validate its stamp, and only take the lock if a write raced them,
+ * or to remove an entry that expired or was reclaimed. Like {@link BoundedCache}, a
+ * bounded cache records the reads in a buffer, and replays them into its policy when
+ * it holds the lock.</p>
+ *
+ * @param <V> type for the value
+ * @param <F> type for the loader, so the subclasses don't adapt it on every load
+ */
+abstract class PrimitiveKeyCache<V, F> {
+
+    private static final byte FREE = -1;
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    // entries checked for expiry on every write
+    private static final int SWEEP_SIZE = 2;
+    // returned by an optimistic read that has to be done again with the lock
+    private static final Object RETRY = new Object();
+    private static final VarHandle ACCESS_TIMES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final boolean bounded;
+    private final boolean weighted;
+    private final long maximum;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final FrequencySketch sketch;
+    private final ReferenceQueue<V> queue;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final StampedLock lock = new StampedLock();
+    private final LongReadBuffer readBuffer;
+    private final LongConsumer onRead = this::replay;
+
+    // entries, by id
+    private long[] keys;
+    private Object[] values;
+    private byte[] states;
+    private long[] weights;
+    private int[] prev;
+    private int[] next;
+    private long[] writeTimes;
+    private long[] accessTimes;
+    private int freeHead;
+    private int used;
+    private int size;
+
+    // entry ids + 1, 0 for empty slots
+    private int[] table;
+    private int mask;
+
+    private final int[] heads = new int[3];
+    private final int[] tails = new int[3];
+    private long windowWeight;
+    private long protectedWeight;
+    private long weight;
+    private int sweep;
+
+    // the loads in progress, by key
+    private long[] loadingKeys = new long[4];
+    private Object[] loadingFutures = new Object[4];
+    private int loadingCount;
+
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+    private final LongAdder loadSuccessCount;
+    private final LongAdder loadFailureCount;
+    private final LongAdder totalLoadTime;
+    private long evictionCount;
+    private long expiredCount;
+    private long reclaimedCount;
+
+    PrimitiveKeyCache(Parameters<?, V> parameters) {
+        if (parameters.getRefreshAfterWrite() != null || parameters.isStoredOnDisk() || parameters.isWarmStarted()) {
+            throw new IllegalArgumentException("Refresh, disk storage and warm start are not supported by primitive key caches: " + parameters);
+        }
+        if (parameters.getMaximumWeight() != Parameters.UNBOUNDED) {
+            maximum = parameters.getMaximumWeight();
+            weighted = true;
+        } else {
+            maximum = parameters.getMaximumSize();
+            weighted = false;
+        }
+        bounded = parameters.isBounded();
+        windowMaximum = Math.max(1, maximum / 100);
+        protectedMaximum = (maximum - windowMaximum) * 4 / 5;
+        sketch = bounded ? new FrequencySketch() : null;
+        if (bounded && !weighted) {
+            sketch.ensureCapacity(maximum);
+        }
+        readBuffer = bounded ? new LongReadBuffer() : null;
+        queue = bounded ? null : new ReferenceQueue<>();
+        expireAfterWriteNanos = toNanos(parameters.getExpireAfterWrite());
+        expireAfterAccessNanos = toNanos(parameters.getExpireAfterAccess());
+        boolean recordingStatistics = parameters.isRecordingStatistics();
+        hitCount = recordingStatistics ? new LongAdder() : null;
+        missCount = recordingStatistics ? new LongAdder() : null;
+        loadSuccessCount = recordingStatistics ? new LongAdder() : null;
+        loadFailureCount = recordingStatistics ? new LongAdder() : null;
+        totalLoadTime = recordingStatistics ? new LongAdder() : null;
+        init();
+    }
+
+    /**
+     * Returns the weight of an entry. Only called if the cache is bounded by weight.
+     */
+    abstract long weigh(long key, V value);
+
+    /**
+     * Returns the value computed by a loader, or null. Called without the lock.
+     */
+    abstract V load(F loader, long key);
+
+    @SuppressWarnings("unchecked")
+    V getValue(long key) {
+        Object value = readOptimistically(key);
+        if (value == RETRY) {
+            long stamp = lock.writeLock();
+            try {
+                drainReads();
+                value = lookup(key);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        if (hitCount != null) {
+            (value == null ? missCount : hitCount).increment();
+        }
+        return (V) value;
+    }
+
+    V getValue(long key, F loader) {
+        V value = getValue(key);
+        if (value != null) {
+            return value;
+        }
+        Load<V> load;
+        Load<V> existing;
+        long stamp = lock.writeLock();
+        try {
+            // it may have been loaded since the first read
+            value = lookup(key);
+            if (value != null) {
+                return value;
+            }
+            existing = findLoad(key);
+            load = existing == null ? addLoad(key) : null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (existing != null) {
+            if (existing.isLoading()) {
+                // the loader would wait for itself
+                throw new IllegalStateException("Recursive load of cache key " + key);
+            }
+            return existing.await();
+        }
+        try {
+            long start = totalLoadTime != null ? System.nanoTime() : 0;
+            load.startLoading();
+            try {
+                value = load(loader, key);
+            } finally {
+                load.endLoading();
+                recordLoad(start, value != null);
+            }
+            if (value != null) {
+                putValue(key, value);
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            stamp = lock.writeLock();
+            try {
+                removeLoad(load);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    void putValue(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException ("Cache value should not be null");
+        }
+        long stamp = lock.writeLock();
+        try {
+            drainReads();
+            purge();
+            long w = weighted ? weigh(key, value) : 1;
+            if (w < 0) {
+                throw new IllegalArgumentException("Cache weight should not be negative: " + w);
+            }
+            int id = find(key);
+            if (bounded && w > maximum) {
+                // it would evict everything else, and then itself
+                if (id != NONE) {
+                    removeEntry(id);
+                }
+                return;
+            }
+            long now = expires() ? System.nanoTime() : 0;
+            if (id != NONE) {
+                values[id] = bounded ? value : new KeyedReference<>(key, value, queue);
+                if (bounded) {
+                    setWeight(id, w);
+                    onAccess(id);
+                }
+            } else {
+                id = allocate();
+                keys[id] = key;
+                values[id] = bounded ? value : new KeyedReference<>(key, value, queue);
+                states[id] = WINDOW;
+                insert(id);
+                size++;
+                if (bounded) {
+                    weights[id] = w;
+                    addLast(WINDOW, id);
+                    windowWeight += w;
+                    weight += w;
+                    sketch.ensureCapacity(size);
+                }
+            }
+            if (writeTimes != null) {
+                writeTimes[id] = now;
+                accessTimes[id] = now;
+            }
+            if (bounded) {
+                sketch.increment(key);
+                evict();
+            }
+            if (writeTimes != null) {
+                sweep(now);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    boolean removeValue(long key) {
+        long stamp = lock.writeLock();
+        try {
+            drainReads();
+            purge();
+            int id = find(key);
+            if (id == NONE) {
+                return false;
+            }
+            removeEntry(id);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void removeAllValues() {
+        long stamp = lock.writeLock();
+        try {
+            drainReads();
+            init();
+            if (sketch != null) {
+                sketch.clear();
+            }
+            if (queue != null) {
+                // drop the references of the removed values
+                while (queue.poll() != null) { }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    CacheStats getCacheStats() {
+        long stamp = lock.writeLock();
+        try {
+            purge();
+            if (hitCount == null) {
+                return new CacheStats(0, 0, 0, 0, 0, evictionCount, expiredCount, reclaimedCount,
+                        size, bounded ? weight : size);
+            }
+            return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+                    totalLoadTime.sum(), evictionCount, expiredCount, reclaimedCount, size, bounded ? weight : size);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void recordLoad(long start, boolean success) {
+        if (totalLoadTime != null) {
+            totalLoadTime.add(System.nanoTime() - start);
+            (success ? loadSuccessCount : loadFailureCount).increment();
+        }
+    }
+
+    /**
+     * Reads an entry without the lock. The fields are copied first, as a write may
+     * replace them, and the arrays may be of different sizes until the stamp is
+     * validated. Returns {@link #RETRY} if a write raced the read, or if the entry
+     * has to be removed.
+     */
+    @SuppressWarnings("unchecked")
+    private Object readOptimistically(long key) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp == 0) {
+            return RETRY;
+        }
+        int[] table = this.table;
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        long[] writeTimes = this.writeTimes;
+        long[] accessTimes = this.accessTimes;
+        int mask = table.length - 1;
+        int index = hash(key) & mask;
+        int id = NONE;
+        for (int probes = 0; probes <= mask; probes++) {
+            int e = table[index];
+            if (e == 0) {
+                break;
+            }
+            if (e <= keys.length && keys[e - 1] == key) {
+                id = e - 1;
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+        Object stored = null;
+        long writeTime = 0;
+        long accessTime = 0;
+        if (id != NONE) {
+            if (id >= values.length || writeTimes != null && (id >= writeTimes.length || id >= accessTimes.length)) {
+                return RETRY;
+            }
+            stored = values[id];
+            if (writeTimes != null) {
+                writeTime = writeTimes[id];
+                accessTime = accessTimes[id];
+            }
+        }
+        if (!lock.validate(stamp)) {
+            return RETRY;
+        }
+        if (id == NONE) {
+            return null;
+        }
+        V value = bounded ? (V) stored : ((KeyedReference<V>) stored).get();
+        if (value == null) {
+            return RETRY;
+        }
+        if (writeTimes != null) {
+            long now = System.nanoTime();
+            if (getDeadline(writeTime, accessTime) - now <= 0) {
+                return RETRY;
+            }
+            if (expireAfterAccessNanos > 0) {
+                // fails if the entry was replaced since, and then so does the validation
+                ACCESS_TIMES.compareAndSet(accessTimes, id, accessTime, now);
+                if (!lock.validate(stamp)) {
+                    return RETRY;
+                }
+            }
+        }
+        if (bounded && readBuffer.offer(key)) {
+            stamp = lock.tryWriteLock();
+            if (stamp != 0) {
+                try {
+                    drainReads();
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+            }
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V lookup(long key) {
+        purge();
+        int id = find(key);
+        if (id == NONE) {
+            return null;
+        }
+        V value = bounded ? (V) values[id] : ((KeyedReference<V>) values[id]).get();
+        if (value == null) {
+            // cleared, but not enqueued yet
+            removeEntry(id);
+            reclaimedCount++;
+            return null;
+        }
+        if (writeTimes != null) {
+            long now = System.nanoTime();
+            if (getDeadline(id) - now <= 0) {
+                removeEntry(id);
+                expiredCount++;
+                return null;
+            }
+            accessTimes[id] = now;
+        }
+        if (bounded) {
+            sketch.increment(key);
+            onAccess(id);
+        }
+        return value;
+    }
+
+    private void drainReads() {
+        if (readBuffer != null) {
+            readBuffer.drainTo(onRead);
+        }
+    }
+
+    // the key may have been removed since it was read
+    private void replay(long key) {
+        int id = find(key);
+        if (id != NONE) {
+            sketch.increment(key);
+            onAccess(id);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Load<V> findLoad(long key) {
+        for (int i = 0; i < loadingCount; i++) {
+            if (loadingKeys[i] == key) {
+                return (Load<V>) loadingFutures[i];
+            }
+        }
+        return null;
+    }
+
+    private Load<V> addLoad(long key) {
+        if (loadingCount == loadingKeys.length) {
+            loadingKeys = Arrays.copyOf(loadingKeys, loadingCount * 2);
+            loadingFutures = Arrays.copyOf(loadingFutures, loadingCount * 2);
+        }
+        Load<V> load = new Load<>();
+        loadingKeys[loadingCount] = key;
+        loadingFutures[loadingCount] = load;
+        loadingCount++;
+        return load;
+    }
+
+    private void removeLoad(Load<V> load) {
+        for (int i = 0; i < loadingCount; i++) {
+            if (loadingFutures[i] == load) {
+                loadingCount--;
+                loadingKeys[i] = loadingKeys[loadingCount];
+                loadingFutures[i] = loadingFutures[loadingCount];
+                loadingFutures[loadingCount] = null;
+                return;
+            }
+        }
+    }
+
+    private void init() {
+        keys = new long[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+        states = new byte[INITIAL_CAPACITY];
+        Arrays.fill(states, FREE);
+        next = new int[INITIAL_CAPACITY];
+        if (bounded) {
+            weights = new long[INITIAL_CAPACITY];
+            prev = new int[INITIAL_CAPACITY];
+        }
+        if (expires()) {
+            writeTimes = new long[INITIAL_CAPACITY];
+            accessTimes = new long[INITIAL_CAPACITY];
+        }
+        freeHead = NONE;
+        used = 0;
+        size = 0;
+        table = new int[2 * INITIAL_CAPACITY];
+        mask = table.length - 1;
+        Arrays.fill(heads, NONE);
+        Arrays.fill(tails, NONE);
+        windowWeight = 0;
+        protectedWeight = 0;
+        weight = 0;
+        sweep = 0;
+    }
+
+    private boolean expires() {
+        return expireAfterWriteNanos > 0 || expireAfterAccessNanos > 0;
+    }
+
+    private long getDeadline(int id) {
+        return getDeadline(writeTimes[id], accessTimes[id]);
+    }
+
+    private long getDeadline(long writeTime, long accessTime) {
+        if (expireAfterWriteNanos == 0) {
+            return accessTime + expireAfterAccessNanos;
+        } else if (expireAfterAccessNanos == 0) {
+            return writeTime + expireAfterWriteNanos;
+        }
+        long afterWrite = writeTime + expireAfterWriteNanos;
+        long afterAccess = accessTime + expireAfterAccessNanos;
+        return afterWrite - afterAccess < 0 ? afterWrite : afterAccess;
+    }
+
+    // checks the next few entries, so expired entries that are not read are removed over time
+    private void sweep(long now) {
+        for (int i = 0; i < SWEEP_SIZE && used > 0; i++) {
+            sweep = sweep + 1 < used ? sweep + 1 : 0;
+            if (states[sweep] != FREE && getDeadline(sweep) - now <= 0) {
+                removeEntry(sweep);
+                expiredCount++;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void purge() {
+        if (queue == null) {
+            return;
+        }
+        Reference<? extends V> ref;
+        while ((ref = queue.poll()) != null) {
+            int id = find(((KeyedReference<V>) ref).key);
+            // the key may have been removed or put again since
+            if (id != NONE && values[id] == ref) {
+                removeEntry(id);
+                reclaimedCount++;
+            }
+        }
+    }
+
+    // the table is grown first, as a rehash only inserts the ids that are in use
+    private int allocate() {
+        if ((size + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        int id;
+        if (freeHead != NONE) {
+            id = freeHead;
+            freeHead = next[id];
+        } else {
+            if (used == keys.length) {
+                grow();
+            }
+            id = used++;
+        }
+        return id;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        states = Arrays.copyOf(states, capacity);
+        Arrays.fill(states, capacity / 2, capacity, FREE);
+        next = Arrays.copyOf(next, capacity);
+        if (bounded) {
+            weights = Arrays.copyOf(weights, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+        }
+        if (writeTimes != null) {
+            writeTimes = Arrays.copyOf(writeTimes, capacity);
+            accessTimes = Arrays.copyOf(accessTimes, capacity);
+        }
+    }
+
+    private void removeEntry(int id) {
+        delete(id);
+        if (bounded) {
+            byte state = states[id];
+            unlink(state, id);
+            if (state == WINDOW) {
+                windowWeight -= weights[id];
+            } else if (state == PROTECTED) {
+                protectedWeight -= weights[id];
+            }
+            weight -= weights[id];
+        }
+        keys[id] = 0;
+        values[id] = null;
+        states[id] = FREE;
+        next[id] = freeHead;
+        freeHead = id;
+        size--;
+    }
+
+    // open-addressing table
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int find(long key) {
+        int index = hash(key) & mask;
+        int e;
+        while ((e = table[index]) != 0) {
+            if (keys[e - 1] == key) {
+                return e - 1;
+            }
+            index = (index + 1) & mask;
+        }
+        return NONE;
+    }
+
+    private void insert(int id) {
+        int index = hash(keys[id]) & mask;
+        while (table[index] != 0) {
+            index = (index + 1) & mask;
+        }
+        table[index] = id + 1;
+    }
+
+    private void delete(int id) {
+        int i = hash(keys[id]) & mask;
+        while (table[i] != id + 1) {
+            i = (i + 1) & mask;
+        }
+        table[i] = 0;
+        // moves back the entries that can't be found anymore, until an empty slot
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int e = table[j];
+            if (e == 0) {
+                return;
+            }
+            int k = hash(keys[e - 1]) & mask;
+            boolean reachable = i <= j ? (i < k && k <= j) : (i < k || k <= j);
+            if (!reachable) {
+                table[i] = e;
+                table[j] = 0;
+                i = j;
+            }
+        }
+    }
+
+    private void rehash(int length) {
+        table = new int[length];
+        mask = length - 1;
+        for (int id = 0; id < used; id++) {
+            if (states[id] != FREE) {
+                insert(id);
+            }
+        }
+    }
+
+    // W-TinyLFU policy, as in BoundedCache
+
+    private void setWeight(int id, long w) {
+        long delta = w - weights[id];
+        weights[id] = w;
+        weight += delta;
+        if (states[id] == WINDOW) {
+            windowWeight += delta;
+        } else if (states[id] == PROTECTED) {
+            protectedWeight += delta;
+        }
+    }
+
+    private void onAccess(int id) {
+        switch (states[id]) {
+            case WINDOW:
+                moveToEnd(WINDOW, id);
+                break;
+            case PROBATION:
+                unlink(PROBATION, id);
+                addLast(PROTECTED, id);
+                protectedWeight += weights[id];
+                demote();
+                break;
+            default:
+                moveToEnd(PROTECTED, id);
+                break;
+        }
+    }
+
+    private void demote() {
+        while (protectedWeight > protectedMaximum && heads[PROTECTED] != NONE) {
+            int id = heads[PROTECTED];
+            unlink(PROTECTED, id);
+            protectedWeight -= weights[id];
+            addLast(PROBATION, id);
+        }
+    }
+
+    private void evict() {
+        while (windowWeight > windowMaximum && heads[WINDOW] != NONE) {
+            int id = heads[WINDOW];
+            unlink(WINDOW, id);
+            windowWeight -= weights[id];
+            addLast(PROBATION, id);
+        }
+        while (weight > maximum) {
+            int victim = heads[PROBATION];
+            if (victim == NONE) {
+                victim = heads[PROTECTED] != NONE ? heads[PROTECTED] : heads[WINDOW];
+            } else {
+                // the candidate is only admitted if it is used more often than the victim
+                int candidate = tails[PROBATION];
+                if (sketch.frequency(keys[candidate]) <= sketch.frequency(keys[victim])) {
+                    victim = candidate;
+                }
+            }
+            removeEntry(victim);
+            evictionCount++;
+        }
+    }
+
+    private void addLast(byte queue, int id) {
+        states[id] = queue;
+        prev[id] = tails[queue];
+        next[id] = NONE;
+        if (tails[queue] == NONE) {
+            heads[queue] = id;
+        } else {
+            next[tails[queue]] = id;
+        }
+        tails[queue] = id;
+    }
+
+    private void unlink(byte queue, int id) {
+        int p = prev[id];
+        int n = next[id];
+        if (p == NONE) {
+            heads[queue] = n;
+        } else {
+            next[p] = n;
+        }
+        if (n == NONE) {
+            tails[queue] = p;
+        } else {
+            prev[n] = p;
+        }
+    }
+
+    private void moveToEnd(byte queue, int id) {
+        if (tails[queue] != id) {
+            unlink(queue, id);
+            addLast(queue, id);
+        }
+    }
+
+    private static long toNanos(Duration duration) {
+        return duration == null ? 0 : duration.toNanos();
+    }
+
+    private static final class KeyedReference<V> extends SoftReference<V> {
+        final long key;
+
+        KeyedReference(long key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A lossy buffer of the reads of a {@link BoundedCache}, so readers don't need to
+ * take the cache lock to update its eviction policy. Reads are recorded in one of
+ * several small ring buffers, selected by thread, and replayed when the lock is
+ * taken. When a ring buffer is full, or another thread is recording a read on the
+ * same ring buffer, the read is dropped: the policy only needs a sample.
+ *
+ * @param <E> type for the elements
+ */
+final class ReadBuffer<E> {
+
+    private static final int STRIPE_SIZE = 16;
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+    private static final int MAXIMUM_STRIPES = 64;
+
+    private final Stripe<E>[] stripes;
+    private final int mask;
+
+    ReadBuffer() {
+        int processors = Math.min(Runtime.getRuntime().availableProcessors(), MAXIMUM_STRIPES);
+        int count = processors <= 1 ? 1 : Integer.highestOneBit(processors - 1) << 1;
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        Stripe<E>[] array = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            array[i] = new Stripe<>();
+        }
+        stripes = array;
+        mask = count - 1;
+    }
+
+    /**
+     * Records an element, unless its ring buffer is full.
+     *
+     * @return true if the ring buffer should be drained
+     */
+    boolean offer(E e) {
+        long id = Thread.currentThread().getId();
+        Stripe<E> stripe = stripes[(int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask];
+        return stripe.offer(e);
+    }
+
+    /**
+     * Replays and clears the recorded elements. Must be called by one thread at a time.
+     */
+    void drainTo(Consumer<E> consumer) {
+        for (Stripe<E> stripe : stripes) {
+            stripe.drainTo(consumer);
+        }
+    }
+
+    private static final class Stripe<E> {
+        private final AtomicReferenceArray<E> slots = new AtomicReferenceArray<>(STRIPE_SIZE);
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head;
+
+        boolean offer(E e) {
+            long h = head;
+            long t = tail.get();
+            long size = t - h;
+            if (size >= STRIPE_SIZE) {
+                return true;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.lazySet((int) t & STRIPE_MASK, e);
+                return size + 1 >= STRIPE_SIZE / 2;
+            }
+            return false;
+        }
+
+        void drainTo(Consumer<E> consumer) {
+            long h = head;
+            long t = tail.get();
+            for (; h < t; h++) {
+                int index = (int) h & STRIPE_MASK;
+                E e = slots.get(index);
+                if (e == null) {
+                    // not published yet, it will be drained next time
+                    break;
+                }
+                slots.lazySet(index, null);
+                consumer.accept(e);
+            }
+            head = h;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.CacheStats;
+import com.gluonhq.attach.cache.Parameters;
+import com.gluonhq.attach.cache.Serializer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A cache with a memory tier in front of a {@link DiskStore}. Values that are not
+ * in memory are read from disk and put in memory again. Writes and removals are
+ * applied to disk in the background, in order, and the values not written yet are
+ * kept in a pending map that reads check first. Values are not read from disk
+ * while it is being cleared.
+ *
+ * <p>Values read from disk are put in memory with the time they were written,
+ * so they expire after write as they would have if they had stayed in memory.
+ * The entries can't expire after access, as their accesses in memory are not
+ * recorded on disk.</p>
+ *
+ * @param <K> type for the key
+ * @param <V> type for the value
+ */
+public class TieredCache<K, V> extends AbstractCache<K, V> {
+
+    private static final Logger LOG = Logger.getLogger(TieredCache.class.getName());
+
+    // marks a pending removal
+    private static final Object REMOVED = new Object();
+
+    private final AbstractCache<K, V> memory;
+    private final DiskStore<K> disk;
+    private final Serializer<V> valueSerializer;
+    private final long expireAfterWriteMillis;
+    private final Map<K, Object> pending = new ConcurrentHashMap<>();
+    // the number of removeAll() calls, and of the disk clears done since
+    private final AtomicLong clearCount = new AtomicLong();
+    private volatile long clearedCount;
+
+    public TieredCache(AbstractCache<K, V> memory, DiskStore<K> disk, Parameters<K, V> parameters) {
+        super(parameters);
+        if (parameters.getExpireAfterAccess() != null) {
+            throw new IllegalArgumentException("A cache stored on disk can't expire after access");
+        }
+        this.memory = memory;
+        this.disk = disk;
+        this.valueSerializer = parameters.getValueSerializer();
+        Duration expireAfterWrite = parameters.getExpireAfterWrite();
+        this.expireAfterWriteMillis = expireAfterWrite == null ? 0 : expireAfterWrite.toMillis();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    V getIfPresent(K key) {
+        V value = memory.getIfPresent(key);
+        if (value != null || key == null) {
+            return value;
+        }
+        Object write = pending.get(key);
+        if (write != null) {
+            return write == REMOVED ? null : (V) write;
+        }
+        long clears = clearCount.get();
+        if (clears != clearedCount) {
+            // the values on disk are being removed
+            return null;
+        }
+        DiskStore.Value stored = disk.get(key);
+        if (stored == null) {
+            return null;
+        }
+        if (isExpired(stored.writeTime)) {
+            Writer.EXECUTOR.execute(() -> removeFromDisk(key));
+            return null;
+        }
+        try {
+            value = valueSerializer.deserialize(stored.data);
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Error deserializing cache value for key " + key, e);
+            return null;
+        }
+        if (clearCount.get() != clears) {
+            // removed since it was read
+            return null;
+        }
+        // it is already on disk
+        memory.restore(key, value, stored.writeTime, System.currentTimeMillis());
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        // the time of the put, not of the write to disk, so it expires in memory and on disk at the same time
+        long writeTime = System.currentTimeMillis();
+        memory.put(key, value);
+        pending.put(key, value);
+        Writer.EXECUTOR.execute(() -> {
+            try {
+                disk.put(key, valueSerializer.serialize(value), writeTime);
+            } catch (IOException | RuntimeException e) {
+                LOG.log(Level.WARNING, "Error writing cache value for key " + key, e);
+            } finally {
+                pending.remove(key, value);
+            }
+        });
+    }
+
+    /**
+     * Removes the value from memory and from disk.
+     *
+     * @return true if the key had a value in memory, waiting to be written to
+     * disk, or on disk, unless it has expired
+     */
+    @Override
+    public boolean remove(K key) {
+        boolean answer = memory.remove(key);
+        if (key != null) {
+            Object write = pending.put(key, REMOVED);
+            if (!answer) {
+                answer = write == null ? isOnDisk(key) : write != REMOVED;
+            }
+            Writer.EXECUTOR.execute(() -> {
+                removeFromDisk(key);
+                pending.remove(key, REMOVED);
+            });
+        }
+        return answer;
+    }
+
+    @Override
+    public void removeAll() {
+        clearCount.incrementAndGet();
+        memory.removeAll();
+        pending.clear();
+        Writer.EXECUTOR.execute(() -> {
+            try {
+                disk.clear();
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Error clearing cache files", e);
+            } finally {
+                // the writer runs the clears in order
+                clearedCount++;
+            }
+        });
+    }
+
+    @Override
+    public CacheStats getStats() {
+        CacheStats stats = memory.getStats();
+        return getStats(stats.getEvictionCount(), stats.getExpiredCount(), stats.getReclaimedCount(),
+                stats.getSize(), stats.getWeightedSize());
+    }
+
+    @Override
+    boolean isRefreshNeeded(K key) {
+        return memory.isRefreshNeeded(key);
+    }
+
+    @Override
+    List<SnapshotEntry<K, V>> getHottestEntries(int limit) {
+        return memory.getHottestEntries(limit);
+    }
+
+    // the disk is read before the removal, which the writer applies after the previous writes
+    private boolean isOnDisk(K key) {
+        if (clearCount.get() != clearedCount) {
+            // the values on disk are being removed
+            return false;
+        }
+        long writeTime = disk.getWriteTime(key);
+        return writeTime != -1 && !isExpired(writeTime);
+    }
+
+    private boolean isExpired(long writeTime) {
+        return expireAfterWriteMillis > 0 && System.currentTimeMillis() - writeTime >= expireAfterWriteMillis;
+    }
+
+    private void removeFromDisk(K key) {
+        try {
+            disk.remove(key);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Error removing cache value for key " + key, e);
+        }
+    }
+
+    private static class Writer {
+        private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setName("Attach-CacheWriter");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A timer wheel that removes expired cache entries without scanning the cache.
+ * Entries are scheduled in the bucket of the tick (about one second) of their
+ * deadline. When a tick has passed, its bucket is drained: expired entries are
+ * removed, and entries whose deadline moved, because they were read or written
+ * again, are scheduled again. Deadlines further than one turn of the wheel are
+ * simply visited once per turn.
+ *
+ * <p>Entries can be scheduled from any thread. The wheel is advanced by any
+ * thread using the cache, at most once per tick, and only by one thread at a time.</p>
+ *
+ * @param <E> type for the entries
+ */
+final class TimerWheel<E> {
+
+    interface Expiry<E> {
+
+        /**
+         * @return false if the entry was removed from the cache, and should be dropped
+         */
+        boolean isLive(E e);
+
+        /**
+         * @return the current deadline of the entry, in {@link System#nanoTime()} units
+         */
+        long getDeadline(E e);
+
+        void expire(E e);
+    }
+
+    // 2^30 ns, about one second per tick
+    private static final int TICK_SHIFT = 30;
+    private static final int BUCKETS = 64;
+    private static final int BUCKET_MASK = BUCKETS - 1;
+
+    private final Expiry<E> expiry;
+    private final Queue<E>[] buckets;
+    private final ReentrantLock lock = new ReentrantLock();
+    // the last tick whose bucket was drained
+    private volatile long drainedTick;
+
+    TimerWheel(Expiry<E> expiry) {
+        this.expiry = expiry;
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        Queue<E>[] array = new Queue[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            array[i] = new ConcurrentLinkedQueue<>();
+        }
+        buckets = array;
+        drainedTick = (System.nanoTime() >> TICK_SHIFT) - 1;
+    }
+
+    void schedule(E e, long deadline) {
+        buckets[(int) (deadline >> TICK_SHIFT) & BUCKET_MASK].add(e);
+    }
+
+    /**
+     * Drains the buckets of the ticks that have passed.
+     */
+    void advance(long now) {
+        long tick = (now >> TICK_SHIFT) - 1;
+        if (tick - drainedTick <= 0 || !lock.tryLock()) {
+            return;
+        }
+        try {
+            if (tick - drainedTick <= 0) {
+                // advanced by another thread since
+                return;
+            }
+            long from = drainedTick + 1;
+            long steps = Math.min(tick - drainedTick, BUCKETS);
+            for (long t = from; t < from + steps; t++) {
+                Queue<E> bucket = buckets[(int) t & BUCKET_MASK];
+                // entries scheduled again in the same bucket are left for the next turn
+                for (int n = bucket.size(); n > 0; n--) {
+                    E e = bucket.poll();
+                    if (e == null) {
+                        break;
+                    }
+                    if (!expiry.isLive(e)) {
+                        continue;
+                    }
+                    long deadline = expiry.getDeadline(e);
+                    if (deadline - now <= 0) {
+                        expiry.expire(e);
+                    } else {
+                        schedule(e, deadline);
+                    }
+                }
+            }
+            drainedTick = tick;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.Parameters;
+import com.gluonhq.attach.cache.Serializer;
+import com.gluonhq.attach.cache.impl.AbstractCache.SnapshotEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Saves a snapshot of the most used entries of a cache, and loads it back in the
+ * background when the cache is created on the next launch.
+ *
+ * <p>The snapshot file has a header, the serialized keys, the most used first,
+ * each followed by its value unless the cache is stored on disk, and by the time
+ * it was written and last accessed, and a CRC32 of all of it. The entries are
+ * restored with their times, so they expire when they would have if the
+ * application had kept running, and a cache stored on disk restores them with
+ * the write time of their values on disk. It is written to a temporary file that replaces the previous snapshot
+ * atomically, so an interrupted save leaves the previous snapshot in place.</p>
+ *
+ * @param <K> type for the key
+ * @param <V> type for the value
+ */
+final class WarmStart<K, V> {
+
+    private static final Logger LOG = Logger.getLogger(WarmStart.class.getName());
+
+    // "ACWS"
+    private static final int MAGIC = 0x41435753;
+    private static final byte VERSION = 2;
+    // magic, version, keys only and count
+    private static final int HEADER_SIZE = 4 + 1 + 1 + 4;
+    private static final int CHECKSUM_SIZE = 8;
+
+    private final String name;
+    private final AbstractCache<K, V> cache;
+    private final Parameters<K, V> parameters;
+    private final File file;
+    // the values of a tiered cache are read from disk
+    private final boolean keysOnly;
+    private final CountDownLatch loaded = new CountDownLatch(1);
+
+    WarmStart(String name, AbstractCache<K, V> cache, Parameters<K, V> parameters, File file) {
+        this.name = name;
+        this.cache = cache;
+        this.parameters = parameters;
+        this.file = file;
+        this.keysOnly = cache instanceof TieredCache;
+    }
+
+    /**
+     * Loads the snapshot in the background. The values put in the cache meanwhile
+     * are kept, and the keys removed meanwhile are not restored.
+     */
+    void start() {
+        cache.startRestore();
+        Loader.EXECUTOR.execute(() -> {
+            try {
+                if (file.exists()) {
+                    load(Files.readAllBytes(file.toPath()));
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.log(Level.WARNING, "Error loading snapshot of cache " + name, e);
+            } finally {
+                cache.endRestore();
+                loaded.countDown();
+            }
+        });
+    }
+
+    /**
+     * @return true once the snapshot was loaded, or failed to load
+     */
+    boolean isLoaded() {
+        return loaded.getCount() == 0;
+    }
+
+    /**
+     * Waits until the snapshot is loaded, or failed to load.
+     *
+     * @return true if it was loaded before the timeout
+     */
+    boolean awaitLoaded(long timeout, TimeUnit unit) throws InterruptedException {
+        return loaded.await(timeout, unit);
+    }
+
+    /**
+     * Replaces the snapshot with the current most used entries. A snapshot that
+     * is still being loaded is kept as it is.
+     */
+    synchronized void save() {
+        if (!isLoaded()) {
+            return;
+        }
+        Serializer<K> keySerializer = parameters.getKeySerializer();
+        Serializer<V> valueSerializer = parameters.getValueSerializer();
+        List<SnapshotEntry<K, V>> entries = new ArrayList<>();
+        List<byte[]> keys = new ArrayList<>();
+        List<byte[]> values = new ArrayList<>();
+        for (SnapshotEntry<K, V> entry : cache.getHottestEntries(parameters.getWarmStartSize())) {
+            try {
+                byte[] key = keySerializer.serialize(entry.key);
+                byte[] value = keysOnly ? null : valueSerializer.serialize(entry.value);
+                entries.add(entry);
+                keys.add(key);
+                values.add(value);
+            } catch (IOException | RuntimeException e) {
+                LOG.log(Level.WARNING, "Error serializing cache entry for key " + entry.key + ", it is not saved", e);
+            }
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeBoolean(keysOnly);
+            out.writeInt(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                out.writeInt(keys.get(i).length);
+                out.write(keys.get(i));
+                if (!keysOnly) {
+                    out.writeInt(values.get(i).length);
+                    out.write(values.get(i));
+                }
+                out.writeLong(entries.get(i).writeTime);
+                out.writeLong(entries.get(i).accessTime);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeLong(crc.getValue());
+
+            File directory = file.getParentFile();
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Error creating directory " + directory);
+            }
+            File temp = new File(directory, file.getName() + ".tmp");
+            Files.write(temp.toPath(), bytes.toByteArray());
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Error saving snapshot of cache " + name, e);
+        }
+    }
+
+    private void load(byte[] bytes) throws IOException {
+        if (bytes.length < HEADER_SIZE + CHECKSUM_SIZE) {
+            throw new IOException("Cache snapshot is truncated: " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - CHECKSUM_SIZE);
+        if (ByteBuffer.wrap(bytes, bytes.length - CHECKSUM_SIZE, CHECKSUM_SIZE).getLong() != crc.getValue()) {
+            throw new IOException("Cache snapshot is corrupted: " + file);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - CHECKSUM_SIZE));
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("Not a cache snapshot: " + file);
+        }
+        boolean savedKeysOnly = in.readBoolean();
+        int count = in.readInt();
+        List<SnapshotEntry<K, V>> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            K key = parameters.getKeySerializer().deserialize(readRecord(in));
+            V value = savedKeysOnly ? null : parameters.getValueSerializer().deserialize(readRecord(in));
+            entries.add(new SnapshotEntry<>(key, value, in.readLong(), in.readLong()));
+        }
+        // the least used entries first, so the most used ones are the most recent
+        for (int i = count - 1; i >= 0; i--) {
+            SnapshotEntry<K, V> entry = entries.get(i);
+            if (keysOnly || savedKeysOnly) {
+                // a tiered cache reads the value from disk, and puts it in memory
+                cache.getIfPresent(entry.key);
+            } else {
+                cache.restore(entry.key, entry.value, entry.writeTime, entry.accessTime);
+            }
+        }
+    }
+
+    private static byte[] readRecord(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Invalid record length in cache snapshot: " + length);
+        }
+        byte[] record = new byte[length];
+        in.readFully(record);
+        return record;
+    }
+
+    private static class Loader {
+        private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setName("Attach-CacheLoader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, Gluon
+ * Copyright (c) 2019, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -28,6 +28,8 @@
 module com.gluonhq.attach.cache {
 
     requires com.gluonhq.attach.util;
+    requires com.gluonhq.attach.storage;
+    requires com.gluonhq.attach.lifecycle;
 
     exports com.gluonhq.attach.cache;
     exports com.gluonhq.attach.cache.impl to com.gluonhq.attach.util;
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.Parameters;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedCacheTest {
+
+    @Test
+    void sizeBoundedCacheMatchesModel() {
+        Random random = new Random(9);
+        for (int run = 0; run < 20; run++) {
+            int maximum = 1 + random.nextInt(300);
+            BoundedCache<Integer, Integer> cache = new BoundedCache<>(
+                    new Parameters<Integer, Integer>().withMaximumSize(maximum));
+            check(cache, random, maximum, value -> 1L);
+        }
+    }
+
+    @Test
+    void weightBoundedCacheMatchesModel() {
+        Random random = new Random(90);
+        for (int run = 0; run < 20; run++) {
+            int maximum = 1 + random.nextInt(3000);
+            BoundedCache<Integer, Integer> cache = new BoundedCache<>(new Parameters<Integer, Integer>()
+                    .withMaximumWeight(maximum, (key, value) -> weight(value)));
+            check(cache, random, maximum, BoundedCacheTest::weight);
+        }
+    }
+
+    @Test
+    void frequentEntriesSurviveScan() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(
+                new Parameters<Integer, Integer>().withMaximumSize(100));
+        for (int round = 0; round < 10; round++) {
+            for (int key = 0; key < 50; key++) {
+                cache.put(key, key);
+                cache.get(key);
+            }
+        }
+        // each key of the scan is used once
+        for (int key = 1000; key < 11_000; key++) {
+            cache.put(key, key);
+        }
+        int hits = 0;
+        for (int key = 0; key < 50; key++) {
+            if (cache.get(key) != null) {
+                hits++;
+            }
+        }
+        assertTrue(hits >= 45, "frequent entries evicted by a scan: " + hits + " of 50 left");
+    }
+
+    @Test
+    void entryHeavierThanMaximumIsNotCached() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(new Parameters<String, Integer>()
+                .withMaximumWeight(10, (key, value) -> value));
+        cache.put("light", 5);
+        cache.put("heavy", 11);
+        assertNull(cache.get("heavy"));
+        assertEquals(5, cache.get("light"));
+        cache.put("light", 20);
+        assertNull(cache.get("light"));
+        assertFalse(cache.remove("light"));
+        assertEquals(0, cache.weightedSize());
+    }
+
+    private static void check(BoundedCache<Integer, Integer> cache, Random random, long maximum,
+                              ToLongFunction<Integer> weigher) {
+        Map<Integer, Integer> model = new HashMap<>();
+        int range = 1 + random.nextInt(1000);
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(range);
+            int op = random.nextInt(100);
+            if (op < 40) {
+                int value = random.nextInt(1000);
+                cache.put(key, value);
+                model.put(key, value);
+            } else if (op < 55) {
+                boolean removed = cache.remove(key);
+                Integer expected = model.remove(key);
+                assertTrue(!removed || expected != null);
+            } else if (op < 99) {
+                // evicted entries are missing, but a present value is the latest one
+                Integer value = cache.get(key);
+                assertTrue(value == null || value.equals(model.get(key)), "stale value for " + key);
+            } else {
+                cache.removeAll();
+                model.clear();
+            }
+            assertTrue(cache.weightedSize() <= maximum);
+        }
+        // the weighted size is the sum of the weights of the entries left
+        long weight = 0;
+        for (Map.Entry<Integer, Integer> entry : model.entrySet()) {
+            Integer value = cache.get(entry.getKey());
+            if (value != null) {
+                weight += weigher.applyAsLong(value);
+            }
+        }
+        assertEquals(weight, cache.weightedSize());
+    }
+
+    private static long weight(Integer value) {
+        return value % 50;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.Cache;
+import com.gluonhq.attach.cache.CacheService;
+import com.gluonhq.attach.cache.CacheStats;
+import com.gluonhq.attach.cache.LongCache;
+import com.gluonhq.attach.cache.Parameters;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheStatsTest {
+
+    @Test
+    void hitsMissesAndLoadsAreCounted() {
+        BoundedCache<String, String> cache = new BoundedCache<>(
+                new Parameters<String, String>().withMaximumSize(2).withStatistics());
+        cache.put("a", "a");
+        cache.get("a");
+        cache.get("b");
+        cache.get("c", key -> "c");
+        assertThrows(IllegalStateException.class, () -> cache.get("d", key -> {
+            throw new IllegalStateException();
+        }));
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value");
+        }
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHitCount());
+        // b, c before it is loaded, and d
+        assertEquals(3, stats.getMissCount());
+        assertEquals(1, stats.getLoadSuccessCount());
+        assertEquals(1, stats.getLoadFailureCount());
+        assertEquals(10, stats.getEvictionCount());
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    void statisticsAreOptIn() {
+        DefaultCache<String, String> cache = new DefaultCache<>(new Parameters<>());
+        cache.put("a", "a");
+        cache.get("a");
+        cache.get("b");
+        CacheStats stats = cache.getStats();
+        assertEquals(0, stats.getHitCount());
+        assertEquals(0, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void primitiveKeyCachesCountToo() {
+        LongCache<String> cache = new DefaultLongCache<>(
+                new Parameters<Long, String>().withMaximumSize(10).withStatistics());
+        cache.put(1, "one");
+        cache.get(1);
+        cache.get(2);
+        assertEquals(1, cache.getStats().getHitCount());
+        assertEquals(1, cache.getStats().getMissCount());
+    }
+
+    @Test
+    void offHeapCachesCountOnlyIfAsked() {
+        for (boolean recording : new boolean[] {false, true}) {
+            Parameters<String, ByteBuffer> parameters = new Parameters<>();
+            OffHeapCache<String> cache = new OffHeapCache<>(1024, recording ? parameters.withStatistics() : parameters);
+            cache.put("a", ByteBuffer.allocate(8));
+            cache.get("a");
+            cache.get("b");
+            assertEquals(recording ? 1 : 0, cache.getStats().getHitCount());
+            assertEquals(recording ? 1 : 0, cache.getStats().getMissCount());
+            assertEquals(1, cache.getStats().getSize());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapCache<String>(1024,
+                new Parameters<String, ByteBuffer>().withMaximumSize(10)));
+    }
+
+    @Test
+    void existingServicesKeepWorking() {
+        // a service that only implements the original method
+        CacheService service = new CacheService() {
+            @Override
+            public <K, V> Cache<K, V> getCache(String cacheName) {
+                return new DefaultCache<>(new Parameters<>());
+            }
+        };
+        assertTrue(service.getCacheStats().isEmpty());
+        assertThrows(UnsupportedOperationException.class,
+                () -> service.getLongCache("ids", new Parameters<Long, String>()));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.Cache;
+import com.gluonhq.attach.cache.Parameters;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentCacheTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void boundedCacheFromManyThreads() throws Exception {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(
+                new Parameters<Integer, Integer>().withMaximumSize(500));
+        run(cache);
+        assertTrue(cache.size() <= 500);
+    }
+
+    @Test
+    void defaultCacheFromManyThreads() throws Exception {
+        run(new DefaultCache<>());
+    }
+
+    /**
+     * Each thread uses its own keys, and checks them against its own model, while
+     * the other threads evict them, so a value that is present is the latest one.
+     */
+    private static void run(Cache<Integer, Integer> cache) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                tasks.add(() -> {
+                    Random random = new Random(thread);
+                    Map<Integer, Integer> model = new HashMap<>();
+                    for (int i = 0; i < 50_000; i++) {
+                        int key = random.nextInt(300) * THREADS + thread;
+                        int op = random.nextInt(100);
+                        if (op < 40) {
+                            int value = random.nextInt();
+                            cache.put(key, value);
+                            model.put(key, value);
+                        } else if (op < 55) {
+                            cache.remove(key);
+                            model.remove(key);
+                        } else {
+                            Integer value = cache.get(key);
+                            if (value != null && !value.equals(model.get(key))) {
+                                throw new AssertionError("stale value for " + key);
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DefaultCacheTest {
+
+    @Test
+    void defaultCacheMatchesModel() {
+        Random random = new Random(10);
+        DefaultCache<Integer, String> cache = new DefaultCache<>();
+        // the model keeps the values strongly reachable, so the GC doesn't clear them
+        Map<Integer, String> model = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(2000);
+            int op = random.nextInt(100);
+            if (op < 40) {
+                String value = "value" + random.nextInt();
+                cache.put(key, value);
+                model.put(key, value);
+            } else if (op < 55) {
+                assertEquals(model.remove(key) != null, cache.remove(key));
+            } else if (op < 99) {
+                assertEquals(model.get(key), cache.get(key));
+            } else {
+                cache.removeAll();
+                model.clear();
+            }
+        }
+        assertEquals(model.size(), cache.getStats().getSize());
+    }
+
+    @Test
+    void replacedValueIsNotPurgedWithTheOldOne() {
+        DefaultCache<String, Object> cache = new DefaultCache<>();
+        Object value = new Object();
+        cache.put("key", new Object());
+        cache.put("key", value);
+        // the replaced entry is cleared, and may be enqueued, but the key keeps its new value
+        System.gc();
+        for (int i = 0; i < 100; i++) {
+            cache.put("other" + i, "other");
+        }
+        assertEquals(value, cache.get("key"));
+        assertEquals(0, cache.getStats().getReclaimedCount());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.Parameters;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiryTest {
+
+    @Test
+    void entriesExpireAfterWrite() throws InterruptedException {
+        for (boolean bounded : new boolean[] {false, true}) {
+            Parameters<String, String> parameters = new Parameters<String, String>()
+                    .withExpireAfterWrite(Duration.ofMillis(300));
+            AbstractCache<String, String> cache = create(parameters, bounded);
+            cache.put("key", "value");
+            assertEquals("value", cache.get("key"));
+            Thread.sleep(150);
+            // reads don't extend the life of the entry
+            assertEquals("value", cache.get("key"));
+            Thread.sleep(250);
+            assertNull(cache.get("key"));
+        }
+    }
+
+    @Test
+    void entriesExpireAfterAccess() throws InterruptedException {
+        for (boolean bounded : new boolean[] {false, true}) {
+            Parameters<String, String> parameters = new Parameters<String, String>()
+                    .withExpireAfterAccess(Duration.ofMillis(300));
+            AbstractCache<String, String> cache = create(parameters, bounded);
+            cache.put("used", "value");
+            cache.put("unused", "value");
+            for (int i = 0; i < 4; i++) {
+                Thread.sleep(100);
+                assertEquals("value", cache.get("used"));
+            }
+            assertNull(cache.get("unused"));
+            Thread.sleep(400);
+            assertNull(cache.get("used"));
+        }
+    }
+
+    @Test
+    void expiredEntriesAreRemoved() throws InterruptedException {
+        for (boolean bounded : new boolean[] {false, true}) {
+            Parameters<Integer, Integer> parameters = new Parameters<Integer, Integer>()
+                    .withExpireAfterWrite(Duration.ofMillis(100));
+            AbstractCache<Integer, Integer> cache = bounded ?
+                    new BoundedCache<>(parameters.withMaximumSize(1000)) : new DefaultCache<>(parameters);
+            for (int i = 0; i < 100; i++) {
+                cache.put(i, i);
+            }
+            // the timer wheel drains the ticks of about one second that have passed
+            Thread.sleep(2500);
+            cache.put(1000, 1000);
+            assertEquals(1, cache.getStats().getSize());
+            assertTrue(cache.getStats().getExpiredCount() >= 100);
+        }
+    }
+
+    private static AbstractCache<String, String> create(Parameters<String, String> parameters, boolean bounded) {
+        return bounded ? new BoundedCache<>(parameters.withMaximumSize(100)) : new DefaultCache<>(parameters);
+    }
+}
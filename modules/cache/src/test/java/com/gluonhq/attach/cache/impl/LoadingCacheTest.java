@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.Cache;
+import com.gluonhq.attach.cache.LongCache;
+import com.gluonhq.attach.cache.Parameters;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class LoadingCacheTest {
+
+    @Test
+    void concurrentLoadsShareOneLoad() throws Exception {
+        BoundedCache<String, String> cache = new BoundedCache<>(
+                new Parameters<String, String>().withMaximumSize(10));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get("key", key -> {
+                    loads.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "value";
+                })));
+            }
+            started.await();
+            // lets the other threads join the load
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, loads.get());
+        assertEquals("value", cache.get("key"));
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        DefaultCache<String, String> cache = new DefaultCache<>(new Parameters<>());
+        assertThrows(IllegalStateException.class, () -> cache.get("key", key -> {
+            throw new IllegalStateException();
+        }));
+        assertNull(cache.get("key"));
+        assertEquals("value", cache.get("key", key -> "value"));
+    }
+
+    @Test
+    void recursiveLoadFails() {
+        List<Cache<String, String>> caches = List.of(new DefaultCache<>(new Parameters<>()),
+                new BoundedCache<>(new Parameters<String, String>().withMaximumSize(10)));
+        for (Cache<String, String> cache : caches) {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                assertThrows(IllegalStateException.class, () -> cache.get("key", key -> cache.get(key, k -> "value")));
+                // another key can be loaded, and the failed load is not left behind
+                assertEquals("other", cache.get("key", key -> cache.get("other", k -> "other")));
+                assertEquals("value", cache.get("new", key -> "value"));
+            });
+        }
+        LongCache<String> cache = new DefaultLongCache<>(new Parameters<>());
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertThrows(IllegalStateException.class, () -> cache.get(1, key -> cache.get(key, k -> "value")));
+            assertEquals("value", cache.get(1, key -> "value"));
+        });
+    }
+
+    @Test
+    void asyncLoadsShareOneLoad() throws Exception {
+        DefaultCache<String, String> cache = new DefaultCache<>(new Parameters<>());
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> load = new CompletableFuture<>();
+        CompletableFuture<String> first = cache.getAsync("key", key -> {
+            loads.incrementAndGet();
+            return load;
+        });
+        CompletableFuture<String> second = cache.getAsync("key", key -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        // a caller can't cancel the shared load
+        first.cancel(false);
+        load.complete("value");
+        assertEquals("value", second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals("value", cache.get("key"));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapCacheTest {
+
+    @Test
+    void wholeCapacityIsUsed() {
+        // 2 + 1 MB, and 16 + 8 + 4 + 2 + 1 MB of arenas
+        for (int megabytes : new int[] {3, 31}) {
+            OffHeapCache<Integer> cache = new OffHeapCache<>(megabytes * 1024L * 1024L);
+            int count = megabytes * 1024 / 64;
+            for (int i = 0; i < count; i++) {
+                cache.put(i, ByteBuffer.allocate(64 * 1024));
+            }
+            assertEquals(0, cache.getStats().getEvictionCount());
+            assertEquals(count, cache.getStats().getSize());
+            cache.put(count, ByteBuffer.allocate(64 * 1024));
+            assertEquals(1, cache.getStats().getEvictionCount());
+        }
+    }
+
+    @Test
+    void removeAllReleasesArenas() {
+        OffHeapCache<Integer> cache = new OffHeapCache<>(1024 * 1024);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, value(i, 4000));
+        }
+        cache.removeAll();
+        assertEquals(0, cache.getStats().getSize());
+        assertEquals(0, cache.getStats().getWeightedSize());
+        assertNull(cache.get(1));
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, value(i, 4000));
+        }
+        assertEquals(value(42, 4000), cache.get(42));
+    }
+
+    @Test
+    void offHeapCacheMatchesModel() {
+        Random random = new Random(15);
+        for (int run = 0; run < 10; run++) {
+            long capacity = 4096 + random.nextInt(512 * 1024);
+            OffHeapCache<Integer> cache = new OffHeapCache<>(capacity);
+            Map<Integer, ByteBuffer> model = new HashMap<>();
+            for (int i = 0; i < 20_000; i++) {
+                int key = random.nextInt(500);
+                int op = random.nextInt(100);
+                if (op < 40) {
+                    ByteBuffer value = value(random.nextInt(), random.nextInt(8000));
+                    cache.put(key, value);
+                    model.put(key, value);
+                } else if (op < 55) {
+                    cache.remove(key);
+                    model.remove(key);
+                } else if (op < 99) {
+                    // evicted entries are missing, but a present value is the latest one
+                    ByteBuffer value = cache.get(key);
+                    if (value != null) {
+                        assertNotNull(model.get(key), "removed value for " + key);
+                        assertEquals(model.get(key), value, "stale value for " + key);
+                    }
+                } else {
+                    cache.removeAll();
+                    model.clear();
+                }
+                assertTrue(cache.getStats().getWeightedSize() <= capacity);
+            }
+        }
+    }
+
+    private static ByteBuffer value(int seed, int length) {
+        ByteBuffer value = ByteBuffer.allocate(length);
+        Random random = new Random(seed);
+        random.nextBytes(value.array());
+        return value;
+    }
+}
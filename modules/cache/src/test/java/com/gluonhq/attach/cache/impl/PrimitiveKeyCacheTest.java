@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.IntCache;
+import com.gluonhq.attach.cache.LongCache;
+import com.gluonhq.attach.cache.Parameters;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrimitiveKeyCacheTest {
+
+    @Test
+    void collidingKeyAfterRehash() {
+        for (boolean bounded : new boolean[] {false, true}) {
+            LongCache<String> cache = new DefaultLongCache<>(bounded ?
+                    new Parameters<Long, String>().withMaximumSize(1000) : new Parameters<>());
+            for (long key = 100; key < 116; key++) {
+                cache.put(key, "v" + key);
+            }
+            // the 17th key grows the table to 64 slots, and lands in its first slot
+            long key = 0;
+            while ((hash(key) & 63) != 0 || (key >= 100 && key < 116)) {
+                key++;
+            }
+            cache.put(key, "k");
+            assertTrue(cache.remove(key));
+            assertNull(cache.get(key));
+            for (long k = 100; k < 116; k++) {
+                assertEquals("v" + k, cache.get(k));
+            }
+            assertEquals(16, cache.getStats().getSize());
+        }
+    }
+
+    @Test
+    void unboundedLongCacheMatchesMap() {
+        Random random = new Random(17);
+        for (int run = 0; run < 20; run++) {
+            LongCache<Long> cache = new DefaultLongCache<>(new Parameters<>());
+            Map<Long, Long> model = new HashMap<>();
+            int range = 8 + random.nextInt(2000);
+            for (int i = 0; i < 20_000; i++) {
+                long key = random.nextInt(range) * (random.nextBoolean() ? 1L : 1L << 40);
+                int op = random.nextInt(100);
+                if (op < 45) {
+                    long value = random.nextLong();
+                    cache.put(key, value);
+                    model.put(key, value);
+                } else if (op < 70) {
+                    assertEquals(model.remove(key) != null, cache.remove(key));
+                } else if (op < 99) {
+                    assertEquals(model.get(key), cache.get(key));
+                } else {
+                    cache.removeAll();
+                    model.clear();
+                }
+            }
+            assertEquals(model.size(), cache.getStats().getSize());
+            for (Map.Entry<Long, Long> entry : model.entrySet()) {
+                assertEquals(entry.getValue(), cache.get(entry.getKey()));
+            }
+        }
+    }
+
+    @Test
+    void boundedIntCacheNeverReturnsStaleValues() {
+        Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            int maximum = 1 + random.nextInt(200);
+            IntCache<Integer> cache = new DefaultIntCache<>(new Parameters<Integer, Integer>().withMaximumSize(maximum));
+            Map<Integer, Integer> model = new HashMap<>();
+            int range = 1 + random.nextInt(1000);
+            for (int i = 0; i < 20_000; i++) {
+                int key = random.nextInt(range) - range / 2;
+                int op = random.nextInt(100);
+                if (op < 45) {
+                    int value = random.nextInt();
+                    cache.put(key, value);
+                    model.put(key, value);
+                } else if (op < 65) {
+                    boolean removed = cache.remove(key);
+                    Integer expected = model.remove(key);
+                    assertTrue(!removed || expected != null);
+                } else if (op < 99) {
+                    // evicted entries are missing, but a present value is the latest one
+                    Integer value = cache.get(key);
+                    assertTrue(value == null || value.equals(model.get(key)), "stale value for " + key);
+                } else {
+                    cache.removeAll();
+                    model.clear();
+                }
+                assertTrue(cache.getStats().getSize() <= maximum);
+            }
+        }
+    }
+
+    @Test
+    void readsRacingWritesNeverSeeAnotherKey() throws InterruptedException {
+        for (boolean bounded : new boolean[] {false, true}) {
+            Parameters<Long, Long> parameters = new Parameters<Long, Long>().withExpireAfterAccess(Duration.ofMinutes(1));
+            LongCache<Long> cache = new DefaultLongCache<>(bounded ? parameters.withMaximumSize(500) : parameters);
+            AtomicReference<String> failure = new AtomicReference<>();
+            AtomicBoolean done = new AtomicBoolean();
+            Thread[] readers = new Thread[3];
+            for (int r = 0; r < readers.length; r++) {
+                long seed = r;
+                readers[r] = new Thread(() -> {
+                    Random random = new Random(seed);
+                    while (!done.get() && failure.get() == null) {
+                        long key = random.nextInt(2000);
+                        Long value = cache.get(key);
+                        if (value != null && value != key) {
+                            failure.set("read " + value + " for " + key);
+                        }
+                    }
+                });
+                readers[r].start();
+            }
+            // the writes grow and rehash the arrays, and reuse the ids of removed entries
+            Random random = new Random(7);
+            for (int i = 0; i < 300_000; i++) {
+                long key = random.nextInt(2000);
+                int op = random.nextInt(1000);
+                if (op < 600) {
+                    cache.put(key, key);
+                } else if (op < 999) {
+                    cache.remove(key);
+                } else {
+                    cache.removeAll();
+                }
+            }
+            done.set(true);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+            assertNull(failure.get());
+        }
+    }
+
+    // as in PrimitiveKeyCache
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
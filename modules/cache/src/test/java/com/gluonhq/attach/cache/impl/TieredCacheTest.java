@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.Parameters;
+import com.gluonhq.attach.cache.Serializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TieredCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void tieredCacheMatchesModel() throws IOException, InterruptedException {
+        Random random = new Random(14);
+        Parameters<String, String> parameters = new Parameters<String, String>()
+                .withMaximumSize(16)
+                .withDiskStorage(64 * 1024 * 1024, Serializer.STRING, Serializer.STRING);
+        File files = directory.toFile();
+        DiskStore<String> disk = new DiskStore<>(files, parameters.getDiskMaximumSize(), Serializer.STRING);
+        TieredCache<String, String> cache = new TieredCache<>(new BoundedCache<>(parameters), disk, parameters);
+        Map<String, String> model = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            String key = "key" + random.nextInt(200);
+            int op = random.nextInt(100);
+            if (op < 40) {
+                String value = "value" + random.nextInt();
+                cache.put(key, value);
+                model.put(key, value);
+            } else if (op < 55) {
+                cache.remove(key);
+                model.remove(key);
+            } else if (op < 99) {
+                // the memory tier only holds 16 entries, the others are read from disk
+                assertEquals(model.get(key), cache.get(key), key);
+            } else {
+                cache.removeAll();
+                model.clear();
+            }
+        }
+
+        // the writer applies the changes in order
+        cache.put("last", "last");
+        while (disk.get("last") == null) {
+            Thread.sleep(10);
+        }
+        model.put("last", "last");
+        DiskStore<String> reopened = new DiskStore<>(files, parameters.getDiskMaximumSize(), Serializer.STRING);
+        assertEquals(model.size(), reopened.size());
+        for (Map.Entry<String, String> entry : model.entrySet()) {
+            DiskStore.Value value = reopened.get(entry.getKey());
+            assertEquals(entry.getValue(), new String(value.data, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void valuesAreNotReadWhileDiskIsCleared() throws IOException, InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Serializer<String> blocking = new Serializer<>() {
+            @Override
+            public byte[] serialize(String value) throws IOException {
+                if (value.equals("block")) {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return Serializer.STRING.serialize(value);
+            }
+
+            @Override
+            public String deserialize(byte[] data) throws IOException {
+                return Serializer.STRING.deserialize(data);
+            }
+        };
+        Parameters<String, String> parameters = new Parameters<String, String>()
+                .withMaximumSize(16)
+                .withDiskStorage(1024 * 1024, Serializer.STRING, blocking);
+        DiskStore<String> disk = new DiskStore<>(directory.toFile(), parameters.getDiskMaximumSize(), Serializer.STRING);
+        BoundedCache<String, String> memory = new BoundedCache<>(parameters);
+        TieredCache<String, String> cache = new TieredCache<>(memory, disk, parameters);
+
+        cache.put("key", "value");
+        while (disk.get("key") == null) {
+            Thread.sleep(10);
+        }
+        memory.remove("key");
+        assertEquals("value", cache.get("key"));
+
+        // the clear waits behind the blocked write
+        cache.put("other", "block");
+        writing.await();
+        cache.removeAll();
+        try {
+            assertNull(cache.get("key"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void removeReportsValuesOnDisk() throws IOException, InterruptedException {
+        Parameters<String, String> parameters = new Parameters<String, String>()
+                .withMaximumSize(16)
+                .withDiskStorage(1024 * 1024, Serializer.STRING, Serializer.STRING);
+        DiskStore<String> disk = new DiskStore<>(directory.toFile(), parameters.getDiskMaximumSize(), Serializer.STRING);
+        BoundedCache<String, String> memory = new BoundedCache<>(parameters);
+        TieredCache<String, String> cache = new TieredCache<>(memory, disk, parameters);
+
+        long before = System.currentTimeMillis();
+        cache.put("key", "value");
+        long after = System.currentTimeMillis();
+        while (disk.get("key") == null) {
+            Thread.sleep(10);
+        }
+        // written with the time of the put
+        long writeTime = disk.getWriteTime("key");
+        assertTrue(writeTime >= before && writeTime <= after);
+
+        memory.remove("key");
+        assertTrue(cache.remove("key"));
+        assertFalse(cache.remove("key"));
+        assertFalse(cache.remove("missing"));
+    }
+
+    @Test
+    void expireAfterAccessIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Parameters<String, String>()
+                .withExpireAfterAccess(Duration.ofMinutes(1))
+                .withDiskStorage(1024, Serializer.STRING, Serializer.STRING));
+        assertThrows(IllegalArgumentException.class, () -> new Parameters<String, String>()
+                .withDiskStorage(1024, Serializer.STRING, Serializer.STRING)
+                .withExpireAfterAccess(Duration.ofMinutes(1)));
+    }
+}
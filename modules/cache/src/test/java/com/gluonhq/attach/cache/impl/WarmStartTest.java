@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.cache.impl;
+
+import com.gluonhq.attach.cache.Parameters;
+import com.gluonhq.attach.cache.Serializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WarmStartTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoredEntriesKeepTheirWriteTime() throws InterruptedException {
+        for (boolean bounded : new boolean[] {false, true}) {
+            File file = new File(directory.toFile(), bounded + ".snapshot");
+            AbstractCache<String, String> cache = create(bounded);
+            WarmStart<String, String> warmStart = new WarmStart<>("test", cache, parameters(bounded), file);
+            warmStart.start();
+            awaitLoaded(warmStart);
+
+            long now = System.nanoTime();
+            cache.putIfAbsent("old", "old", now - 5 * SECOND, now);
+            cache.put("new", "new");
+            Map<String, Long> writeTimes = writeTimes(cache);
+            warmStart.save();
+
+            AbstractCache<String, String> restored = create(bounded);
+            WarmStart<String, String> restoring = new WarmStart<>("test", restored, parameters(bounded), file);
+            restoring.start();
+            awaitLoaded(restoring);
+            assertEquals("old", restored.getIfPresent("old"));
+            assertEquals("new", restored.getIfPresent("new"));
+            // so they expire at the same deadline, give or take the conversions between clocks
+            Map<String, Long> restoredWriteTimes = writeTimes(restored);
+            assertEquals(writeTimes.keySet(), restoredWriteTimes.keySet());
+            for (String key : writeTimes.keySet()) {
+                assertEquals(writeTimes.get(key), restoredWriteTimes.get(key), 50, key);
+            }
+        }
+    }
+
+    @Test
+    void expiredEntriesAreNotRestored() throws InterruptedException {
+        File file = new File(directory.toFile(), "expired.snapshot");
+        AbstractCache<String, String> cache = create(true);
+        WarmStart<String, String> warmStart = new WarmStart<>("test", cache, parameters(true), file);
+        warmStart.start();
+        awaitLoaded(warmStart);
+
+        long now = System.nanoTime();
+        cache.putIfAbsent("old", "old", now - 9 * SECOND, now);
+        cache.put("new", "new");
+        warmStart.save();
+
+        // written 9 seconds ago, it is past the deadline of a cache that expires after 5 seconds
+        Parameters<String, String> parameters = parameters(true).withExpireAfterWrite(Duration.ofSeconds(5));
+        AbstractCache<String, String> restored = create(true, parameters);
+        WarmStart<String, String> restoring = new WarmStart<>("test", restored, parameters, file);
+        restoring.start();
+        awaitLoaded(restoring);
+        assertNull(restored.getIfPresent("old"));
+        assertEquals("new", restored.getIfPresent("new"));
+        assertEquals(1, restored.getStats().getSize());
+    }
+
+    @Test
+    void changesMadeWhileLoadingAreKept() throws InterruptedException {
+        for (boolean bounded : new boolean[] {false, true}) {
+            File file = new File(directory.toFile(), bounded + ".snapshot");
+            save(bounded, file, "a", "b", "c");
+
+            CountDownLatch reading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Serializer<String> blocking = new Serializer<>() {
+                @Override
+                public byte[] serialize(String s) throws IOException {
+                    return Serializer.STRING.serialize(s);
+                }
+
+                @Override
+                public String deserialize(byte[] data) throws IOException {
+                    reading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Serializer.STRING.deserialize(data);
+                }
+            };
+            Parameters<String, String> parameters = parameters(bounded, blocking);
+            AbstractCache<String, String> restored = create(bounded, parameters);
+            WarmStart<String, String> restoring = new WarmStart<>("test", restored, parameters, file);
+            restoring.start();
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+            restored.put("a", "new");
+            restored.remove("b");
+            release.countDown();
+            awaitLoaded(restoring);
+            assertEquals("new", restored.getIfPresent("a"));
+            assertNull(restored.getIfPresent("b"));
+            assertEquals("c", restored.getIfPresent("c"));
+        }
+    }
+
+    @Test
+    void removeAllWhileLoadingRestoresNothing() throws InterruptedException {
+        File file = new File(directory.toFile(), "cleared.snapshot");
+        save(true, file, "a", "b");
+        AbstractCache<String, String> restored = create(true);
+        WarmStart<String, String> restoring = new WarmStart<>("test", restored, parameters(true), file);
+        restoring.start();
+        restored.removeAll();
+        awaitLoaded(restoring);
+        assertNull(restored.getIfPresent("a"));
+        assertNull(restored.getIfPresent("b"));
+    }
+
+    @Test
+    void putsRacingTheLoadAreNeverOverwritten() throws InterruptedException {
+        String[] keys = new String[100];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "k" + i;
+        }
+        for (boolean bounded : new boolean[] {false, true}) {
+            File file = new File(directory.toFile(), bounded + ".snapshot");
+            save(bounded, file, keys);
+            for (int i = 0; i < 50; i++) {
+                // counted down as the keys are read, right before they are restored
+                CountDownLatch read = new CountDownLatch(keys.length);
+                Serializer<String> counting = new Serializer<>() {
+                    @Override
+                    public byte[] serialize(String s) throws IOException {
+                        return Serializer.STRING.serialize(s);
+                    }
+
+                    @Override
+                    public String deserialize(byte[] data) throws IOException {
+                        read.countDown();
+                        return Serializer.STRING.deserialize(data);
+                    }
+                };
+                Parameters<String, String> parameters = parameters(bounded, counting);
+                AbstractCache<String, String> restored = create(bounded, parameters);
+                WarmStart<String, String> restoring = new WarmStart<>("test", restored, parameters, file);
+                restoring.start();
+                assertTrue(read.await(5, TimeUnit.SECONDS));
+                for (String key : keys) {
+                    restored.put(key, "new");
+                }
+                awaitLoaded(restoring);
+                for (String key : keys) {
+                    assertEquals("new", restored.getIfPresent(key));
+                }
+            }
+        }
+    }
+
+    // saves a snapshot of the keys, each with itself as value
+    private static void save(boolean bounded, File file, String... keys) throws InterruptedException {
+        AbstractCache<String, String> cache = create(bounded);
+        WarmStart<String, String> warmStart = new WarmStart<>("test", cache, parameters(bounded), file);
+        warmStart.start();
+        awaitLoaded(warmStart);
+        for (String key : keys) {
+            cache.put(key, key);
+        }
+        warmStart.save();
+    }
+
+    private static Parameters<String, String> parameters(boolean bounded) {
+        return parameters(bounded, Serializer.STRING);
+    }
+
+    private static Parameters<String, String> parameters(boolean bounded, Serializer<String> keySerializer) {
+        Parameters<String, String> parameters = new Parameters<String, String>()
+                .withExpireAfterWrite(Duration.ofSeconds(10))
+                .withWarmStart(100, keySerializer, Serializer.STRING);
+        return bounded ? parameters.withMaximumSize(100) : parameters;
+    }
+
+    private static AbstractCache<String, String> create(boolean bounded) {
+        return create(bounded, parameters(bounded));
+    }
+
+    private static AbstractCache<String, String> create(boolean bounded, Parameters<String, String> parameters) {
+        return bounded ? new BoundedCache<>(parameters) : new DefaultCache<>(parameters);
+    }
+
+    // the write times of the entries, in milliseconds
+    private static Map<String, Long> writeTimes(AbstractCache<String, String> cache) {
+        Map<String, Long> writeTimes = new HashMap<>();
+        for (AbstractCache.SnapshotEntry<String, String> entry : cache.getHottestEntries(100)) {
+            writeTimes.put(entry.key, entry.writeTime);
+        }
+        return writeTimes;
+    }
+
+    // a save is ignored until the snapshot is loaded
+    private static void awaitLoaded(WarmStart<?, ?> warmStart) throws InterruptedException {
+        assertTrue(warmStart.awaitLoaded(5, TimeUnit.SECONDS));
+    }
+}
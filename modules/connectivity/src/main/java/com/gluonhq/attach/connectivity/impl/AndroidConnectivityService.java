@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2020, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -28,6 +28,7 @@
 package com.gluonhq.attach.connectivity.impl;
 
 import com.gluonhq.attach.connectivity.ConnectivityService;
+import com.gluonhq.attach.util.trace.TraceRecorder;
 import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
@@ -58,6 +59,9 @@ public class AndroidConnectivityService implements ConnectivityService {
 
     // callback
     private static void notifyConnection(boolean c) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Connectivity", "connected", c);
+        }
         if (c != connected.get()) {
             Platform.runLater(() -> connected.setValue(c));
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -29,10 +29,13 @@ package com.gluonhq.attach.connectivity.impl;
 
 import com.gluonhq.attach.connectivity.ConnectivityService;
 import com.gluonhq.attach.util.PropertyWatcher;
+import com.gluonhq.attach.util.trace.TraceRecorder;
 import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
 
+import java.time.Duration;
+
 public class IOSConnectivityService implements ConnectivityService {
 
     static {
@@ -45,12 +48,13 @@ public class IOSConnectivityService implements ConnectivityService {
     public ReadOnlyBooleanProperty connectedProperty() {
         if (connectedProperty == null) {
             connectedProperty = new ReadOnlyBooleanWrapper();
-            PropertyWatcher.addPropertyWatcher(() -> {
-                final boolean connected = isConnected();
-                if (connectedProperty.getValue() != connected) {
-                    Platform.runLater(() -> connectedProperty.setValue(connected));
-                }
-            });
+            PropertyWatcher.addPropertyWatcher(Duration.ofSeconds(5), this::isConnected,
+                    connected -> {
+                        if (TraceRecorder.isEnabled()) {
+                            TraceRecorder.record("Connectivity", "connected", connected);
+                        }
+                        Platform.runLater(() -> connectedProperty.setValue(connected));
+                    });
         }
         return connectedProperty.getReadOnlyProperty();
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2020, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -35,12 +35,9 @@ import com.gluonhq.attach.util.Util;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
-import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
-
 /**
  *  Android implementation of LocalNotificationsService.
  */
@@ -54,6 +51,7 @@ public class AndroidLocalNotificationsService extends LocalNotificationsServiceB
         System.loadLibrary("localnotifications");
     }
 
+    private StorageService storageService;
     private File privateStorage;
 
     public AndroidLocalNotificationsService() {
@@ -87,8 +85,9 @@ public class AndroidLocalNotificationsService extends LocalNotificationsServiceB
         }
 
         if (privateStorage == null) {
-            privateStorage = StorageService.create()
-                    .flatMap(StorageService::getPrivateStorage)
+            storageService = StorageService.create()
+                    .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder"));
+            privateStorage = storageService.getPrivateStorage()
                     .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder"));
         }
 
@@ -98,10 +97,7 @@ public class AndroidLocalNotificationsService extends LocalNotificationsServiceB
                 .resolve("icon.png");
 
         try {
-            if (!Files.exists(file.getParent())) {
-                Files.createDirectories(file.getParent());
-            }
-            Files.copy(imageInputStream, file, REPLACE_EXISTING);
+            storageService.copy(imageInputStream, file.toFile());
 
             if (debug) {
                 LOG.fine("Icon.png file: " + file);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2021, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -32,10 +32,8 @@ import com.gluonhq.attach.localnotifications.Notification;
 import com.gluonhq.attach.storage.StorageService;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.util.logging.Level;
 
 /**
@@ -50,11 +48,13 @@ public class IOSLocalNotificationsService extends LocalNotificationsServiceBase
         initLocalNotification();
     }
 
+    private final StorageService storageService;
     private final File assetsFolder;
 
     public IOSLocalNotificationsService() {
-        assetsFolder = new File(StorageService.create()
-                    .flatMap(StorageService::getPrivateStorage)
+        storageService = StorageService.create()
+                .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder"));
+        assetsFolder = new File(storageService.getPrivateStorage()
                     .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder")),
                 "assets");
 
@@ -79,31 +79,15 @@ public class IOSLocalNotificationsService extends LocalNotificationsServiceBase
 
     private void createImageInAssets(InputStream imageInputStream) {
         File file = new File(assetsFolder, NOTIFICATION_IMAGE);
-        if (file.exists()) {
+        if (imageInputStream == null) {
             file.delete();
-        }
-
-        try (imageInputStream) {
-            copyFile(imageInputStream, file.getAbsolutePath());
-        } catch (IOException ex) {
-            LOGGER.log(Level.WARNING, "Error reading image file", ex);
-        }
-    }
-
-    private void copyFile(InputStream is, String pathEnd)  {
-        if (is == null) {
             return;
         }
 
-        try (OutputStream os = new FileOutputStream(pathEnd)) {
-            byte[] buffer = new byte[1024];
-            int length;
-            while ((length = is.read(buffer)) > 0) {
-                os.write(buffer, 0, length);
-            }
-            os.flush();
+        try (imageInputStream) {
+            storageService.copy(imageInputStream, file);
         } catch (IOException ex) {
-            LOGGER.log(Level.WARNING, "Error copying file", ex);
+            LOGGER.log(Level.WARNING, "Error copying image file", ex);
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2020, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -28,10 +28,15 @@
 package com.gluonhq.attach.magnetometer.impl;
 
 import com.gluonhq.attach.magnetometer.MagnetometerReading;
-import javafx.application.Platform;
+import com.gluonhq.attach.util.FXDispatcher;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
+import com.gluonhq.attach.util.trace.TraceRecorder;
 
 public class IOSMagnetometerService extends MobileMagnetometerService {
 
+    private static final ServiceMetrics METRICS = Metrics.of("Magnetometer");
+
     static {
         System.loadLibrary("Magnetometer");
         initMagnetometer();
@@ -54,7 +59,10 @@ public class IOSMagnetometerService extends MobileMagnetometerService {
     
     // callback
     private static void notifyReading(double x, double y, double z, double m, double a, double p, double r) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Magnetometer", "reading", x, y, z, m, a, p, r);
+        }
         MagnetometerReading read = new MagnetometerReading(x, y, z, m, a, p, r);
-        Platform.runLater(() -> reading.setValue(read));
+        FXDispatcher.getDefault().set(METRICS, reading, read);
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2020, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -33,7 +33,10 @@ import com.gluonhq.attach.position.Parameters;
 import com.gluonhq.attach.position.Position;
 import com.gluonhq.attach.position.PositionService;
 import com.gluonhq.attach.position.impl.geotools.EarthGravitationalModel;
-import javafx.application.Platform;
+import com.gluonhq.attach.util.FXDispatcher;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
+import com.gluonhq.attach.util.trace.TraceRecorder;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 
@@ -51,6 +54,8 @@ public class AndroidPositionService implements PositionService {
 
     private static Logger LOG = Logger.getLogger(AndroidPositionService.class.getName());
 
+    private static final ServiceMetrics METRICS = Metrics.of("Position");
+
     static {
         System.loadLibrary("position");
     }
@@ -132,8 +137,11 @@ public class AndroidPositionService implements PositionService {
                 LOG.log(Level.WARNING, "Error getting altitude mean sea level", ex);
             }
         }
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Position", "location", lat, lon, altitudeMeanSeaLevel);
+        }
         Position p = new Position(lat, lon, altitudeMeanSeaLevel);
-        Platform.runLater(() -> position.set(p));
+        FXDispatcher.getDefault().set(METRICS, position, p);
     }
 
 }
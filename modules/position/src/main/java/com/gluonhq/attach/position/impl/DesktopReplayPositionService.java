@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.position.impl;
+
+import com.gluonhq.attach.position.Parameters;
+import com.gluonhq.attach.position.Position;
+import com.gluonhq.attach.position.PositionService;
+import com.gluonhq.attach.util.FXDispatcher;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
+import com.gluonhq.attach.util.trace.TraceEvent;
+import com.gluonhq.attach.util.trace.TracePlayer;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+
+/**
+ * Replays the {@code location} events of a trace on desktop. The recorded
+ * altitude is already relative to the mean sea level.
+ *
+ * @see TracePlayer
+ * @since 4.0.26
+ */
+public class DesktopReplayPositionService implements PositionService {
+
+    private static final ServiceMetrics METRICS = Metrics.of("Position");
+
+    private final ReadOnlyObjectWrapper<Position> position = new ReadOnlyObjectWrapper<>();
+    private TracePlayer.Subscription subscription;
+
+    @Override
+    public void start() {
+        start(DEFAULT_PARAMETERS);
+    }
+
+    @Override
+    public void start(Parameters parameters) {
+        if (subscription == null) {
+            subscription = TracePlayer.subscribe("Position", this::replay);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            subscription.cancel();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public ReadOnlyObjectProperty<Position> positionProperty() {
+        return position.getReadOnlyProperty();
+    }
+
+    @Override
+    public Position getPosition() {
+        return position.get();
+    }
+
+    private void replay(TraceEvent event) {
+        if ("location".equals(event.getName())) {
+            Position p = new Position(event.getDouble(0), event.getDouble(1), event.getDouble(2));
+            FXDispatcher.getDefault().set(METRICS, position, p);
+        }
+    }
+}
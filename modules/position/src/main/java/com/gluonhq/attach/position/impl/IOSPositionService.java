@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019, Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -32,7 +32,10 @@ import com.gluonhq.attach.lifecycle.LifecycleService;
 import com.gluonhq.attach.position.Parameters;
 import com.gluonhq.attach.position.Position;
 import com.gluonhq.attach.position.PositionService;
-import javafx.application.Platform;
+import com.gluonhq.attach.util.FXDispatcher;
+import com.gluonhq.attach.util.Metrics;
+import com.gluonhq.attach.util.ServiceMetrics;
+import com.gluonhq.attach.util.trace.TraceRecorder;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 
@@ -66,6 +69,8 @@ import javafx.beans.property.ReadOnlyObjectWrapper;
  */
 public class IOSPositionService implements PositionService {
 
+    private static final ServiceMetrics METRICS = Metrics.of("Position");
+
     static {
         System.loadLibrary("Position");
         initPosition();
@@ -132,8 +137,11 @@ public class IOSPositionService implements PositionService {
 
     // callback
     private static void setLocation(double lat, double lon, double alt) {
+        if (TraceRecorder.isEnabled()) {
+            TraceRecorder.record("Position", "location", lat, lon, alt);
+        }
         Position p = new Position(lat, lon, alt);
-        Platform.runLater(() -> position.set(p));
+        FXDispatcher.getDefault().set(METRICS, position, p);
     }
 
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.settings;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Collects changes to the settings, to apply them together with
+ * {@link SettingsService#storeAll(Map)}, so they are persisted at once.
+ *
+ * <p><b>Example</b></p>
+ * <pre>
+ * {@code SettingsService.create().ifPresent(service -> {
+ *      service.edit()
+ *          .put("name", name)
+ *          .put("email", email)
+ *          .remove("draft")
+ *          .apply();
+ *  });}</pre>
+ *
+ * @see SettingsService#edit()
+ * @since 4.0.26
+ */
+public final class SettingsEditor {
+
+    private final SettingsService service;
+    // null values are removals
+    private final Map<String, String> changes = new LinkedHashMap<>();
+
+    SettingsEditor(SettingsService service) {
+        this.service = service;
+    }
+
+    /**
+     * Stores the setting with the specified key and value when the changes are applied.
+     *
+     * @param key a key that uniquely identifies the setting
+     * @param value the value associated with the key
+     * @return this editor
+     */
+    public SettingsEditor put(String key, String value) {
+        changes.put(Objects.requireNonNull(key), Objects.requireNonNull(value));
+        return this;
+    }
+
+    /**
+     * Removes the setting for the specified key when the changes are applied.
+     *
+     * @param key the key of the setting that needs to be removed
+     * @return this editor
+     */
+    public SettingsEditor remove(String key) {
+        changes.put(Objects.requireNonNull(key), null);
+        return this;
+    }
+
+    /**
+     * Applies the changes collected so far, and clears them, so the editor can be used again.
+     * If a key was changed more than once, only its last change is applied.
+     */
+    public void apply() {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<String, String> batch = new LinkedHashMap<>(changes);
+        changes.clear();
+        service.storeAll(batch);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -28,8 +28,12 @@
 package com.gluonhq.attach.settings;
 
 import com.gluonhq.attach.util.Services;
+import javafx.beans.property.ReadOnlyStringProperty;
 
+import java.util.Base64;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * The SettingService provides a simple way for storing, retrieving and removing
@@ -43,6 +47,15 @@ import java.util.Optional;
  *      service.remove("key");
  *  });}</pre>
  *
+ * <p>Several settings can be changed in one batch with {@link #edit()} or {@link #storeAll(Map)}.
+ * Numbers, booleans and small binary values can be stored with typed methods like
+ * {@link #storeInt(String, int)} and {@link #retrieveInt(String, int)}, that the platforms
+ * store natively when they can. A setting should be retrieved with the type it was stored with.</p>
+ *
+ * <p>Changes to a setting can be observed with {@link #addListener(String, Consumer)},
+ * or with the {@link #settingProperty(String) property} of the setting, instead of
+ * polling its value.</p>
+ *
  * <p><b>Android Configuration</b>: none</p>
  * <p><b>iOS Configuration</b>: none</p>
  *
@@ -85,4 +98,252 @@ public interface SettingsService {
      */
     String retrieve(String key);
 
+    /**
+     * Stores an <code>int</code> setting. Platforms that support typed values store
+     * it as a number, so it is not parsed when it is retrieved.
+     *
+     * @param key a key that uniquely identifies the setting
+     * @param value the value associated with the key
+     * @since 4.0.26
+     */
+    default void storeInt(String key, int value) {
+        store(key, Integer.toString(value));
+    }
+
+    /**
+     * Retrieves an <code>int</code> setting, stored with {@link #storeInt(String, int)}.
+     *
+     * @param key the key of the setting to look up
+     * @param defaultValue the value returned if there is no such setting, or if it is not an <code>int</code>
+     * @return the value associated with the setting, or the default value
+     * @since 4.0.26
+     */
+    default int retrieveInt(String key, int defaultValue) {
+        String value = retrieve(key);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Stores a <code>long</code> setting. Platforms that support typed values store
+     * it as a number, so it is not parsed when it is retrieved.
+     *
+     * @param key a key that uniquely identifies the setting
+     * @param value the value associated with the key
+     * @since 4.0.26
+     */
+    default void storeLong(String key, long value) {
+        store(key, Long.toString(value));
+    }
+
+    /**
+     * Retrieves a <code>long</code> setting, stored with {@link #storeLong(String, long)}.
+     *
+     * @param key the key of the setting to look up
+     * @param defaultValue the value returned if there is no such setting, or if it is not a <code>long</code>
+     * @return the value associated with the setting, or the default value
+     * @since 4.0.26
+     */
+    default long retrieveLong(String key, long defaultValue) {
+        String value = retrieve(key);
+        try {
+            return value == null ? defaultValue : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Stores a <code>double</code> setting. Platforms that support typed values store
+     * it as a number, so it is not parsed when it is retrieved.
+     *
+     * @param key a key that uniquely identifies the setting
+     * @param value the value associated with the key
+     * @since 4.0.26
+     */
+    default void storeDouble(String key, double value) {
+        store(key, Double.toString(value));
+    }
+
+    /**
+     * Retrieves a <code>double</code> setting, stored with {@link #storeDouble(String, double)}.
+     *
+     * @param key the key of the setting to look up
+     * @param defaultValue the value returned if there is no such setting, or if it is not a <code>double</code>
+     * @return the value associated with the setting, or the default value
+     * @since 4.0.26
+     */
+    default double retrieveDouble(String key, double defaultValue) {
+        String value = retrieve(key);
+        try {
+            return value == null ? defaultValue : Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Stores a <code>boolean</code> setting. Platforms that support typed values store
+     * it as a boolean, so it is not parsed when it is retrieved.
+     *
+     * @param key a key that uniquely identifies the setting
+     * @param value the value associated with the key
+     * @since 4.0.26
+     */
+    default void storeBoolean(String key, boolean value) {
+        store(key, Boolean.toString(value));
+    }
+
+    /**
+     * Retrieves a <code>boolean</code> setting, stored with {@link #storeBoolean(String, boolean)}.
+     *
+     * @param key the key of the setting to look up
+     * @param defaultValue the value returned if there is no such setting, or if it is not a <code>boolean</code>
+     * @return the value associated with the setting, or the default value
+     * @since 4.0.26
+     */
+    default boolean retrieveBoolean(String key, boolean defaultValue) {
+        String value = retrieve(key);
+        if ("true".equals(value)) {
+            return true;
+        } else if ("false".equals(value)) {
+            return false;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Stores a small binary setting. Platforms that support binary values store the
+     * bytes as they are, the others store them encoded in Base64.
+     *
+     * @param key a key that uniquely identifies the setting
+     * @param value the value associated with the key
+     * @since 4.0.26
+     */
+    default void storeBytes(String key, byte[] value) {
+        store(key, Base64.getEncoder().encodeToString(value));
+    }
+
+    /**
+     * Retrieves a binary setting, stored with {@link #storeBytes(String, byte[])}.
+     *
+     * @param key the key of the setting to look up
+     * @return the value associated with the setting, or <code>null</code> if there is
+     * no such setting, or if it is not binary
+     * @since 4.0.26
+     */
+    default byte[] retrieveBytes(String key) {
+        String value = retrieve(key);
+        try {
+            return value == null ? null : Base64.getDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores and removes the given settings in one batch: on platforms that persist
+     * the settings right away, they are persisted at once, instead of once per
+     * setting. A <code>null</code> value removes the setting for its key.
+     *
+     * @param settings the keys and values of the settings to store, or <code>null</code>
+     *                 values for the settings to remove
+     * @since 4.0.26
+     */
+    default void storeAll(Map<String, String> settings) {
+        settings.forEach((key, value) -> {
+            if (value == null) {
+                remove(key);
+            } else {
+                store(key, value);
+            }
+        });
+    }
+
+    /**
+     * Returns an editor that collects changes to the settings, and applies
+     * them in one batch with {@link #storeAll(Map)}.
+     *
+     * @return a new {@link SettingsEditor}
+     * @since 4.0.26
+     */
+    default SettingsEditor edit() {
+        return new SettingsEditor(this);
+    }
+
+    /**
+     * Writes the settings that were stored or removed, and not persisted yet.
+     * Platforms may persist the changes in the background, after a short delay,
+     * so consecutive changes are written together: calling this method blocks
+     * until they are written. On platforms that persist every change right away,
+     * it does nothing.
+     *
+     * @since 4.0.26
+     */
+    default void flush() {
+    }
+
+    /**
+     * Discards the settings that are cached in memory, so they are read again
+     * from the platform the next time they are retrieved. Platforms that cache
+     * the settings keep the cache up to date with the changes made through this
+     * service, but not with the changes made by other means, like by a settings
+     * bundle on iOS: this method should be called when such changes are expected,
+     * for instance when the application is resumed. On platforms that don't cache
+     * the settings, it does nothing.
+     *
+     * @since 4.0.26
+     */
+    default void invalidate() {
+    }
+
+    /**
+     * Adds a listener that is notified when the setting with the given key is
+     * stored or removed through this service. On desktop, it is also notified
+     * when the settings file is changed by another process. On mobile platforms,
+     * it is notified of changes made by other means when {@link #invalidate()}
+     * is called.
+     *
+     * <p>The listener is called on the thread that changed the setting, with the
+     * new value of the setting as a string, or <code>null</code> if the setting
+     * was removed.</p>
+     *
+     * @param key the key of the setting to observe
+     * @param listener the listener to notify of the new values
+     * @throws UnsupportedOperationException if the service can't notify changes
+     * @since 4.0.26
+     */
+    default void addListener(String key, Consumer<String> listener) {
+        throw new UnsupportedOperationException("Settings listeners are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Removes a listener added with {@link #addListener(String, Consumer)}.
+     *
+     * @param key the key of the observed setting
+     * @param listener the listener to remove
+     * @since 4.0.26
+     */
+    default void removeListener(String key, Consumer<String> listener) {
+    }
+
+    /**
+     * Returns a read-only property with the value of the setting with the given
+     * key, as a string, or <code>null</code> if there is no such setting. The
+     * property is updated on the JavaFX Application Thread, when the setting is
+     * changed as described in {@link #addListener(String, Consumer)}. The same
+     * property is returned for the same key.
+     *
+     * @param key the key of the setting to observe
+     * @return a read-only property with the value of the setting
+     * @throws UnsupportedOperationException if the service can't notify changes
+     * @since 4.0.26
+     */
+    default ReadOnlyStringProperty settingProperty(String key) {
+        throw new UnsupportedOperationException("Settings properties are not supported by " + getClass().getName());
+    }
+
 }
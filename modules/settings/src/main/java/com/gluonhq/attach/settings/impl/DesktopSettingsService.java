@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -28,75 +28,523 @@
 package com.gluonhq.attach.settings.impl;
 
 import com.gluonhq.attach.settings.SettingsService;
+import javafx.beans.property.ReadOnlyStringProperty;
+
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * An implementation of SettingService that stores all settings in a Properties
  * file on the local file system.
+ *
+ * <p>Changes are applied in memory right away, and written behind: the first
+ * change schedules a write after a short delay, so the changes made in the
+ * meantime are written together. The file is written to a temporary file that
+ * replaces it atomically, so a crash leaves either the previous settings or the
+ * new ones. Pending changes are written by {@link #flush()}, and when the JVM
+ * shuts down.</p>
+ *
+ * <p>Typed values are kept in memory as they are, and written to the file as
+ * strings. The values read from the file stay the strings that were read, and
+ * the value they parse to the first time they are retrieved with a type is kept
+ * aside, for as long as the setting is not changed.</p>
+ *
+ * <p>If the system property {@code attach.settings.store} is set to {@code log},
+ * the settings are stored by a {@link LogSettingsService} instead, which appends
+ * each change to a log file. The settings of an existing settings.properties file
+ * are imported into a new log. If the log can't be opened, the settings.properties
+ * file is used.</p>
+ *
+ * <p>Listeners are notified of the changes made through the service. Once a
+ * setting is observed, the settings.properties file is watched as well, and the
+ * settings that another process changed in the file are applied and notified.</p>
  */
 public class DesktopSettingsService implements SettingsService {
 
     private static final Logger LOG = Logger.getLogger(DesktopSettingsService.class.getName());
 
-    private String storageDirectory;
+    private static final long FLUSH_DELAY_MILLIS = 200;
+
+    private LogSettingsService logStore;
+    private Path settingsFile;
     private final Properties settings = new Properties();
+    // the typed values parsed from the strings of the settings
+    private final Map<String, Parsed> parsedValues = new ConcurrentHashMap<>();
+    private final SettingsListeners listeners = new SettingsListeners(this::retrieve);
+
+    // guarded by settings
+    private long changeCount;
+    private boolean flushScheduled;
+    // guarded by this
+    private long writtenCount;
+    // the settings as they are in the file, to tell the changes made by other processes
+    private Properties savedSettings = new Properties();
+    private boolean watching;
 
     public DesktopSettingsService(/* String storageDirectory */) {
-        try {
-            this.storageDirectory = getPrivateStorage().getAbsolutePath();
+        if ("log".equals(System.getProperty("attach.settings.store")) && openLogStore()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(logStore::flush, "Attach-SettingsFlush"));
+            return;
+        }
 
-            Path settingsFile = getSettingsFile();
+        try {
+            settingsFile = getSettingsFile(getPrivateStorage().getAbsolutePath());
 
-            settings.load(Files.newInputStream(settingsFile, StandardOpenOption.READ));
+            try (InputStream input = Files.newInputStream(settingsFile)) {
+                settings.load(input);
+            }
+            savedSettings.putAll(settings);
         } catch (IOException ex) {
             LOG.log(Level.SEVERE, "Error in DesktopSettingService: ", ex);
         }
 
-        LOG.log(Level.INFO, "The following settings were successfully read from file: {0}", settings);
+        LOG.log(Level.FINE, "The following settings were successfully read from file: {0}", settings);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "Attach-SettingsFlush"));
     }
 
     @Override
     public void store(String key, String value) {
-        settings.setProperty(key, value);
-        saveSettings();
+        if (logStore != null) {
+            logStore.store(key, value);
+            return;
+        }
+        synchronized (settings) {
+            settings.setProperty(key, value);
+            settingsChanged();
+        }
 
-        LOG.log(Level.INFO, "Updated setting {0} = \"{1}\"", new Object[]{key, value});
+        LOG.log(Level.FINE, "Updated setting {0} = \"{1}\"", new Object[]{key, value});
+        listeners.fire(key, value);
     }
 
     @Override
     public void remove(String key) {
-        Object value = settings.remove(key);
-        saveSettings();
+        if (logStore != null) {
+            logStore.remove(key);
+            return;
+        }
+        Object value;
+        synchronized (settings) {
+            value = settings.remove(key);
+            if (value != null) {
+                settingsChanged();
+            }
+        }
+        parsedValues.remove(key);
 
-        LOG.log(Level.INFO, "Removed setting {0} = \"{1}\"", new Object[]{key, value});
+        LOG.log(Level.FINE, "Removed setting {0} = \"{1}\"", new Object[]{key, value});
+        if (value != null) {
+            listeners.fire(key, null);
+        }
+    }
+
+    /**
+     * Applies all the changes at once, so they are written to the file together.
+     */
+    @Override
+    public void storeAll(Map<String, String> changes) {
+        if (logStore != null) {
+            logStore.storeAll(changes);
+            return;
+        }
+        synchronized (settings) {
+            changes.forEach((key, value) -> {
+                if (value == null) {
+                    settings.remove(key);
+                    parsedValues.remove(key);
+                } else {
+                    settings.setProperty(key, value);
+                }
+            });
+            settingsChanged();
+        }
+
+        LOG.log(Level.FINE, "Updated {0} settings", changes.size());
+        listeners.fireAll(changes);
     }
 
     @Override
     public String retrieve(String key) {
-        return settings.getProperty(key);
+        if (logStore != null) {
+            return logStore.retrieve(key);
+        }
+        return SettingValues.toString(settings.get(key));
+    }
+
+    @Override
+    public void storeInt(String key, int value) {
+        if (logStore != null) {
+            logStore.storeInt(key, value);
+            return;
+        }
+        storeValue(key, value);
+    }
+
+    @Override
+    public int retrieveInt(String key, int defaultValue) {
+        if (logStore != null) {
+            return logStore.retrieveInt(key, defaultValue);
+        }
+        Integer value = retrieveValue(key, Integer.class, SettingValues::toInt);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public void storeLong(String key, long value) {
+        if (logStore != null) {
+            logStore.storeLong(key, value);
+            return;
+        }
+        storeValue(key, value);
+    }
+
+    @Override
+    public long retrieveLong(String key, long defaultValue) {
+        if (logStore != null) {
+            return logStore.retrieveLong(key, defaultValue);
+        }
+        Long value = retrieveValue(key, Long.class, SettingValues::toLong);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public void storeDouble(String key, double value) {
+        if (logStore != null) {
+            logStore.storeDouble(key, value);
+            return;
+        }
+        storeValue(key, value);
+    }
+
+    @Override
+    public double retrieveDouble(String key, double defaultValue) {
+        if (logStore != null) {
+            return logStore.retrieveDouble(key, defaultValue);
+        }
+        Double value = retrieveValue(key, Double.class, SettingValues::toDouble);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public void storeBoolean(String key, boolean value) {
+        if (logStore != null) {
+            logStore.storeBoolean(key, value);
+            return;
+        }
+        storeValue(key, value);
+    }
+
+    @Override
+    public boolean retrieveBoolean(String key, boolean defaultValue) {
+        if (logStore != null) {
+            return logStore.retrieveBoolean(key, defaultValue);
+        }
+        Boolean value = retrieveValue(key, Boolean.class, SettingValues::toBoolean);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public void storeBytes(String key, byte[] value) {
+        if (logStore != null) {
+            logStore.storeBytes(key, value);
+            return;
+        }
+        storeValue(key, value.clone());
+    }
+
+    @Override
+    public byte[] retrieveBytes(String key) {
+        if (logStore != null) {
+            return logStore.retrieveBytes(key);
+        }
+        byte[] value = retrieveValue(key, byte[].class, SettingValues::toBytes);
+        return value == null ? null : value.clone();
+    }
+
+    /**
+     * Writes the pending changes to the settings.properties file, if any,
+     * and waits until they are written.
+     */
+    @Override
+    public synchronized void flush() {
+        if (logStore != null) {
+            logStore.flush();
+            return;
+        }
+        Properties snapshot;
+        long count;
+        synchronized (settings) {
+            flushScheduled = false;
+            count = changeCount;
+            if (count == writtenCount) {
+                return;
+            }
+            snapshot = new Properties();
+            settings.forEach((key, value) -> snapshot.put(key, SettingValues.toString(value)));
+        }
+        if (saveSettings(snapshot)) {
+            writtenCount = count;
+            savedSettings = snapshot;
+        }
+    }
+
+    @Override
+    public void addListener(String key, Consumer<String> listener) {
+        if (logStore != null) {
+            logStore.addListener(key, listener);
+            return;
+        }
+        listeners.addListener(key, listener);
+        startWatching();
+    }
+
+    @Override
+    public void removeListener(String key, Consumer<String> listener) {
+        if (logStore != null) {
+            logStore.removeListener(key, listener);
+            return;
+        }
+        listeners.removeListener(key, listener);
+    }
+
+    @Override
+    public ReadOnlyStringProperty settingProperty(String key) {
+        if (logStore != null) {
+            return logStore.settingProperty(key);
+        }
+        startWatching();
+        return listeners.settingProperty(key);
+    }
+
+    /**
+     * Opens the log that stores the settings. If it can't be opened or imported,
+     * the settings are stored in the settings.properties file instead, so they
+     * are not lost.
+     *
+     * @return true if the settings are stored by the log
+     */
+    private boolean openLogStore() {
+        try {
+            logStore = new LogSettingsService(getPrivateStorage());
+            importSettings();
+            return true;
+        } catch (IOException ex) {
+            LOG.log(Level.SEVERE, "Failed to open the settings log, the settings.properties file is used instead", ex);
+            if (logStore != null) {
+                logStore.close();
+                logStore = null;
+            }
+            return false;
+        }
     }
 
     /**
-     * Saves the current properties to the settings.properties file on the file
-     * system.
+     * Imports the settings of the settings.properties file into a new log.
      */
-    private void saveSettings() {
-        Path settingsFile = getSettingsFile();
-        try (BufferedWriter writer = Files.newBufferedWriter(settingsFile, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-            settings.store(writer, null);
+    private void importSettings() throws IOException {
+        Path propertiesFile = Paths.get(getPrivateStorage().getAbsolutePath(), "settings.properties");
+        if (!logStore.isEmpty() || !Files.exists(propertiesFile)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(propertiesFile)) {
+            properties.load(input);
+        }
+        Map<String, String> imported = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            imported.put(key, properties.getProperty(key));
+        }
+        logStore.storeAll(imported);
+        logStore.flush();
+        LOG.log(Level.INFO, "Imported {0} settings from {1}", new Object[]{properties.size(), propertiesFile});
+    }
+
+    private void storeValue(String key, Object value) {
+        synchronized (settings) {
+            settings.put(key, value);
+            settingsChanged();
+        }
+
+        LOG.log(Level.FINE, "Updated setting {0} = \"{1}\"", new Object[]{key, value});
+        if (listeners.isObserved()) {
+            listeners.fire(key, SettingValues.toString(value));
+        }
+    }
+
+    /**
+     * Returns the typed value of a setting. A string is parsed once per type,
+     * and the setting itself is left as it is, so it is retrieved and written
+     * as the same string. The parsed value is only used while the setting
+     * holds the string it was parsed from.
+     */
+    private <T> T retrieveValue(String key, Class<T> type, Function<Object, T> converter) {
+        Object value = settings.get(key);
+        if (!(value instanceof String)) {
+            return converter.apply(value);
+        }
+        Parsed parsed = parsedValues.get(key);
+        if (parsed != null && parsed.source == value && type.isInstance(parsed.value)) {
+            return type.cast(parsed.value);
+        }
+        T typed = converter.apply(value);
+        if (typed != null) {
+            parsedValues.put(key, new Parsed(value, typed));
+        }
+        return typed;
+    }
+
+    // must hold the settings lock
+    private void settingsChanged() {
+        changeCount++;
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Flusher.EXECUTOR.schedule(this::flush, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void startWatching() {
+        if (watching || settingsFile == null) {
+            return;
+        }
+        watching = true;
+        Watcher.EXECUTOR.execute(this::watchSettings);
+    }
+
+    /**
+     * Watches the directory of the settings.properties file, and reloads the
+     * file when it is replaced or modified.
+     */
+    private void watchSettings() {
+        Path directory = settingsFile.toAbsolutePath().getParent();
+        try (WatchService watchService = directory.getFileSystem().newWatchService()) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    // the context of an overflow is null: reload to be safe
+                    changed |= event.context() == null || settingsFile.getFileName().equals(event.context());
+                }
+                if (changed) {
+                    reloadSettings();
+                }
+                if (!watchKey.reset()) {
+                    LOG.log(Level.WARNING, "Stopped watching {0}", directory);
+                    return;
+                }
+            }
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Failed to watch " + settingsFile, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the settings.properties file, and applies the settings that were
+     * changed in the file since it was last read or written by this service.
+     * Holds the lock of flush(), so the service's own writes are not taken for
+     * changes made by other processes.
+     */
+    private synchronized void reloadSettings() {
+        Properties fileSettings = new Properties();
+        try (InputStream input = Files.newInputStream(settingsFile)) {
+            fileSettings.load(input);
+        } catch (IOException ex) {
+            LOG.log(Level.FINE, "Failed to reload settings.properties file.", ex);
+            return;
+        }
+        if (fileSettings.equals(savedSettings)) {
+            return;
+        }
+        Set<String> keys = new HashSet<>(fileSettings.stringPropertyNames());
+        keys.addAll(savedSettings.stringPropertyNames());
+        Map<String, String> changes = new HashMap<>();
+        for (String key : keys) {
+            String value = fileSettings.getProperty(key);
+            if (!Objects.equals(value, savedSettings.getProperty(key))) {
+                changes.put(key, value);
+            }
+        }
+        savedSettings = fileSettings;
+        synchronized (settings) {
+            changes.forEach((key, value) -> {
+                if (value == null) {
+                    settings.remove(key);
+                    parsedValues.remove(key);
+                } else {
+                    settings.setProperty(key, value);
+                }
+            });
+        }
+
+        LOG.log(Level.FINE, "Reloaded {0} settings changed in the file", changes.size());
+        listeners.fireAll(changes);
+    }
+
+    /**
+     * Saves the given properties to the settings.properties file on the file
+     * system, through a temporary file that is forced to the storage device and
+     * then replaces it.
+     *
+     * @return true if the properties were saved
+     */
+    private boolean saveSettings(Properties properties) {
+        if (settingsFile == null) {
+            return false;
+        }
+        Path tempFile = settingsFile.resolveSibling(settingsFile.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+                properties.store(writer, null);
+                writer.flush();
+                // the content must be on the device before it replaces the file
+                channel.force(false);
+            }
+            try {
+                Files.move(tempFile, settingsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tempFile, settingsFile, StandardCopyOption.REPLACE_EXISTING);
+            }
 
             LOG.log(Level.FINE, "The settings were successfully written to file.");
+            return true;
         } catch (IOException ex) {
             LOG.log(Level.SEVERE, "Failed to store settings.properties file.", ex);
+            return false;
         }
     }
 
@@ -106,7 +554,7 @@ public class DesktopSettingsService implements SettingsService {
      *
      * @return the path to the settings.properties file
      */
-    private Path getSettingsFile() {
+    private Path getSettingsFile(String storageDirectory) {
         Path settingsFile = Paths.get(storageDirectory, "settings.properties");
         if (!Files.exists(settingsFile)) {
             try {
@@ -129,4 +577,33 @@ public class DesktopSettingsService implements SettingsService {
         }
         return f;
     }
+
+    private static final class Parsed {
+        private final Object source;
+        private final Object value;
+
+        private Parsed(Object source, Object value) {
+            this.source = source;
+            this.value = value;
+        }
+    }
+
+    private static class Flusher {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setName("Attach-SettingsWriter");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static class Watcher {
+        // one thread per watched settings file
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r);
+            t.setName("Attach-SettingsWatcher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
 }
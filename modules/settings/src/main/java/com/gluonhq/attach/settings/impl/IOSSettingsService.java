@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -28,11 +28,21 @@
 package com.gluonhq.attach.settings.impl;
 
 import com.gluonhq.attach.settings.SettingsService;
+import javafx.beans.property.ReadOnlyStringProperty;
+
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * An implementation of the
  * {@link SettingsService SettingsService} for the
  * iOS platform. It makes use of the application's standard UserDefaults.
+ * Integers, longs and booleans are stored as NSNumber, doubles as strings, and
+ * binary values as NSData. Booleans are retrieved as strings as <code>true</code>
+ * or <code>false</code>, like on the other platforms, and settings stored as
+ * strings can be retrieved as their type, like on Android.
+ * The settings are cached once they are stored or read, so retrieving them again
+ * doesn't call into native code.
  */
 public class IOSSettingsService implements SettingsService {
 
@@ -41,27 +51,161 @@ public class IOSSettingsService implements SettingsService {
         initSettings();
     }
 
+    private final SettingsReadCache cache = new SettingsReadCache();
+    private final SettingsListeners listeners = new SettingsListeners(this::retrieve);
+
     public IOSSettingsService() {
     }
 
     @Override
     public void store(String key, String value) {
-        settingsStore(key, value);
+        cache.store(key, value, IOSSettingsService::settingsStore);
+        listeners.fire(key, value);
     }
 
     @Override
     public void remove(String key) {
-        settingsRemove(key);
+        cache.remove(key, IOSSettingsService::settingsRemove);
+        listeners.fire(key, null);
+    }
+
+    @Override
+    public void storeAll(Map<String, String> settings) {
+        cache.storeAll(settings, IOSSettingsService::storeAllSettings);
+        listeners.fireAll(settings);
     }
 
     @Override
     public String retrieve(String key) {
-        return settingsRetrieve(key);
+        return cache.retrieve(key, IOSSettingsService::settingsRetrieve);
+    }
+
+    @Override
+    public void storeInt(String key, int value) {
+        cache.store(key, value, (k, v) -> settingsStoreLong(k, v));
+        fireStored(key, value);
+    }
+
+    @Override
+    public int retrieveInt(String key, int defaultValue) {
+        return cache.retrieve(key, Integer.class, defaultValue, (k, d) -> {
+            long value = settingsRetrieveLong(k, d);
+            return value == (int) value ? (int) value : d;
+        }, IOSSettingsService::settingsContains);
+    }
+
+    @Override
+    public void storeLong(String key, long value) {
+        cache.store(key, value, IOSSettingsService::settingsStoreLong);
+        fireStored(key, value);
+    }
+
+    @Override
+    public long retrieveLong(String key, long defaultValue) {
+        return cache.retrieve(key, Long.class, defaultValue, IOSSettingsService::settingsRetrieveLong, IOSSettingsService::settingsContains);
+    }
+
+    /**
+     * The value is stored as a string, so it is retrieved as a string the same
+     * way as on the other platforms, which an NSNumber doesn't guarantee.
+     */
+    @Override
+    public void storeDouble(String key, double value) {
+        cache.store(key, value, (k, v) -> settingsStore(k, Double.toString(v)));
+        fireStored(key, value);
+    }
+
+    @Override
+    public double retrieveDouble(String key, double defaultValue) {
+        return cache.retrieve(key, Double.class, defaultValue, (k, d) -> {
+            Double value = SettingValues.toDouble(settingsRetrieve(k));
+            return value == null ? d : value;
+        }, IOSSettingsService::settingsContains);
+    }
+
+    @Override
+    public void storeBoolean(String key, boolean value) {
+        cache.store(key, value, IOSSettingsService::settingsStoreBoolean);
+        fireStored(key, value);
     }
-    
+
+    @Override
+    public boolean retrieveBoolean(String key, boolean defaultValue) {
+        return cache.retrieve(key, Boolean.class, defaultValue, IOSSettingsService::settingsRetrieveBoolean, IOSSettingsService::settingsContains);
+    }
+
+    @Override
+    public void storeBytes(String key, byte[] value) {
+        cache.store(key, value.clone(), IOSSettingsService::settingsStoreBytes);
+        fireStored(key, value);
+    }
+
+    @Override
+    public byte[] retrieveBytes(String key) {
+        byte[] value = cache.retrieve(key, byte[].class, null, (k, d) -> settingsRetrieveBytes(k), IOSSettingsService::settingsContains);
+        return value == null ? null : value.clone();
+    }
+
+    /**
+     * Clears the settings that were read from the UserDefaults, so they are
+     * read again the next time they are retrieved. The listeners of the settings
+     * that were changed in the meantime are notified. This is required when the
+     * settings are changed outside of the application, like from a settings bundle.
+     */
+    @Override
+    public void invalidate() {
+        if (!listeners.isObserved()) {
+            cache.invalidate();
+            return;
+        }
+        Map<String, String> values = listeners.values();
+        cache.invalidate();
+        listeners.fireChanged(values);
+    }
+
+    @Override
+    public void addListener(String key, Consumer<String> listener) {
+        listeners.addListener(key, listener);
+    }
+
+    @Override
+    public void removeListener(String key, Consumer<String> listener) {
+        listeners.removeListener(key, listener);
+    }
+
+    @Override
+    public ReadOnlyStringProperty settingProperty(String key) {
+        return listeners.settingProperty(key);
+    }
+
+    private void fireStored(String key, Object value) {
+        if (listeners.isObserved()) {
+            listeners.fire(key, SettingValues.toString(value));
+        }
+    }
+
+    private static void storeAllSettings(Map<String, String> settings) {
+        String[] keys = new String[settings.size()];
+        String[] values = new String[settings.size()];
+        int i = 0;
+        for (Map.Entry<String, String> setting : settings.entrySet()) {
+            keys[i] = setting.getKey();
+            values[i++] = setting.getValue();
+        }
+        settingsStoreAll(keys, values);
+    }
+
     private static native void initSettings();
     private static native void settingsStore(String key, String value);
     private static native void settingsRemove(String key);
+    private static native void settingsStoreAll(String[] keys, String[] values);
     private static native String settingsRetrieve(String key);
+    private static native boolean settingsContains(String key);
+    private static native void settingsStoreLong(String key, long value);
+    private static native long settingsRetrieveLong(String key, long defaultValue);
+    private static native void settingsStoreBoolean(String key, boolean value);
+    private static native boolean settingsRetrieveBoolean(String key, boolean defaultValue);
+    private static native void settingsStoreBytes(String key, byte[] value);
+    private static native byte[] settingsRetrieveBytes(String key);
 
 }
@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.settings.impl;
+
+import com.gluonhq.attach.settings.SettingsService;
+import javafx.beans.property.ReadOnlyStringProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * An implementation of SettingsService that appends every change to a log file,
+ * so each store and remove writes a small record, whatever the number of settings.
+ * The settings are kept in memory, and rebuilt by replaying the log when the
+ * service is created.
+ *
+ * <p>Each record has a CRC32, so a record that was only partially written when the
+ * application or the system crashed is detected, and the log is truncated to the
+ * last complete record. The changes of {@link #storeAll(Map)} are appended as a
+ * single record, so they are either all replayed or not at all. Records are written to the file right away, and
+ * {@link #flush()} forces them to the storage device. A change is only applied once
+ * its record is appended: if the write fails, the partial record is truncated, and
+ * the change throws an {@link UncheckedIOException}.</p>
+ *
+ * <p>When the log has more obsolete records than settings, it is compacted in the
+ * background: the current settings are written to a new log, followed by the records
+ * appended in the meantime, and the new log replaces the old one atomically.</p>
+ */
+public class LogSettingsService implements SettingsService {
+
+    private static final Logger LOG = Logger.getLogger(LogSettingsService.class.getName());
+
+    private static final String LOG_FILE_NAME = "settings.log";
+    private static final byte STORE = 1;
+    private static final byte REMOVE = 2;
+    // a group of store and remove records, with a single checksum
+    private static final byte BATCH = 3;
+    // typed values, stored in binary
+    private static final byte STORE_INT = 4;
+    private static final byte STORE_LONG = 5;
+    private static final byte STORE_DOUBLE = 6;
+    private static final byte STORE_BOOLEAN = 7;
+    private static final byte STORE_BYTES = 8;
+    // crc, type, key length and value length
+    private static final int HEADER_SIZE = 4 + 1 + 4 + 4;
+    // obsolete records below which the log is never compacted
+    private static final long COMPACTION_THRESHOLD = 1024;
+
+    private final Path logFile;
+    // strings and typed values, see SettingValues
+    private final Map<String, Object> settings = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private final SettingsListeners listeners = new SettingsListeners(this::retrieve);
+
+    // guarded by lock
+    private FileChannel channel;
+    // the end of the last complete record
+    private long end;
+    private long records;
+    private boolean compacting;
+    private boolean closed;
+
+    /**
+     * Opens the log of the given directory, creating it if it doesn't exist,
+     * and replays it.
+     *
+     * @param directory the directory of the settings.log file
+     * @throws IOException if the log can't be opened
+     */
+    public LogSettingsService(File directory) throws IOException {
+        Files.createDirectories(directory.toPath());
+        logFile = directory.toPath().resolve(LOG_FILE_NAME);
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            replay();
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void store(String key, String value) {
+        storeValue(key, value);
+    }
+
+    @Override
+    public void remove(String key) {
+        synchronized (lock) {
+            if (!settings.containsKey(key)) {
+                return;
+            }
+            append(encode(REMOVE, key, ""), 1);
+            settings.remove(key);
+        }
+        listeners.fire(key, null);
+    }
+
+    /**
+     * Appends all the changes as a single record.
+     */
+    @Override
+    public void storeAll(Map<String, String> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] batchRecords = new ByteBuffer[changes.size()];
+        int length = 0;
+        int i = 0;
+        for (Map.Entry<String, String> change : changes.entrySet()) {
+            String value = change.getValue();
+            batchRecords[i] = encode(value == null ? REMOVE : STORE, Objects.requireNonNull(change.getKey()), value == null ? "" : value);
+            length += batchRecords[i++].remaining();
+        }
+        ByteBuffer batch = ByteBuffer.allocate(length);
+        for (ByteBuffer record : batchRecords) {
+            batch.put(record);
+        }
+        synchronized (lock) {
+            append(encode(BATCH, "", batch.array()), batchRecords.length);
+            changes.forEach((key, value) -> {
+                if (value == null) {
+                    settings.remove(key);
+                } else {
+                    settings.put(key, value);
+                }
+            });
+        }
+        listeners.fireAll(changes);
+    }
+
+    @Override
+    public String retrieve(String key) {
+        return SettingValues.toString(settings.get(key));
+    }
+
+    @Override
+    public void storeInt(String key, int value) {
+        storeValue(key, value);
+    }
+
+    @Override
+    public int retrieveInt(String key, int defaultValue) {
+        Integer value = SettingValues.toInt(settings.get(key));
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public void storeLong(String key, long value) {
+        storeValue(key, value);
+    }
+
+    @Override
+    public long retrieveLong(String key, long defaultValue) {
+        Long value = SettingValues.toLong(settings.get(key));
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public void storeDouble(String key, double value) {
+        storeValue(key, value);
+    }
+
+    @Override
+    public double retrieveDouble(String key, double defaultValue) {
+        Double value = SettingValues.toDouble(settings.get(key));
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public void storeBoolean(String key, boolean value) {
+        storeValue(key, value);
+    }
+
+    @Override
+    public boolean retrieveBoolean(String key, boolean defaultValue) {
+        Boolean value = SettingValues.toBoolean(settings.get(key));
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public void storeBytes(String key, byte[] value) {
+        storeValue(key, value.clone());
+    }
+
+    @Override
+    public byte[] retrieveBytes(String key) {
+        byte[] value = SettingValues.toBytes(settings.get(key));
+        return value == null ? null : value.clone();
+    }
+
+    @Override
+    public void addListener(String key, Consumer<String> listener) {
+        listeners.addListener(key, listener);
+    }
+
+    @Override
+    public void removeListener(String key, Consumer<String> listener) {
+        listeners.removeListener(key, listener);
+    }
+
+    @Override
+    public ReadOnlyStringProperty settingProperty(String key) {
+        return listeners.settingProperty(key);
+    }
+
+    /**
+     * Forces the records that were appended to the log to the storage device.
+     */
+    @Override
+    public void flush() {
+        synchronized (lock) {
+            try {
+                channel.force(false);
+            } catch (IOException ex) {
+                LOG.log(Level.SEVERE, "Failed to flush " + logFile, ex);
+            }
+        }
+    }
+
+    /**
+     * Closes the log, when the service is not used after all.
+     */
+    void close() {
+        synchronized (lock) {
+            closed = true;
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                LOG.log(Level.FINE, "Failed to close " + logFile, ex);
+            }
+        }
+    }
+
+    /**
+     * @return true if there are no settings
+     */
+    boolean isEmpty() {
+        return settings.isEmpty();
+    }
+
+    private void replay() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(logFile));
+        long valid = 0;
+        while (replayRecord(buffer, buffer.capacity(), true)) {
+            valid = buffer.position();
+        }
+        if (valid < buffer.capacity()) {
+            LOG.log(Level.WARNING, "Discarding {0} bytes after the last complete record of {1}",
+                    new Object[]{buffer.capacity() - valid, logFile});
+            channel.truncate(valid);
+        }
+        end = valid;
+    }
+
+    private void storeValue(String key, Object value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        synchronized (lock) {
+            append(encode(key, value), 1);
+            settings.put(key, value);
+        }
+        if (listeners.isObserved()) {
+            listeners.fire(key, SettingValues.toString(value));
+        }
+    }
+
+    /**
+     * Applies the next record of the buffer, up to the given limit.
+     *
+     * @return false if there is no complete and valid record left
+     */
+    private boolean replayRecord(ByteBuffer buffer, int limit, boolean checked) throws IOException {
+        int start = buffer.position();
+        if (limit - start < HEADER_SIZE) {
+            return false;
+        }
+        int crc = buffer.getInt();
+        byte type = buffer.get();
+        int keyLength = buffer.getInt();
+        int valueLength = buffer.getInt();
+        if (type < STORE || type > STORE_BYTES || (type == BATCH && !checked) || keyLength < 0 || valueLength < 0 ||
+                (long) keyLength + valueLength > limit - buffer.position()) {
+            return false;
+        }
+        if (checked) {
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.array(), start + 4, HEADER_SIZE - 4 + keyLength + valueLength);
+            if ((int) checksum.getValue() != crc) {
+                return false;
+            }
+        }
+        String key = new String(buffer.array(), buffer.position(), keyLength, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + keyLength);
+        int end = buffer.position() + valueLength;
+        if (type == BATCH) {
+            // the records of a batch are covered by its checksum
+            while (buffer.position() < end) {
+                if (!replayRecord(buffer, end, false)) {
+                    throw new IOException("Invalid batch record in " + logFile);
+                }
+            }
+        } else if (type == REMOVE) {
+            settings.remove(key);
+            records++;
+        } else {
+            settings.put(key, decode(type, buffer.slice().limit(valueLength)));
+            records++;
+        }
+        buffer.position(end);
+        return true;
+    }
+
+    // must hold the lock
+    private void append(ByteBuffer record, int count) {
+        try {
+            long position = end;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            end = position;
+            records += count;
+        } catch (IOException ex) {
+            discardPartialRecord();
+            throw new UncheckedIOException("Failed to append to " + logFile, ex);
+        }
+        if (!compacting && records - settings.size() > Math.max(COMPACTION_THRESHOLD, settings.size())) {
+            compacting = true;
+            Compactor.EXECUTOR.execute(this::compact);
+        }
+    }
+
+    // must hold the lock
+    private void discardPartialRecord() {
+        try {
+            channel.truncate(end);
+        } catch (IOException ex) {
+            // the next record is written over it, and replay discards what is left of it
+            LOG.log(Level.WARNING, "Failed to truncate " + logFile + " to its last complete record", ex);
+        }
+    }
+
+    private void compact() {
+        Path tempFile = logFile.resolveSibling(LOG_FILE_NAME + ".tmp");
+        try {
+            Map<String, Object> snapshot;
+            long position;
+            long snapshotRecords;
+            synchronized (lock) {
+                if (closed) {
+                    return;
+                }
+                snapshot = new HashMap<>(settings);
+                position = end;
+                snapshotRecords = records;
+            }
+            try (FileChannel compacted = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Map.Entry<String, Object> entry : snapshot.entrySet()) {
+                    ByteBuffer record = encode(entry.getKey(), entry.getValue());
+                    while (record.hasRemaining()) {
+                        compacted.write(record);
+                    }
+                }
+                synchronized (lock) {
+                    if (closed) {
+                        // the temporary file is truncated by the next compaction
+                        return;
+                    }
+                    // the records appended since the snapshot
+                    while (position < end) {
+                        position += channel.transferTo(position, end - position, compacted);
+                    }
+                    compacted.force(false);
+                    channel.close();
+                    try {
+                        move(tempFile, logFile);
+                    } finally {
+                        channel = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                        end = channel.size();
+                    }
+                    records = snapshot.size() + records - snapshotRecords;
+                }
+            }
+            LOG.log(Level.FINE, "Compacted {0} to {1} settings", new Object[]{logFile, snapshot.size()});
+        } catch (IOException ex) {
+            LOG.log(Level.SEVERE, "Failed to compact " + logFile, ex);
+        } finally {
+            synchronized (lock) {
+                compacting = false;
+            }
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static ByteBuffer encode(String key, Object value) {
+        if (value instanceof Integer) {
+            return encode(STORE_INT, key, ByteBuffer.allocate(4).putInt((Integer) value).array());
+        } else if (value instanceof Long) {
+            return encode(STORE_LONG, key, ByteBuffer.allocate(8).putLong((Long) value).array());
+        } else if (value instanceof Double) {
+            return encode(STORE_DOUBLE, key, ByteBuffer.allocate(8).putDouble((Double) value).array());
+        } else if (value instanceof Boolean) {
+            return encode(STORE_BOOLEAN, key, new byte[]{(byte) ((Boolean) value ? 1 : 0)});
+        } else if (value instanceof byte[]) {
+            return encode(STORE_BYTES, key, (byte[]) value);
+        }
+        return encode(STORE, key, (String) value);
+    }
+
+    private static Object decode(byte type, ByteBuffer value) throws IOException {
+        int size = type == STORE_INT ? 4 : type == STORE_LONG || type == STORE_DOUBLE ? 8 : type == STORE_BOOLEAN ? 1 : -1;
+        if (size != -1 && value.remaining() != size) {
+            throw new IOException("Invalid value size for record type " + type + ": " + value.remaining());
+        }
+        switch (type) {
+            case STORE_INT:
+                return value.getInt();
+            case STORE_LONG:
+                return value.getLong();
+            case STORE_DOUBLE:
+                return value.getDouble();
+            case STORE_BOOLEAN:
+                return value.get() != 0;
+            case STORE_BYTES:
+                byte[] bytes = new byte[value.remaining()];
+                value.get(bytes);
+                return bytes;
+            default:
+                return StandardCharsets.UTF_8.decode(value).toString();
+        }
+    }
+
+    private static ByteBuffer encode(byte type, String key, String value) {
+        return encode(type, key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ByteBuffer encode(byte type, String key, byte[] valueBytes) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + keyBytes.length + valueBytes.length);
+        record.putInt(0)
+                .put(type)
+                .putInt(keyBytes.length)
+                .putInt(valueBytes.length)
+                .put(keyBytes)
+                .put(valueBytes);
+        CRC32 checksum = new CRC32();
+        checksum.update(record.array(), 4, record.capacity() - 4);
+        record.putInt(0, (int) checksum.getValue());
+        record.flip();
+        return record;
+    }
+
+    private static class Compactor {
+        private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setName("Attach-SettingsCompactor");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
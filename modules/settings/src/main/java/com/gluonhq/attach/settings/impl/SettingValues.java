@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.settings.impl;
+
+import java.util.Base64;
+
+/**
+ * Conversions of the values kept in memory by the desktop settings stores.
+ * Typed values are kept as {@link Integer}, {@link Long}, {@link Double},
+ * {@link Boolean} and <code>byte[]</code>, and their string form is the one
+ * used by the default methods of {@link com.gluonhq.attach.settings.SettingsService},
+ * so a setting can be read back as a string or as its type, whatever the store.
+ */
+final class SettingValues {
+
+    private SettingValues() {
+    }
+
+    static String toString(Object value) {
+        if (value instanceof byte[]) {
+            return Base64.getEncoder().encodeToString((byte[]) value);
+        }
+        return value == null ? null : value.toString();
+    }
+
+    static Integer toInt(Object value) {
+        if (value instanceof Integer) {
+            return (Integer) value;
+        }
+        try {
+            return value instanceof String ? Integer.valueOf((String) value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static Long toLong(Object value) {
+        if (value instanceof Long || value instanceof Integer) {
+            return ((Number) value).longValue();
+        }
+        try {
+            return value instanceof String ? Long.valueOf((String) value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static Double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return value instanceof String ? Double.valueOf((String) value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static Boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if ("true".equals(value)) {
+            return Boolean.TRUE;
+        } else if ("false".equals(value)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    static byte[] toBytes(Object value) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        try {
+            return value instanceof String ? Base64.getDecoder().decode((String) value) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.settings.impl;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The listeners and the properties of the settings of a service, that are
+ * notified when the service changes a setting.
+ *
+ * <p>Listeners are called on the thread that made the change, after it is applied,
+ * with the new value of the setting as a string. Properties are updated on the
+ * JavaFX Application Thread, with the value the service retrieves at that time, so
+ * they end up with the latest value even if changes are notified out of order.</p>
+ */
+final class SettingsListeners {
+
+    private static final Logger LOG = Logger.getLogger(SettingsListeners.class.getName());
+
+    private final Function<String, String> retriever;
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    private final Map<String, ReadOnlyStringWrapper> properties = new ConcurrentHashMap<>();
+
+    /**
+     * @param retriever the function that retrieves the value of a setting, as a string
+     */
+    SettingsListeners(Function<String, String> retriever) {
+        this.retriever = retriever;
+    }
+
+    void addListener(String key, Consumer<String> listener) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(listener);
+        listeners.compute(key, (k, keyListeners) -> {
+            if (keyListeners == null) {
+                keyListeners = new CopyOnWriteArrayList<>();
+            }
+            keyListeners.add(listener);
+            return keyListeners;
+        });
+    }
+
+    void removeListener(String key, Consumer<String> listener) {
+        listeners.computeIfPresent(key, (k, keyListeners) -> {
+            keyListeners.remove(listener);
+            return keyListeners.isEmpty() ? null : keyListeners;
+        });
+    }
+
+    ReadOnlyStringProperty settingProperty(String key) {
+        Objects.requireNonNull(key);
+        ReadOnlyStringWrapper property = properties.get(key);
+        if (property == null) {
+            ReadOnlyStringWrapper newProperty = new ReadOnlyStringWrapper(null, key, retriever.apply(key));
+            property = properties.putIfAbsent(key, newProperty);
+            if (property == null) {
+                property = newProperty;
+                // catch up with a change notified before the property was added
+                update(property);
+            }
+        }
+        return property.getReadOnlyProperty();
+    }
+
+    /**
+     * @return true if there are listeners or properties, for any setting
+     */
+    boolean isObserved() {
+        return !listeners.isEmpty() || !properties.isEmpty();
+    }
+
+    /**
+     * Notifies the listeners and the property of a setting that was changed.
+     *
+     * @param key the key of the setting
+     * @param value the new value of the setting, or null if it was removed
+     */
+    void fire(String key, String value) {
+        List<Consumer<String>> keyListeners = listeners.get(key);
+        if (keyListeners != null) {
+            for (Consumer<String> listener : keyListeners) {
+                try {
+                    listener.accept(value);
+                } catch (RuntimeException e) {
+                    LOG.log(Level.WARNING, "Settings listener for " + key + " failed", e);
+                }
+            }
+        }
+        ReadOnlyStringWrapper property = properties.get(key);
+        if (property != null) {
+            update(property);
+        }
+    }
+
+    /**
+     * Notifies the listeners and properties of the settings that were changed
+     * in a batch.
+     *
+     * @param changes the new values of the settings, null for the removed ones
+     */
+    void fireAll(Map<String, String> changes) {
+        if (isObserved()) {
+            changes.forEach(this::fire);
+        }
+    }
+
+    /**
+     * Returns the current values of the observed settings, to find the ones that
+     * were changed by other means than the service with {@link #fireChanged(Map)}.
+     *
+     * @return the values of the observed settings, by key
+     */
+    Map<String, String> values() {
+        Set<String> keys = new HashSet<>(listeners.keySet());
+        keys.addAll(properties.keySet());
+        Map<String, String> values = new HashMap<>();
+        for (String key : keys) {
+            values.put(key, retriever.apply(key));
+        }
+        return values;
+    }
+
+    /**
+     * Notifies the listeners and properties of the settings that don't have
+     * the given values anymore.
+     *
+     * @param previousValues the previous values of the observed settings
+     */
+    void fireChanged(Map<String, String> previousValues) {
+        previousValues.forEach((key, previousValue) -> {
+            String value = retriever.apply(key);
+            if (!Objects.equals(value, previousValue)) {
+                fire(key, value);
+            }
+        });
+    }
+
+    private void update(ReadOnlyStringWrapper property) {
+        if (Platform.isFxApplicationThread()) {
+            property.set(retriever.apply(property.getName()));
+        } else {
+            Platform.runLater(() -> property.set(retriever.apply(property.getName())));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.settings.impl;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A read-through cache in front of the native settings of the mobile platforms,
+ * so retrieving a setting that was already read or stored by the application
+ * is a map lookup, instead of a call to native code.
+ *
+ * <p>The cache is kept coherent by the changes made through it, which are
+ * written to the native store and to the cache under the same lock. Settings
+ * that are changed outside of the application require a call to {@link #invalidate()}.</p>
+ *
+ * <p>Values are cached with the type they were stored or retrieved with. A lookup
+ * with a different type goes to the native store, which decides how a setting
+ * of one type is read as another. Missing settings are cached too, so reading
+ * them with a default value doesn't call into native code either.</p>
+ */
+final class SettingsReadCache {
+
+    // the setting was removed, whatever the type it is looked up with
+    private static final Object REMOVED = new Object();
+    // there is no string for the setting, but it may have another type
+    private static final Object NO_STRING = new Object();
+
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    String retrieve(String key, Function<String, String> loader) {
+        Object value = values.get(key);
+        if (value instanceof String) {
+            return (String) value;
+        } else if (value == REMOVED || value == NO_STRING) {
+            return null;
+        }
+        synchronized (this) {
+            String answer = loader.apply(key);
+            values.put(key, answer == null ? NO_STRING : answer);
+            return answer;
+        }
+    }
+
+    /**
+     * Retrieves a typed setting. As the native store returns the default value
+     * both for a missing setting and for one that can't be read with the type,
+     * a default value is told apart with the given predicate: a missing setting is
+     * cached as removed, and any other is cached as the default value of the type,
+     * which is only returned for the same default value.
+     */
+    <T> T retrieve(String key, Class<T> type, T defaultValue, BiFunction<String, T, T> loader, Predicate<String> contains) {
+        Object value = values.get(key);
+        if (type.isInstance(value)) {
+            return type.cast(value);
+        } else if (value == REMOVED) {
+            return defaultValue;
+        } else if (value instanceof Default && ((Default) value).matches(type, defaultValue)) {
+            return defaultValue;
+        }
+        synchronized (this) {
+            T answer = loader.apply(key, defaultValue);
+            if (answer != null && !answer.equals(defaultValue)) {
+                values.put(key, answer);
+            } else if (!contains.test(key)) {
+                values.put(key, REMOVED);
+            } else {
+                values.put(key, new Default(type, defaultValue));
+            }
+            return answer;
+        }
+    }
+
+    synchronized <T> void store(String key, T value, BiConsumer<String, T> writer) {
+        writer.accept(key, value);
+        values.put(key, value);
+    }
+
+    synchronized void remove(String key, Consumer<String> writer) {
+        writer.accept(key);
+        values.put(key, REMOVED);
+    }
+
+    synchronized void storeAll(Map<String, String> settings, Consumer<Map<String, String>> writer) {
+        writer.accept(settings);
+        settings.forEach((key, value) -> values.put(key, value == null ? REMOVED : value));
+    }
+
+    synchronized void invalidate() {
+        values.clear();
+    }
+
+    // a setting that was read as the default value of its lookup
+    private static final class Default {
+        final Class<?> type;
+        final Object value;
+
+        Default(Class<?> type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+
+        boolean matches(Class<?> type, Object value) {
+            return this.type == type && Objects.deepEquals(this.value, value);
+        }
+    }
+}
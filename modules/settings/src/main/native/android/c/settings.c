@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021, Gluon
+ * Copyright (c) 2020, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -31,7 +31,15 @@ static jclass jSettingsServiceClass;
 static jobject jDalvikSettingsService;
 static jmethodID jSettingsServiceStore;
 static jmethodID jSettingsServiceRemove;
+static jmethodID jSettingsServiceStoreAll;
+static jmethodID jSettingsServiceStoreInt;
+static jmethodID jSettingsServiceRetrieveInt;
+static jmethodID jSettingsServiceStoreLong;
+static jmethodID jSettingsServiceRetrieveLong;
+static jmethodID jSettingsServiceStoreBoolean;
+static jmethodID jSettingsServiceRetrieveBoolean;
 static jmethodID jSettingsServiceRetrieve;
+static jmethodID jSettingsServiceContains;
 
 static void initializeSettingsDalvikHandles() {
     jSettingsServiceClass = GET_REGISTER_DALVIK_CLASS(jSettingsServiceClass, "com/gluonhq/helloandroid/DalvikSettingsService");
@@ -39,7 +47,15 @@ static void initializeSettingsDalvikHandles() {
     jmethodID jSettingsServiceInitMethod = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "<init>", "(Landroid/app/Activity;)V");
     jSettingsServiceStore = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "store", "(Ljava/lang/String;Ljava/lang/String;)V");
     jSettingsServiceRemove = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "remove", "(Ljava/lang/String;)V");
+    jSettingsServiceStoreAll = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "storeAll", "([Ljava/lang/String;[Ljava/lang/String;)V");
     jSettingsServiceRetrieve = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "retrieve", "(Ljava/lang/String;)Ljava/lang/String;");
+    jSettingsServiceStoreInt = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "storeInt", "(Ljava/lang/String;I)V");
+    jSettingsServiceRetrieveInt = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "retrieveInt", "(Ljava/lang/String;I)I");
+    jSettingsServiceStoreLong = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "storeLong", "(Ljava/lang/String;J)V");
+    jSettingsServiceRetrieveLong = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "retrieveLong", "(Ljava/lang/String;J)J");
+    jSettingsServiceStoreBoolean = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "storeBoolean", "(Ljava/lang/String;Z)V");
+    jSettingsServiceRetrieveBoolean = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "retrieveBoolean", "(Ljava/lang/String;Z)Z");
+    jSettingsServiceContains = (*dalvikEnv)->GetMethodID(dalvikEnv, jSettingsServiceClass, "contains", "(Ljava/lang/String;)Z");
 
     jobject jActivity = substrateGetActivity();
     jobject jtmpobj = (*dalvikEnv)->NewObject(dalvikEnv, jSettingsServiceClass, jSettingsServiceInitMethod, jActivity);
@@ -103,6 +119,43 @@ JNIEXPORT void JNICALL Java_com_gluonhq_attach_settings_impl_AndroidSettingsServ
     // (*env)->ReleaseStringUTFChars(env, jkey, keyChars);
 }
 
+JNIEXPORT void JNICALL Java_com_gluonhq_attach_settings_impl_AndroidSettingsService_settingsStoreAll
+(JNIEnv *env, jclass jClass, jobjectArray jkeys, jobjectArray jvalues)
+{
+    jsize count = (*env)->GetArrayLength(env, jkeys);
+    ATTACH_DALVIK();
+    jclass jStringClass = (*dalvikEnv)->FindClass(dalvikEnv, "java/lang/String");
+    jobjectArray dkeys = (*dalvikEnv)->NewObjectArray(dalvikEnv, count, jStringClass, NULL);
+    jobjectArray dvalues = (*dalvikEnv)->NewObjectArray(dalvikEnv, count, jStringClass, NULL);
+    for (jsize i = 0; i < count; i++) {
+        jstring jkey = (jstring) (*env)->GetObjectArrayElement(env, jkeys, i);
+        const char *keyChars = (*env)->GetStringUTFChars(env, jkey, NULL);
+        jstring dkey = (*dalvikEnv)->NewStringUTF(dalvikEnv, keyChars);
+        (*dalvikEnv)->SetObjectArrayElement(dalvikEnv, dkeys, i, dkey);
+        (*dalvikEnv)->DeleteLocalRef(dalvikEnv, dkey);
+        (*env)->ReleaseStringUTFChars(env, jkey, keyChars);
+        (*env)->DeleteLocalRef(env, jkey);
+
+        // a null value removes the setting
+        jstring jvalue = (jstring) (*env)->GetObjectArrayElement(env, jvalues, i);
+        if (jvalue != NULL) {
+            const char *valueChars = (*env)->GetStringUTFChars(env, jvalue, NULL);
+            jstring dvalue = (*dalvikEnv)->NewStringUTF(dalvikEnv, valueChars);
+            (*dalvikEnv)->SetObjectArrayElement(dalvikEnv, dvalues, i, dvalue);
+            (*dalvikEnv)->DeleteLocalRef(dalvikEnv, dvalue);
+            (*env)->ReleaseStringUTFChars(env, jvalue, valueChars);
+            (*env)->DeleteLocalRef(env, jvalue);
+        }
+    }
+    if (isDebugAttach()) {
+        ATTACH_LOG_FINE("Storing %d settings\n", count);
+    }
+    (*dalvikEnv)->CallVoidMethod(dalvikEnv, jDalvikSettingsService, jSettingsServiceStoreAll, dkeys, dvalues);
+    (*dalvikEnv)->DeleteLocalRef(dalvikEnv, dkeys);
+    (*dalvikEnv)->DeleteLocalRef(dalvikEnv, dvalues);
+    DETACH_DALVIK();
+}
+
 JNIEXPORT jstring JNICALL Java_com_gluonhq_attach_settings_impl_AndroidSettingsService_settingsRetrieve
 (JNIEnv *env, jclass jClass, jstring jkey)
 {
@@ -128,3 +181,102 @@ JNIEXPORT jstring JNICALL Java_com_gluonhq_attach_settings_impl_AndroidSettingsS
     // (*env)->ReleaseStringUTFChars(env, jkey, keyChars);
     return (*env)->NewStringUTF(env, answerChars);
 }
+
+JNIEXPORT void JNICALL Java_com_gluonhq_attach_settings_impl_AndroidSettingsService_settingsStoreInt
+(JNIEnv *env, jclass jClass, jstring jkey, jint jvalue)
+{
+    const char *keyChars = (*env)->GetStringUTFChars(env, jkey, NULL);
+    ATTACH_DALVIK();
+    jstring dkey = (*dalvikEnv)->NewStringUTF(dalvikEnv, keyChars);
+    if (isDebugAttach()) {
+        ATTACH_LOG_FINE("Storing int setting for = %s\n", keyChars);
+    }
+    (*dalvikEnv)->CallVoidMethod(dalvikEnv, jDalvikSettingsService, jSettingsServiceStoreInt, dkey, jvalue);
+    DETACH_DALVIK();
+    (*env)->ReleaseStringUTFChars(env, jkey, keyChars);
+}
+
+JNIEXPORT jint JNICALL Java_com_gluonhq_attach_settings_impl_AndroidSettingsService_settingsRetrieveInt
+(JNIEnv *env, jclass jClass, jstring jkey, jint jdefault)
+{
+    const char *keyChars = (*env)->GetStringUTFChars(env, jkey, NULL);
+    ATTACH_DALVIK();
+    jstring dkey = (*dalvikEnv)->NewStringUTF(dalvikEnv, keyChars);
+    if (isDebugAttach()) {
+        ATTACH_LOG_FINE("Retrieving int setting for = %s\n", keyChars);
+    }
+    jint answer = (*dalvikEnv)->CallIntMethod(dalvikEnv, jDalvikSettingsService, jSettingsServiceRetrieveInt, dkey, jdefault);
+    DETACH_DALVIK();
+    (*env)->ReleaseStringUTFChars(env, jkey, keyChars);
+    return answer;
+}
+
+JNIEXPORT void JNICALL Java_com_gluonhq_attach_settings_impl_AndroidSettingsService_settingsStoreLong
+(JNIEnv *env, jclass jClass, jstring jkey, jlong jvalue)
+{
+    const char *keyChars = (*env)->GetStringUTFChars(env, jkey, NULL);
+    ATTACH_DALVIK();
+    jstring dkey = (*dalvikEnv)->NewStringUTF(dalvikEnv, keyChars);
+    if (isDebugAttach()) {
+        ATTACH_LOG_FINE("Storing long setting for = %s\n", keyChars);
+    }
+    (*dalvikEnv)->CallVoidMethod(dalvikEnv, jDalvikSettingsService, jSettingsServiceStoreLong, dkey, jvalue);
+    DETACH_DALVIK();
+    (*env)->ReleaseStringUTFChars(env, jkey, keyChars);
+}
+
+JNIEXPORT jlong JNICALL Java_com_gluonhq_attach_settings_impl_AndroidSettingsService_settingsRetrieveLong
+(JNIEnv *env, jclass jClass, jstring jkey, jlong jdefault)
+{
+    const char *keyChars = (*env)->GetStringUTFChars(env, jkey, NULL);
+    ATTACH_DALVIK();
+    jstring dkey = (*dalvikEnv)->NewStringUTF(dalvikEnv, keyChars);
+    if (isDebugAttach()) {
+        ATTACH_LOG_FINE("Retrieving long setting for = %s\n", keyChars);
+    }
+    jlong answer = (*dalvikEnv)->CallLongMethod(dalvikEnv, jDalvikSettingsService, jSettingsServiceRetrieveLong, dkey, jdefault);
+    DETACH_DALVIK();
+    (*env)->ReleaseStringUTFChars(env, jkey, keyChars);
+    return answer;
+}
+
+JNIEXPORT void JNICALL Java_com_gluonhq_attach_settings_impl_AndroidSettingsService_settingsStoreBoolean
+(JNIEnv *env, jclass jClass, jstring jkey, jboolean jvalue)
+{
+    const char *keyChars = (*env)->GetStringUTFChars(env, jkey, NULL);
+    ATTACH_DALVIK();
+    jstring dkey = (*dalvikEnv)->NewStringUTF(dalvikEnv, keyChars);
+    if (isDebugAttach()) {
+        ATTACH_LOG_FINE("Storing boolean setting for = %s\n", keyChars);
+    }
+    (*dalvikEnv)->CallVoidMethod(dalvikEnv, jDalvikSettingsService, jSettingsServiceStoreBoolean, dkey, jvalue);
+    DETACH_DALVIK();
+    (*env)->ReleaseStringUTFChars(env, jkey, keyChars);
+}
+
+JNIEXPORT jboolean JNICALL Java_com_gluonhq_attach_settings_impl_AndroidSettingsService_settingsRetrieveBoolean
+(JNIEnv *env, jclass jClass, jstring jkey, jboolean jdefault)
+{
+    const char *keyChars = (*env)->GetStringUTFChars(env, jkey, NULL);
+    ATTACH_DALVIK();
+    jstring dkey = (*dalvikEnv)->NewStringUTF(dalvikEnv, keyChars);
+    if (isDebugAttach()) {
+        ATTACH_LOG_FINE("Retrieving boolean setting for = %s\n", keyChars);
+    }
+    jboolean answer = (*dalvikEnv)->CallBooleanMethod(dalvikEnv, jDalvikSettingsService, jSettingsServiceRetrieveBoolean, dkey, jdefault);
+    DETACH_DALVIK();
+    (*env)->ReleaseStringUTFChars(env, jkey, keyChars);
+    return answer;
+}
+
+JNIEXPORT jboolean JNICALL Java_com_gluonhq_attach_settings_impl_AndroidSettingsService_settingsContains
+(JNIEnv *env, jclass jClass, jstring jkey)
+{
+    const char *keyChars = (*env)->GetStringUTFChars(env, jkey, NULL);
+    ATTACH_DALVIK();
+    jstring dkey = (*dalvikEnv)->NewStringUTF(dalvikEnv, keyChars);
+    jboolean answer = (*dalvikEnv)->CallBooleanMethod(dalvikEnv, jDalvikSettingsService, jSettingsServiceContains, dkey);
+    DETACH_DALVIK();
+    (*env)->ReleaseStringUTFChars(env, jkey, keyChars);
+    return answer;
+}
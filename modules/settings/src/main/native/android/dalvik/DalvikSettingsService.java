@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Gluon
+ * Copyright (c) 2020, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -63,8 +63,106 @@ public class DalvikSettingsService  {
         Log.v(TAG, String.format("Removed setting %s = \"%s\"", key, value));
     }
 
+    // a null value removes the setting, all the changes are committed at once
+    private void storeAll(String[] keys, String[] values) {
+        SharedPreferences.Editor editor = settings.edit();
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] == null) {
+                editor.remove(keys[i]);
+            } else {
+                editor.putString(keys[i], values[i]);
+            }
+        }
+        editor.commit();
+        if (debug) {
+            Log.v(TAG, String.format("Updated %d settings", keys.length));
+        }
+    }
+
     private String retrieve(String key) {
-        return settings.getString(key, null);
+        try {
+            return settings.getString(key, null);
+        } catch (ClassCastException e) {
+            // stored with a type
+            return String.valueOf(settings.getAll().get(key));
+        }
+    }
+
+    private void storeInt(String key, int value) {
+        SharedPreferences.Editor editor = settings.edit();
+        editor.putInt(key, value);
+        editor.commit();
+        if (debug) {
+            Log.v(TAG, String.format("Updated setting %s = %d", key, value));
+        }
+    }
+
+    private int retrieveInt(String key, int defaultValue) {
+        try {
+            return settings.getInt(key, defaultValue);
+        } catch (ClassCastException e) {
+            // stored as a string
+            Object value = settings.getAll().get(key);
+            try {
+                return value instanceof String ? Integer.parseInt((String) value) : defaultValue;
+            } catch (NumberFormatException nfe) {
+                return defaultValue;
+            }
+        }
+    }
+
+    private void storeLong(String key, long value) {
+        SharedPreferences.Editor editor = settings.edit();
+        editor.putLong(key, value);
+        editor.commit();
+        if (debug) {
+            Log.v(TAG, String.format("Updated setting %s = %d", key, value));
+        }
+    }
+
+    private long retrieveLong(String key, long defaultValue) {
+        try {
+            return settings.getLong(key, defaultValue);
+        } catch (ClassCastException e) {
+            // stored as an int or as a string
+            Object value = settings.getAll().get(key);
+            if (value instanceof Integer) {
+                return (Integer) value;
+            }
+            try {
+                return value instanceof String ? Long.parseLong((String) value) : defaultValue;
+            } catch (NumberFormatException nfe) {
+                return defaultValue;
+            }
+        }
+    }
+
+    private void storeBoolean(String key, boolean value) {
+        SharedPreferences.Editor editor = settings.edit();
+        editor.putBoolean(key, value);
+        editor.commit();
+        if (debug) {
+            Log.v(TAG, String.format("Updated setting %s = %b", key, value));
+        }
+    }
+
+    private boolean retrieveBoolean(String key, boolean defaultValue) {
+        try {
+            return settings.getBoolean(key, defaultValue);
+        } catch (ClassCastException e) {
+            // stored as a string
+            Object value = settings.getAll().get(key);
+            if ("true".equals(value)) {
+                return true;
+            } else if ("false".equals(value)) {
+                return false;
+            }
+            return defaultValue;
+        }
+    }
+
+    private boolean contains(String key) {
+        return settings.contains(key);
     }
 
 }
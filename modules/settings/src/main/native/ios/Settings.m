@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -27,6 +27,9 @@
  */
 
 #import <UIKit/UIKit.h>
+#include <ctype.h>
+#include <errno.h>
+#include <stdlib.h>
 #include "jni.h"
 #include "AttachMacros.h"
 
@@ -92,6 +95,35 @@ JNIEXPORT void JNICALL Java_com_gluonhq_attach_settings_impl_IOSSettingsService_
     }
 }
 
+JNIEXPORT void JNICALL Java_com_gluonhq_attach_settings_impl_IOSSettingsService_settingsStoreAll
+(JNIEnv *env, jclass jClass, jobjectArray jKeys, jobjectArray jValues)
+{
+    NSUserDefaults *defaults = [NSUserDefaults standardUserDefaults];
+    jsize count = (*env)->GetArrayLength(env, jKeys);
+    for (jsize i = 0; i < count; i++) {
+        jstring jKey = (jstring) (*env)->GetObjectArrayElement(env, jKeys, i);
+        const jchar *charsKey = (*env)->GetStringChars(env, jKey, NULL);
+        NSString *key = [NSString stringWithCharacters:(UniChar *)charsKey length:(*env)->GetStringLength(env, jKey)];
+        (*env)->ReleaseStringChars(env, jKey, charsKey);
+        (*env)->DeleteLocalRef(env, jKey);
+
+        // a null value removes the setting
+        jstring jValue = (jstring) (*env)->GetObjectArrayElement(env, jValues, i);
+        if (jValue == NULL) {
+            [defaults removeObjectForKey:key];
+        } else {
+            const jchar *charsVal = (*env)->GetStringChars(env, jValue, NULL);
+            NSString *value = [NSString stringWithCharacters:(UniChar *)charsVal length:(*env)->GetStringLength(env, jValue)];
+            (*env)->ReleaseStringChars(env, jValue, charsVal);
+            (*env)->DeleteLocalRef(env, jValue);
+            [defaults setObject:value forKey:key];
+        }
+    }
+    if (debugAttach) {
+        AttachLog(@"Done storing %d settings", count);
+    }
+}
+
 JNIEXPORT jstring JNICALL Java_com_gluonhq_attach_settings_impl_IOSSettingsService_settingsRetrieve
 (JNIEnv *env, jclass jClass, jstring jKey)
 {
@@ -99,14 +131,144 @@ JNIEXPORT jstring JNICALL Java_com_gluonhq_attach_settings_impl_IOSSettingsServi
     NSString *key = [NSString stringWithCharacters:(UniChar *)charsKey length:(*env)->GetStringLength(env, jKey)];
     (*env)->ReleaseStringChars(env, jKey, charsKey);
 
-    NSString *value = [[NSUserDefaults standardUserDefaults] objectForKey:key];
-    if (!value) {
+    id object = [[NSUserDefaults standardUserDefaults] objectForKey:key];
+    if (!object) {
         AttachLog(@"Error: %@ not found", key);
         return NULL;
-    }   
+    }
+    NSString *value = object;
+    if (CFGetTypeID((__bridge CFTypeRef) object) == CFBooleanGetTypeID()) {
+        // a boolean stored with its type, whose stringValue is 1 or 0
+        value = [object boolValue] ? @"true" : @"false";
+    } else if ([object isKindOfClass:[NSNumber class]]) {
+        // a number stored with its type
+        value = [object stringValue];
+    }
+    if (![value isKindOfClass:[NSString class]]) {
+        return NULL;
+    }
     if (debugAttach) {
         AttachLog(@"Done retreiving %@", key);
     }
     const char *valueChars = [value UTF8String];
     return (*env)->NewStringUTF(env, valueChars);
-}
\ No newline at end of file
+}
+
+JNIEXPORT jboolean JNICALL Java_com_gluonhq_attach_settings_impl_IOSSettingsService_settingsContains
+(JNIEnv *env, jclass jClass, jstring jKey)
+{
+    const jchar *charsKey = (*env)->GetStringChars(env, jKey, NULL);
+    NSString *key = [NSString stringWithCharacters:(UniChar *)charsKey length:(*env)->GetStringLength(env, jKey)];
+    (*env)->ReleaseStringChars(env, jKey, charsKey);
+
+    return [[NSUserDefaults standardUserDefaults] objectForKey:key] != nil ? JNI_TRUE : JNI_FALSE;
+}
+
+JNIEXPORT void JNICALL Java_com_gluonhq_attach_settings_impl_IOSSettingsService_settingsStoreLong
+(JNIEnv *env, jclass jClass, jstring jKey, jlong jValue)
+{
+    const jchar *charsKey = (*env)->GetStringChars(env, jKey, NULL);
+    NSString *key = [NSString stringWithCharacters:(UniChar *)charsKey length:(*env)->GetStringLength(env, jKey)];
+    (*env)->ReleaseStringChars(env, jKey, charsKey);
+
+    [[NSUserDefaults standardUserDefaults] setObject:[NSNumber numberWithLongLong:jValue] forKey:key];
+    if (debugAttach) {
+        AttachLog(@"Done storing long %@", key);
+    }
+}
+
+JNIEXPORT jlong JNICALL Java_com_gluonhq_attach_settings_impl_IOSSettingsService_settingsRetrieveLong
+(JNIEnv *env, jclass jClass, jstring jKey, jlong jDefault)
+{
+    const jchar *charsKey = (*env)->GetStringChars(env, jKey, NULL);
+    NSString *key = [NSString stringWithCharacters:(UniChar *)charsKey length:(*env)->GetStringLength(env, jKey)];
+    (*env)->ReleaseStringChars(env, jKey, charsKey);
+
+    id value = [[NSUserDefaults standardUserDefaults] objectForKey:key];
+    if ([value isKindOfClass:[NSString class]]) {
+        // stored as a string, it is parsed as Long.parseLong would
+        const char *chars = [value UTF8String];
+        char *end;
+        errno = 0;
+        long long answer = strtoll(chars, &end, 10);
+        if (end == chars || *end != '\0' || isspace((unsigned char) *chars) || errno == ERANGE) {
+            return jDefault;
+        }
+        return answer;
+    }
+    if (![value isKindOfClass:[NSNumber class]]) {
+        return jDefault;
+    }
+    return [value longLongValue];
+}
+
+JNIEXPORT void JNICALL Java_com_gluonhq_attach_settings_impl_IOSSettingsService_settingsStoreBoolean
+(JNIEnv *env, jclass jClass, jstring jKey, jboolean jValue)
+{
+    const jchar *charsKey = (*env)->GetStringChars(env, jKey, NULL);
+    NSString *key = [NSString stringWithCharacters:(UniChar *)charsKey length:(*env)->GetStringLength(env, jKey)];
+    (*env)->ReleaseStringChars(env, jKey, charsKey);
+
+    [[NSUserDefaults standardUserDefaults] setObject:[NSNumber numberWithBool:(jValue == JNI_TRUE)] forKey:key];
+    if (debugAttach) {
+        AttachLog(@"Done storing boolean %@", key);
+    }
+}
+
+JNIEXPORT jboolean JNICALL Java_com_gluonhq_attach_settings_impl_IOSSettingsService_settingsRetrieveBoolean
+(JNIEnv *env, jclass jClass, jstring jKey, jboolean jDefault)
+{
+    const jchar *charsKey = (*env)->GetStringChars(env, jKey, NULL);
+    NSString *key = [NSString stringWithCharacters:(UniChar *)charsKey length:(*env)->GetStringLength(env, jKey)];
+    (*env)->ReleaseStringChars(env, jKey, charsKey);
+
+    id value = [[NSUserDefaults standardUserDefaults] objectForKey:key];
+    if ([value isKindOfClass:[NSString class]]) {
+        // stored as a string
+        if ([value isEqualToString:@"true"]) {
+            return JNI_TRUE;
+        } else if ([value isEqualToString:@"false"]) {
+            return JNI_FALSE;
+        }
+        return jDefault;
+    }
+    if (![value isKindOfClass:[NSNumber class]]) {
+        return jDefault;
+    }
+    return ([value boolValue] ? JNI_TRUE : JNI_FALSE);
+}
+
+JNIEXPORT void JNICALL Java_com_gluonhq_attach_settings_impl_IOSSettingsService_settingsStoreBytes
+(JNIEnv *env, jclass jClass, jstring jKey, jbyteArray jValue)
+{
+    const jchar *charsKey = (*env)->GetStringChars(env, jKey, NULL);
+    NSString *key = [NSString stringWithCharacters:(UniChar *)charsKey length:(*env)->GetStringLength(env, jKey)];
+    (*env)->ReleaseStringChars(env, jKey, charsKey);
+
+    jsize length = (*env)->GetArrayLength(env, jValue);
+    jbyte *bytes = (*env)->GetByteArrayElements(env, jValue, NULL);
+    NSData *value = [NSData dataWithBytes:bytes length:length];
+    (*env)->ReleaseByteArrayElements(env, jValue, bytes, JNI_ABORT);
+
+    [[NSUserDefaults standardUserDefaults] setObject:value forKey:key];
+    if (debugAttach) {
+        AttachLog(@"Done storing %d bytes to %@", length, key);
+    }
+}
+
+JNIEXPORT jbyteArray JNICALL Java_com_gluonhq_attach_settings_impl_IOSSettingsService_settingsRetrieveBytes
+(JNIEnv *env, jclass jClass, jstring jKey)
+{
+    const jchar *charsKey = (*env)->GetStringChars(env, jKey, NULL);
+    NSString *key = [NSString stringWithCharacters:(UniChar *)charsKey length:(*env)->GetStringLength(env, jKey)];
+    (*env)->ReleaseStringChars(env, jKey, charsKey);
+
+    id value = [[NSUserDefaults standardUserDefaults] objectForKey:key];
+    if (![value isKindOfClass:[NSData class]]) {
+        return NULL;
+    }
+    NSData *data = (NSData *) value;
+    jbyteArray answer = (*env)->NewByteArray(env, (jsize) [data length]);
+    (*env)->SetByteArrayRegion(env, answer, 0, (jsize) [data length], (const jbyte *) [data bytes]);
+    return answer;
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.settings.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DesktopSettingsServiceTest {
+
+    @TempDir
+    Path home;
+
+    private String userHome;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", home.toString());
+        Files.createDirectories(home.resolve(".gluon"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setProperty("user.home", userHome);
+    }
+
+    @Test
+    void typedRetrieveKeepsStoredString() throws IOException {
+        Files.writeString(home.resolve(".gluon/settings.properties"), "int=007\nlong=+42\ndouble=1e3\n");
+        DesktopSettingsService service = new DesktopSettingsService();
+
+        assertEquals(7, service.retrieveInt("int", 0));
+        assertEquals(42L, service.retrieveLong("long", 0));
+        assertEquals(1000.0, service.retrieveDouble("double", 0));
+        assertEquals(7L, service.retrieveLong("int", 0));
+        assertEquals(7, service.retrieveInt("int", 0));
+
+        assertEquals("007", service.retrieve("int"));
+        assertEquals("+42", service.retrieve("long"));
+        assertEquals("1e3", service.retrieve("double"));
+
+        service.store("other", "value");
+        service.flush();
+        Properties saved = load(home.resolve(".gluon/settings.properties"));
+        assertEquals("007", saved.getProperty("int"));
+        assertEquals("+42", saved.getProperty("long"));
+        assertEquals("1e3", saved.getProperty("double"));
+    }
+
+    @Test
+    void parsedValueFollowsChanges() {
+        DesktopSettingsService service = new DesktopSettingsService();
+        service.store("key", "1");
+        assertEquals(1, service.retrieveInt("key", 0));
+        service.store("key", "2");
+        assertEquals(2, service.retrieveInt("key", 0));
+        service.remove("key");
+        assertEquals(-1, service.retrieveInt("key", -1));
+        service.storeInt("key", 3);
+        assertEquals("3", service.retrieve("key"));
+        assertEquals(3, service.retrieveInt("key", 0));
+        service.flush();
+    }
+
+    @Test
+    void storeAllAppliesChangesTogether() throws IOException {
+        DesktopSettingsService service = new DesktopSettingsService();
+        service.store("removed", "value");
+        Map<String, String> changes = new HashMap<>();
+        changes.put("a", "1");
+        changes.put("b", "2");
+        changes.put("removed", null);
+        service.storeAll(changes);
+        service.flush();
+
+        assertEquals("1", service.retrieve("a"));
+        assertNull(service.retrieve("removed"));
+        Properties saved = load(home.resolve(".gluon/settings.properties"));
+        assertEquals("2", saved.getProperty("b"));
+        assertFalse(saved.containsKey("removed"));
+    }
+
+    @Test
+    void flushReplacesFile() throws IOException {
+        DesktopSettingsService service = new DesktopSettingsService();
+        for (int i = 0; i < 100; i++) {
+            service.store("key" + i, "value" + i);
+        }
+        service.flush();
+
+        Properties saved = load(home.resolve(".gluon/settings.properties"));
+        assertEquals(100, saved.size());
+        assertEquals("value99", saved.getProperty("key99"));
+        assertFalse(Files.exists(home.resolve(".gluon/settings.properties.tmp")));
+    }
+
+    @Test
+    void fallsBackToPropertiesWhenLogCantBeOpened() throws IOException {
+        // a directory in place of the log file
+        Files.createDirectories(home.resolve(".gluon/settings.log"));
+        String store = System.getProperty("attach.settings.store");
+        System.setProperty("attach.settings.store", "log");
+        try {
+            DesktopSettingsService service = new DesktopSettingsService();
+            service.store("key", "value");
+            service.flush();
+        } finally {
+            if (store == null) {
+                System.clearProperty("attach.settings.store");
+            } else {
+                System.setProperty("attach.settings.store", store);
+            }
+        }
+        assertEquals("value", load(home.resolve(".gluon/settings.properties")).getProperty("key"));
+    }
+
+    private static Properties load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.settings.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LogSettingsServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayMatchesModel() throws IOException {
+        Random random = new Random(20);
+        LogSettingsService service = new LogSettingsService(directory.toFile());
+        Map<String, String> model = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            String key = "key" + random.nextInt(50);
+            int op = random.nextInt(100);
+            if (op < 30) {
+                String value = "value" + random.nextInt();
+                service.store(key, value);
+                model.put(key, value);
+            } else if (op < 40) {
+                int value = random.nextInt();
+                service.storeInt(key, value);
+                model.put(key, Integer.toString(value));
+            } else if (op < 45) {
+                double value = random.nextDouble();
+                service.storeDouble(key, value);
+                model.put(key, Double.toString(value));
+            } else if (op < 50) {
+                byte[] value = new byte[random.nextInt(40)];
+                random.nextBytes(value);
+                service.storeBytes(key, value);
+                model.put(key, Base64.getEncoder().encodeToString(value));
+            } else if (op < 65) {
+                service.remove(key);
+                model.remove(key);
+            } else if (op < 70) {
+                Map<String, String> changes = new HashMap<>();
+                for (int j = random.nextInt(5); j >= 0; j--) {
+                    changes.put("key" + random.nextInt(50), random.nextBoolean() ? null : "batch" + random.nextInt());
+                }
+                service.storeAll(changes);
+                changes.forEach((k, v) -> {
+                    if (v == null) {
+                        model.remove(k);
+                    } else {
+                        model.put(k, v);
+                    }
+                });
+            } else if (op < 99) {
+                assertEquals(model.get(key), service.retrieve(key));
+            } else {
+                service.flush();
+                service.close();
+                service = new LogSettingsService(directory.toFile());
+            }
+        }
+        service.flush();
+        service.close();
+        LogSettingsService replayed = new LogSettingsService(directory.toFile());
+        for (int k = 0; k < 50; k++) {
+            assertEquals(model.get("key" + k), replayed.retrieve("key" + k));
+        }
+        replayed.close();
+    }
+
+    @Test
+    void typedValuesSurviveReplay() throws IOException {
+        LogSettingsService service = new LogSettingsService(directory.toFile());
+        byte[] bytes = {0, 1, -1, 127};
+        service.storeInt("int", 7);
+        service.storeLong("long", Long.MAX_VALUE);
+        service.storeDouble("double", 0.1);
+        service.storeBoolean("boolean", true);
+        service.storeBytes("bytes", bytes);
+        service.flush();
+        service.close();
+
+        LogSettingsService replayed = new LogSettingsService(directory.toFile());
+        assertEquals(7, replayed.retrieveInt("int", 0));
+        assertEquals(Long.MAX_VALUE, replayed.retrieveLong("long", 0));
+        assertEquals(0.1, replayed.retrieveDouble("double", 0));
+        assertEquals(true, replayed.retrieveBoolean("boolean", false));
+        assertEquals(Arrays.toString(bytes), Arrays.toString(replayed.retrieveBytes("bytes")));
+        assertEquals("7", replayed.retrieve("int"));
+        replayed.close();
+    }
+
+    @Test
+    void failedAppendsAreNotApplied() throws IOException {
+        LogSettingsService service = new LogSettingsService(directory.toFile());
+        service.store("a", "1");
+        // the log can't be written anymore
+        service.close();
+        assertThrows(UncheckedIOException.class, () -> service.store("b", "2"));
+        assertThrows(UncheckedIOException.class, () -> service.remove("a"));
+        assertThrows(UncheckedIOException.class, () -> service.storeAll(Collections.singletonMap("a", null)));
+        assertEquals("1", service.retrieve("a"));
+        assertNull(service.retrieve("b"));
+
+        LogSettingsService replayed = new LogSettingsService(directory.toFile());
+        assertEquals("1", replayed.retrieve("a"));
+        assertNull(replayed.retrieve("b"));
+        replayed.close();
+    }
+}
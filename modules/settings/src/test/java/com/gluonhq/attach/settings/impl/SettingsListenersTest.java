@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.settings.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SettingsListenersTest {
+
+    @TempDir
+    Path home;
+
+    private String userHome;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", home.toString());
+        Files.createDirectories(home.resolve(".gluon"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setProperty("user.home", userHome);
+    }
+
+    @Test
+    void listenersAreNotifiedOfChanges() {
+        DesktopSettingsService service = new DesktopSettingsService();
+        List<String> values = new CopyOnWriteArrayList<>();
+        Consumer<String> listener = values::add;
+        service.addListener("key", listener);
+
+        service.store("key", "a");
+        service.store("other", "b");
+        service.storeInt("key", 3);
+        service.storeAll(Map.of("key", "c"));
+        service.remove("key");
+        service.removeListener("key", listener);
+        service.store("key", "d");
+
+        assertEquals(List.of("a", "3", "c"), values.subList(0, 3));
+        assertEquals(4, values.size());
+        assertEquals(null, values.get(3));
+        service.flush();
+    }
+
+    @Test
+    void changesMadeByOtherProcessesAreNotified() throws IOException, InterruptedException {
+        DesktopSettingsService service = new DesktopSettingsService();
+        BlockingQueue<String> values = new LinkedBlockingQueue<>();
+        service.addListener("key", value -> values.add(String.valueOf(value)));
+        service.store("key", "mine");
+        assertEquals("mine", values.take());
+        service.flush();
+
+        // the file written by the service itself is not a change
+        Thread.sleep(500);
+        assertTrue(values.isEmpty());
+
+        // another service replaces the file
+        Properties external = new Properties();
+        external.setProperty("key", "theirs");
+        Path tempFile = home.resolve(".gluon/other.tmp");
+        try (OutputStream output = Files.newOutputStream(tempFile)) {
+            external.store(output, null);
+        }
+        Files.move(tempFile, home.resolve(".gluon/settings.properties"), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        assertEquals("theirs", values.poll(10, TimeUnit.SECONDS));
+        assertEquals("theirs", service.retrieve("key"));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.settings.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SettingsReadCacheTest {
+
+    // stands for the native store
+    private final Map<String, Object> store = new HashMap<>();
+    private final AtomicInteger reads = new AtomicInteger();
+    private final SettingsReadCache cache = new SettingsReadCache();
+
+    @Test
+    void readsAreCached() {
+        store.put("key", "value");
+        assertEquals("value", cache.retrieve("key", this::read));
+        assertEquals("value", cache.retrieve("key", this::read));
+        assertNull(cache.retrieve("missing", this::read));
+        assertNull(cache.retrieve("missing", this::read));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void writesGoThroughTheCache() {
+        cache.store("key", "value", store::put);
+        assertEquals("value", store.get("key"));
+        assertEquals("value", cache.retrieve("key", this::read));
+        cache.remove("key", store::remove);
+        assertNull(cache.retrieve("key", this::read));
+        assertEquals(7, (int) cache.retrieve("key", Integer.class, 7, this::readInt, store::containsKey));
+
+        Map<String, String> changes = new HashMap<>();
+        changes.put("a", "1");
+        changes.put("b", null);
+        cache.storeAll(changes, store::putAll);
+        assertEquals("1", cache.retrieve("a", this::read));
+        assertNull(cache.retrieve("b", this::read));
+        assertEquals(0, reads.get());
+    }
+
+    @Test
+    void defaultValuesAreCached() {
+        // missing
+        assertEquals(5, (int) cache.retrieve("missing", Integer.class, 5, this::readInt, store::containsKey));
+        assertEquals(5, (int) cache.retrieve("missing", Integer.class, 5, this::readInt, store::containsKey));
+        assertEquals(6, (int) cache.retrieve("missing", Integer.class, 6, this::readInt, store::containsKey));
+        assertNull(cache.retrieve("missing", this::read));
+        // stored with the default value
+        store.put("key", 5);
+        assertEquals(5, (int) cache.retrieve("key", Integer.class, 5, this::readInt, store::containsKey));
+        assertEquals(5, (int) cache.retrieve("key", Integer.class, 5, this::readInt, store::containsKey));
+        assertEquals(2, reads.get());
+        // it could be a setting that can't be read as the type, so another default reads it again
+        assertEquals(5, (int) cache.retrieve("key", Integer.class, 7, this::readInt, store::containsKey));
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    void unreadableValuesReturnTheDefault() {
+        store.put("key", "text");
+        assertEquals(5, (int) cache.retrieve("key", Integer.class, 5, this::readInt, store::containsKey));
+        assertEquals(7, (int) cache.retrieve("key", Integer.class, 7, this::readInt, store::containsKey));
+        assertEquals("text", cache.retrieve("key", this::read));
+    }
+
+    @Test
+    void invalidateReadsAgain() {
+        store.put("key", "value");
+        cache.retrieve("key", this::read);
+        store.put("key", "changed");
+        assertEquals("value", cache.retrieve("key", this::read));
+        cache.invalidate();
+        assertEquals("changed", cache.retrieve("key", this::read));
+    }
+
+    private String read(String key) {
+        reads.incrementAndGet();
+        Object value = store.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    private Integer readInt(String key, Integer defaultValue) {
+        reads.incrementAndGet();
+        Object value = store.get(key);
+        return value instanceof Integer ? (Integer) value : defaultValue;
+    }
+}
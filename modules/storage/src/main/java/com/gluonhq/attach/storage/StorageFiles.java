@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.storage;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The file operations behind the default methods of {@link StorageService}.
+ */
+final class StorageFiles {
+
+    // large enough to copy a stream with few system calls
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private StorageFiles() {
+    }
+
+    static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    static long copy(InputStream input, Path target) throws IOException {
+        if (input instanceof FileInputStream) {
+            FileChannel source = ((FileInputStream) input).getChannel();
+            return replace(target, output -> transfer(source, output));
+        }
+        return replace(target, output -> {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long count = 0;
+            int length;
+            while ((length = input.read(buffer.array())) != -1) {
+                buffer.limit(length);
+                write(buffer, output);
+                buffer.clear();
+                count += length;
+            }
+            return count;
+        });
+    }
+
+    static long copy(URL source, Path target) throws IOException {
+        if (!"file".equals(source.getProtocol())) {
+            try (InputStream input = source.openStream()) {
+                return copy(input, target);
+            }
+        }
+        Path path;
+        try {
+            path = Paths.get(source.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new IOException("Invalid file URL " + source, e);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return replace(target, output -> transfer(channel, output));
+        }
+    }
+
+    static void write(Path target, byte[] content) throws IOException {
+        replace(target, output -> {
+            write(ByteBuffer.wrap(content), output);
+            return content.length;
+        });
+    }
+
+    /**
+     * Writes a temporary file next to the target, forces it to the storage device,
+     * and moves it over the target, so the target has either its previous content
+     * or the new one, even if the application or the system crashes meanwhile.
+     */
+    private static long replace(Path target, ChannelWriter writer) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // unlike Files.createTempFile, keeps the default permissions of new files
+        Path tempFile = directory.resolve("." + target.getFileName() + "."
+                + Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36) + ".tmp");
+        try {
+            long count;
+            try (FileChannel output = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                count = writer.write(output);
+                output.force(false);
+            }
+            try {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return count;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Transfers the rest of the source file, letting the platform copy it without
+     * going through the Java heap when it can.
+     */
+    private static long transfer(FileChannel source, FileChannel output) throws IOException {
+        long position = source.position();
+        long size = source.size();
+        while (position < size) {
+            long count = source.transferTo(position, size - position, output);
+            if (count <= 0) {
+                break;
+            }
+            position += count;
+        }
+        long transferred = position - source.position();
+        source.position(position);
+        return transferred;
+    }
+
+    private static void write(ByteBuffer buffer, FileChannel output) throws IOException {
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+    }
+
+    private interface ChannelWriter {
+        long write(FileChannel output) throws IOException;
+    }
+}
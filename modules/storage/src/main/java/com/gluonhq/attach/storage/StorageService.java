@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -30,6 +30,10 @@ package com.gluonhq.attach.storage;
 import com.gluonhq.attach.util.Services;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
 import java.util.Optional;
 
 /**
@@ -43,6 +47,10 @@ import java.util.Optional;
  *      .orElseThrow(() -> new FileNotFoundException("Could not access private storage."));
  *  });}</pre>
  *
+ * <p>Files in storage can be read through a memory-mapped view with {@link #map(File)},
+ * and written with {@link #copy(InputStream, File)}, {@link #copy(URL, File)} and
+ * {@link #write(File, byte[])}, that replace the target file atomically.</p>
+ *
  * <p><b>Android Configuration</b></p>
  * <p>The permissions <code>android.permission.READ_EXTERNAL_STORAGE</code> and
  * <code>android.permission.WRITE_EXTERNAL_STORAGE</code> are required if you want to access the external
@@ -111,4 +119,63 @@ public interface StorageService {
      * @return true if the externalStorage is at least readable, false otherwise
      */
     boolean isExternalStorageReadable() ;
+
+    /**
+     * Opens a read-only, memory-mapped view of a file, so it can be read without
+     * copying it to the Java heap. The view remains valid after the file is closed,
+     * and until it is garbage collected.
+     *
+     * @param file the file to map
+     * @return a read-only buffer with the content of the file
+     * @throws IOException if the file can't be opened or mapped
+     * @since 4.0.26
+     */
+    default MappedByteBuffer map(File file) throws IOException {
+        return StorageFiles.map(file.toPath());
+    }
+
+    /**
+     * Copies the rest of a stream into a file, that is atomically replaced: if the
+     * copy fails, the file keeps its previous content, or doesn't exist if it didn't
+     * exist before. The parent directories of the file are created if needed. A file
+     * input stream is copied by the platform, without going through the Java heap.
+     * The stream is not closed.
+     *
+     * @param input the stream to copy
+     * @param target the file to write
+     * @return the number of bytes that were copied
+     * @throws IOException if the stream can't be read, or the file can't be written
+     * @since 4.0.26
+     */
+    default long copy(InputStream input, File target) throws IOException {
+        return StorageFiles.copy(input, target.toPath());
+    }
+
+    /**
+     * Copies a resource into a file, that is atomically replaced, as
+     * {@link #copy(InputStream, File)} does. A <code>file:</code> URL is copied
+     * by the platform, without going through the Java heap.
+     *
+     * @param source the URL of the resource to copy
+     * @param target the file to write
+     * @return the number of bytes that were copied
+     * @throws IOException if the resource can't be read, or the file can't be written
+     * @since 4.0.26
+     */
+    default long copy(URL source, File target) throws IOException {
+        return StorageFiles.copy(source, target.toPath());
+    }
+
+    /**
+     * Writes the given content to a file, that is atomically replaced, as
+     * {@link #copy(InputStream, File)} does.
+     *
+     * @param target the file to write
+     * @param content the new content of the file
+     * @throws IOException if the file can't be written
+     * @since 4.0.26
+     */
+    default void write(File target, byte[] content) throws IOException {
+        StorageFiles.write(target.toPath(), content);
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StorageFilesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeReplacesContent() throws IOException {
+        Path target = directory.resolve("sub/file.bin");
+        StorageFiles.write(target, bytes(1, 1000));
+        StorageFiles.write(target, bytes(2, 10));
+        assertArrayEquals(bytes(2, 10), Files.readAllBytes(target));
+        assertEquals(1, countFiles(target.getParent()));
+    }
+
+    @Test
+    void copiesStreamsFilesAndUrls() throws IOException {
+        byte[] content = bytes(3, 200_000);
+        Path source = directory.resolve("source.bin");
+        Files.write(source, content);
+
+        Path fromStream = directory.resolve("stream.bin");
+        assertEquals(content.length, StorageFiles.copy(new ByteArrayInputStream(content), fromStream));
+        assertArrayEquals(content, Files.readAllBytes(fromStream));
+
+        Path fromFile = directory.resolve("file.bin");
+        try (InputStream input = new FileInputStream(source.toFile())) {
+            assertEquals(content.length, StorageFiles.copy(input, fromFile));
+        }
+        assertArrayEquals(content, Files.readAllBytes(fromFile));
+
+        Path fromUrl = directory.resolve("url.bin");
+        assertEquals(content.length, StorageFiles.copy(source.toUri().toURL(), fromUrl));
+        assertArrayEquals(content, Files.readAllBytes(fromUrl));
+    }
+
+    @Test
+    void failedCopyKeepsPreviousContent() throws IOException {
+        Path target = directory.resolve("file.bin");
+        StorageFiles.write(target, bytes(4, 100));
+        InputStream failing = new InputStream() {
+            private int count;
+
+            @Override
+            public int read() throws IOException {
+                if (count++ >= 50) {
+                    throw new IOException("failed");
+                }
+                return 0;
+            }
+        };
+        assertThrows(IOException.class, () -> StorageFiles.copy(failing, target));
+        assertArrayEquals(bytes(4, 100), Files.readAllBytes(target));
+        // no temporary file is left
+        assertEquals(1, countFiles(directory));
+    }
+
+    @Test
+    void mapReadsContent() throws IOException {
+        Path file = directory.resolve("file.bin");
+        byte[] content = bytes(5, 5000);
+        Files.write(file, content);
+        MappedByteBuffer buffer = StorageFiles.map(file);
+        byte[] mapped = new byte[buffer.remaining()];
+        buffer.get(mapped);
+        assertArrayEquals(content, mapped);
+    }
+
+    private static byte[] bytes(int seed, int length) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static long countFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2019 Gluon
+ * Copyright (c) 2017, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -35,4 +35,49 @@ public class Constants {
      * services logging while development.
      */
     public static final String ATTACH_DEBUG = "com.gluonhq.attach.debug";
+
+    /**
+     * Constant that can be set as system property with
+     * value {@code "true"} to enable the runtime {@link Metrics} of the
+     * Attach services, and their JFR events.
+     *
+     * @since 4.0.26
+     */
+    public static final String ATTACH_METRICS = "com.gluonhq.attach.metrics";
+
+    /**
+     * Constant that can be set as system property with the path of
+     * a trace file, to record the events received by the services from
+     * the native platform.
+     *
+     * @see com.gluonhq.attach.util.trace.TraceRecorder
+     * @since 4.0.26
+     */
+    public static final String ATTACH_RECORD = "com.gluonhq.attach.record";
+
+    /**
+     * Constant that can be set as system property with the path of
+     * a trace file, to replay its events on desktop.
+     *
+     * @see com.gluonhq.attach.util.trace.TracePlayer
+     * @since 4.0.26
+     */
+    public static final String ATTACH_REPLAY = "com.gluonhq.attach.replay";
+
+    /**
+     * Constant that can be set as system property with the speed factor
+     * of a replayed trace: 1 (the default) for its original speed, 0 to play
+     * it without delays.
+     *
+     * @since 4.0.26
+     */
+    public static final String ATTACH_REPLAY_SPEED = "com.gluonhq.attach.replay.speed";
+
+    /**
+     * Constant that can be set as system property with value {@code "true"}
+     * to replay a trace in a loop.
+     *
+     * @since 4.0.26
+     */
+    public static final String ATTACH_REPLAY_LOOP = "com.gluonhq.attach.replay.loop";
 }
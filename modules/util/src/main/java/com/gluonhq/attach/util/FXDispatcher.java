@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.util;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.beans.value.WritableValue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dispatches updates from native callbacks to the JavaFX application thread.
+ *
+ * Instead of one {@link javafx.application.Platform#runLater(Runnable)} call per update,
+ * all the updates received during a pulse are run together in a single call, at most
+ * once per pulse. Updates with the same key are coalesced, so only the latest one
+ * is run. This way, high frequency sensors don't flood the JavaFX event queue with
+ * values that are already stale.
+ *
+ * <p>Listeners that need every value of a property can ask the dispatcher to deliver
+ * all the values of that property with {@link #setDeliverAll(ObservableValue, boolean)}.
+ * Updates that must never be dropped, like state transitions or notification streams,
+ * are submitted with {@link #run(Runnable)}.</p>
+ *
+ * @since 4.0.26
+ */
+public class FXDispatcher {
+
+    private static final Logger LOG = Logger.getLogger(FXDispatcher.class.getName());
+
+    private static final Duration DEFAULT_PULSE = Duration.ofMillis(16);
+
+    private static final FXDispatcher DEFAULT = new FXDispatcher(javafx.application.Platform::runLater,
+            DEFAULT_PULSE, true);
+
+    private final Executor executor;
+    private final long pulseNanos;
+    private final boolean coalesce;
+
+    private final Object lock = new Object();
+    // guarded by lock
+    private List<Runnable> pending = new ArrayList<>();
+    private final Map<Object, Integer> latest = new HashMap<>();
+    private boolean scheduled;
+    private long lastDispatch;
+    private final Set<Object> deliverAllTargets = Collections.newSetFromMap(new WeakHashMap<>());
+    private volatile boolean hasDeliverAllTargets;
+
+    /**
+     * Creates a dispatcher.
+     *
+     * @param executor the executor that runs the updates, like
+     * {@link javafx.application.Platform#runLater(Runnable)}
+     * @param pulse the minimum time between two consecutive dispatches
+     * @param coalesce if true, {@link #set(WritableValue, Object)} only delivers the latest
+     * value for each target, unless all the values of the target are requested with
+     * {@link #setDeliverAll(ObservableValue, boolean)}, else it delivers all of them
+     */
+    public FXDispatcher(Executor executor, Duration pulse, boolean coalesce) {
+        this.executor = executor;
+        this.pulseNanos = pulse.toNanos();
+        this.coalesce = coalesce;
+        this.lastDispatch = System.nanoTime() - pulseNanos;
+    }
+
+    /**
+     * Returns the dispatcher that runs updates on the JavaFX application thread.
+     *
+     * @return the default dispatcher
+     */
+    public static FXDispatcher getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Sets whether all the values set to the given property are delivered, instead of
+     * only the latest one of each dispatch. The property is either a target of
+     * {@link #set(WritableValue, Object)}, or the read-only property of a
+     * {@link ReadOnlyObjectWrapper} target, as exposed by the services.
+     * The property is weakly referenced.
+     *
+     * @param property the property whose values are all needed
+     * @param deliverAll true to deliver all the values, false to only deliver the latest one
+     */
+    public void setDeliverAll(ObservableValue<?> property, boolean deliverAll) {
+        synchronized (lock) {
+            if (deliverAll) {
+                deliverAllTargets.add(property);
+            } else {
+                deliverAllTargets.remove(property);
+            }
+            hasDeliverAllTargets = !deliverAllTargets.isEmpty();
+        }
+    }
+
+    /**
+     * Sets the value of the target on the next dispatch. Unless this dispatcher
+     * delivers all values of the target, a value replaces any pending value for
+     * the same target.
+     *
+     * @param <T> the type of the value
+     * @param target the target, usually a property
+     * @param value the new value
+     */
+    public <T> void set(WritableValue<T> target, T value) {
+        set(null, target, value);
+    }
+
+    /**
+     * Sets the value of the target on the next dispatch, and records the callback,
+     * its delivery and whether it was coalesced in the given metrics.
+     *
+     * @param <T> the type of the value
+     * @param metrics the metrics of the service that received the value, or null
+     * @param target the target, usually a property
+     * @param value the new value
+     */
+    public <T> void set(ServiceMetrics metrics, WritableValue<T> target, T value) {
+        if (coalesce && !isDeliverAll(target)) {
+            submit(metrics, target, () -> target.setValue(value));
+        } else {
+            submit(metrics, null, () -> target.setValue(value));
+        }
+    }
+
+    /**
+     * Runs the action on the next dispatch, replacing any pending action with the same key.
+     *
+     * @param key the key that identifies the updated value
+     * @param action the action to run
+     */
+    public void runLatest(Object key, Runnable action) {
+        runLatest(null, key, action);
+    }
+
+    /**
+     * Runs the action on the next dispatch, replacing any pending action with the same key,
+     * and records the callback, its delivery and whether it was coalesced in the given metrics.
+     *
+     * @param metrics the metrics of the service that received the callback, or null
+     * @param key the key that identifies the updated value
+     * @param action the action to run
+     */
+    public void runLatest(ServiceMetrics metrics, Object key, Runnable action) {
+        submit(metrics, key, action);
+    }
+
+    /**
+     * Runs the action on the next dispatch. Actions are never coalesced, and are run
+     * in the same order as they were submitted.
+     *
+     * @param action the action to run
+     */
+    public void run(Runnable action) {
+        submit(null, null, action);
+    }
+
+    /**
+     * Runs the action on the next dispatch, and records the callback and its delivery
+     * in the given metrics. Actions are never coalesced, and are run in the same order
+     * as they were submitted.
+     *
+     * @param metrics the metrics of the service that received the callback, or null
+     * @param action the action to run
+     */
+    public void run(ServiceMetrics metrics, Runnable action) {
+        submit(metrics, null, action);
+    }
+
+    private boolean isDeliverAll(WritableValue<?> target) {
+        if (!hasDeliverAllTargets) {
+            return false;
+        }
+        synchronized (lock) {
+            return deliverAllTargets.contains(target) || (target instanceof ReadOnlyObjectWrapper
+                    && deliverAllTargets.contains(((ReadOnlyObjectWrapper<?>) target).getReadOnlyProperty()));
+        }
+    }
+
+    private void submit(ServiceMetrics metrics, Object key, Runnable action) {
+        if (metrics != null) {
+            long callbackTime = metrics.callback();
+            if (callbackTime != 0) {
+                Runnable update = action;
+                action = () -> {
+                    try {
+                        update.run();
+                        metrics.delivered(callbackTime);
+                    } catch (RuntimeException e) {
+                        metrics.dropped();
+                        throw e;
+                    }
+                };
+            }
+        }
+        long delay;
+        synchronized (lock) {
+            if (key != null) {
+                Integer index = latest.get(key);
+                if (index != null) {
+                    pending.set(index, action);
+                    if (metrics != null) {
+                        metrics.coalesced();
+                    }
+                    return;
+                }
+                latest.put(key, pending.size());
+            }
+            pending.add(action);
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+            delay = lastDispatch + pulseNanos - System.nanoTime();
+        }
+        if (delay <= 0) {
+            executor.execute(this::dispatch);
+        } else {
+            Timer.SCHEDULER.schedule(() -> executor.execute(this::dispatch), delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void dispatch() {
+        List<Runnable> actions;
+        synchronized (lock) {
+            actions = pending;
+            pending = new ArrayList<>(actions.size());
+            latest.clear();
+            scheduled = false;
+            lastDispatch = System.nanoTime();
+        }
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOG.log(Level.SEVERE, "Error dispatching update", e);
+            }
+        }
+    }
+
+    private static class Timer {
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setName("Attach-FXDispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.util;
+
+import com.gluonhq.attach.util.impl.JfrEvents;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Entry point to the runtime metrics of the Attach services.
+ *
+ * <p>Metrics are disabled by default, and recording them costs close to
+ * nothing in that case. They are enabled by setting the system property
+ * {@link Constants#ATTACH_METRICS} to {@code true}. When the {@code jdk.jfr}
+ * module is available, the services also emit the following JFR events:</p>
+ *
+ * <ul>
+ *     <li>{@code com.gluonhq.attach.CallbackDelivery}: the time from a native
+ *     callback to its delivery on the JavaFX application thread</li>
+ *     <li>{@code com.gluonhq.attach.NativeCall}: the duration of a call to the
+ *     native platform</li>
+ * </ul>
+ *
+ * <p>The metrics can be queried at runtime, for instance to show them in a diagnostics screen:</p>
+ * <pre>
+ * {@code
+ * Metrics.getAll().values().forEach(m ->
+ *     System.out.println(m.getService() + ": " + m.getDeliveryLatency().getPercentile(99)));
+ * }</pre>
+ *
+ * @since 4.0.26
+ */
+public final class Metrics {
+
+    private static final Logger LOG = Logger.getLogger(Metrics.class.getName());
+
+    static final boolean ENABLED = Boolean.getBoolean(Constants.ATTACH_METRICS);
+    static final boolean JFR = ENABLED && JfrEvents.isAvailable();
+
+    private static final Map<String, ServiceMetrics> METRICS = new ConcurrentHashMap<>();
+
+    static {
+        if (ENABLED) {
+            LOG.info("Attach metrics enabled" + (JFR ? ", with JFR events" : ""));
+        }
+    }
+
+    private Metrics() {}
+
+    /**
+     * Returns whether metrics are recorded
+     *
+     * @return true if metrics are enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns the metrics of the given service, creating them if needed.
+     *
+     * @param service the name of the service, like {@code "Ble"}
+     * @return the metrics of the service
+     */
+    public static ServiceMetrics of(String service) {
+        return METRICS.computeIfAbsent(service, ServiceMetrics::new);
+    }
+
+    /**
+     * Returns the metrics of all the services, sorted by name
+     *
+     * @return an unmodifiable map with the metrics of each service
+     */
+    public static Map<String, ServiceMetrics> getAll() {
+        return Collections.unmodifiableMap(new TreeMap<>(METRICS));
+    }
+
+    /**
+     * Resets all the recorded metrics
+     */
+    public static void reset() {
+        METRICS.values().forEach(ServiceMetrics::reset);
+    }
+}
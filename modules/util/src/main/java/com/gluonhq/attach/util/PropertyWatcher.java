@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -27,71 +27,196 @@
  */
 package com.gluonhq.attach.util;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * A thread that watches certain properties in the native platform to determine whether
+ * Watches certain properties in the native platform to determine whether
  * to notify the user of their change (so that JavaFX properties may be used).
+ *
+ * Each watcher polls a value with its own interval, and its listener is only called
+ * when the value changes. All watchers with the same interval are checked together,
+ * on a single background thread that only exists while there are watchers.
+ * Listeners are called on that thread.
  */
 public class PropertyWatcher {
 
-    private static final int THREAD_SLEEP_DURATION = 5000;
-    private static final List<Runnable> PROPERTY_WATCHERS = new ArrayList<>();
+    private static final Logger LOG = Logger.getLogger(PropertyWatcher.class.getName());
+
+    private static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(5);
+
+    // guarded by GROUPS
+    private static final Map<Duration, Group> GROUPS = new HashMap<>();
+    private static final Map<Runnable, PropertyWatcher> RUNNABLE_WATCHERS = new HashMap<>();
+    private static ScheduledExecutorService scheduler;
 
-    private static boolean running = false;
-    private static Thread watcherThread;
+    private final Duration interval;
+    private final Runnable check;
 
-    private PropertyWatcher() { }
+    private PropertyWatcher(Duration interval, Runnable check) {
+        this.interval = interval;
+        this.check = check;
+    }
 
+    /**
+     * Adds a watcher that runs the given runnable every 5 seconds. The runnable is
+     * run once immediately, on the calling thread. Adding a runnable that is already
+     * watched only runs it once, it is still run every 5 seconds by a single watcher.
+     *
+     * @param r the runnable to run periodically
+     */
     public static void addPropertyWatcher(Runnable r) {
         // before we add this to the thread for constant checking, we immediately check to set the property
         // correctly from the beginning
         r.run();
-        PROPERTY_WATCHERS.add(r);
-        updateState();
+        synchronized (GROUPS) {
+            if (RUNNABLE_WATCHERS.containsKey(r)) {
+                return;
+            }
+            PropertyWatcher watcher = new PropertyWatcher(DEFAULT_INTERVAL, r);
+            RUNNABLE_WATCHERS.put(r, watcher);
+            watcher.start();
+        }
     }
 
+    /**
+     * Removes a watcher previously added with {@link #addPropertyWatcher(Runnable)}.
+     *
+     * @param r the runnable that was added
+     */
     public static void removePropertyWatcher(Runnable r) {
-        PROPERTY_WATCHERS.remove(r);
-        updateState();
+        synchronized (GROUPS) {
+            PropertyWatcher watcher = RUNNABLE_WATCHERS.remove(r);
+            if (watcher != null) {
+                watcher.remove();
+            }
+        }
     }
 
-    private static void updateState() {
-        if (PROPERTY_WATCHERS.isEmpty()) {
-            stopThread();
-        } else if (!running) {
-            startThread();
+    /**
+     * Adds a watcher that gets a value every given interval, and notifies the listener
+     * only when that value is different from the previous one.
+     * The value is read once immediately, on the calling thread, and the listener
+     * is notified with it. After that, the listener is notified on a background thread.
+     *
+     * @param <T> the type of the value
+     * @param interval the time between two consecutive reads of the value
+     * @param value the supplier of the value to watch
+     * @param listener the listener that is notified of a new value
+     * @return the PropertyWatcher, that can be used to stop watching the value
+     * @since 4.0.26
+     */
+    public static <T> PropertyWatcher addPropertyWatcher(Duration interval, Supplier<T> value, Consumer<T> listener) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(listener);
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval should be positive: " + interval);
         }
+        ValueCheck<T> check = new ValueCheck<>(value, listener);
+        check.run();
+        PropertyWatcher watcher = new PropertyWatcher(interval, check);
+        synchronized (GROUPS) {
+            watcher.start();
+        }
+        return watcher;
     }
 
-    private static void startThread() {
-        running = true;
-
-        if (watcherThread == null) {
-            watcherThread = new Thread(() -> {
-                while (running) {
-                    for (Runnable r : PROPERTY_WATCHERS) {
-                        r.run();
-                    }
-
-                    try {
-                        Thread.sleep(THREAD_SLEEP_DURATION);
-                    } catch (InterruptedException ex) {
-                        Logger.getLogger(PropertyWatcher.class.getName()).log(Level.SEVERE, null, ex);
-                    }
-                }
+    /**
+     * Stops this watcher. If there are no other watchers, the background thread
+     * is stopped as well.
+     *
+     * @since 4.0.26
+     */
+    public void remove() {
+        synchronized (GROUPS) {
+            Group group = GROUPS.get(interval);
+            if (group == null || !group.watchers.remove(this)) {
+                return;
+            }
+            if (group.watchers.isEmpty()) {
+                group.future.cancel(false);
+                GROUPS.remove(interval);
+            }
+            if (GROUPS.isEmpty()) {
+                scheduler.shutdown();
+                scheduler = null;
+            }
+        }
+    }
 
-                watcherThread = null;
-            });
-            watcherThread.setDaemon(true);
-            watcherThread.start();
+    // guarded by GROUPS
+    private void start() {
+        if (scheduler == null) {
+            scheduler = createScheduler();
+        }
+        Group group = GROUPS.get(interval);
+        if (group == null) {
+            group = new Group();
+            long millis = interval.toMillis();
+            group.future = scheduler.scheduleWithFixedDelay(group::tick, millis, millis, TimeUnit.MILLISECONDS);
+            GROUPS.put(interval, group);
         }
+        group.watchers.add(this);
     }
 
-    private static void stopThread() {
-        running = false;
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r);
+            t.setName("Attach-PropertyWatcher");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private static class Group {
+        private final List<PropertyWatcher> watchers = new CopyOnWriteArrayList<>();
+        private ScheduledFuture<?> future;
+
+        private void tick() {
+            for (PropertyWatcher watcher : watchers) {
+                try {
+                    watcher.check.run();
+                } catch (RuntimeException ex) {
+                    // an exception would cancel the whole group
+                    LOG.log(Level.SEVERE, "Error running property watcher", ex);
+                }
+            }
+        }
+    }
+
+    private static class ValueCheck<T> implements Runnable {
+        private static final Object UNSET = new Object();
+
+        private final Supplier<T> value;
+        private final Consumer<T> listener;
+        private Object lastValue = UNSET;
+
+        ValueCheck(Supplier<T> value, Consumer<T> listener) {
+            this.value = value;
+            this.listener = listener;
+        }
+
+        @Override
+        public void run() {
+            T newValue = value.get();
+            if (!Objects.equals(newValue, lastValue)) {
+                lastValue = newValue;
+                listener.accept(newValue);
+            }
+        }
     }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.util;
+
+import com.gluonhq.attach.util.impl.JfrEvents;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime metrics of a single Attach service: the callbacks it receives from
+ * the native platform, how long they take to be delivered to the JavaFX
+ * application thread, how many of them are coalesced or dropped, and how long
+ * its calls to the native platform take.
+ *
+ * <p>Instances are obtained from {@link Metrics#of(String)}. When metrics are
+ * not {@link Metrics#isEnabled() enabled}, all the recording methods return
+ * immediately.</p>
+ *
+ * <p>To time a native call:</p>
+ * <pre>
+ * {@code
+ * long start = METRICS.start();
+ * doWrite(address, profile, characteristic, value);
+ * METRICS.nativeCall("doWrite", start);
+ * }</pre>
+ *
+ * @since 4.0.26
+ */
+public final class ServiceMetrics {
+
+    private final String service;
+    private final LongAdder callbacks = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LatencyHistogram deliveryLatency = new LatencyHistogram();
+    private final Map<String, LatencyHistogram> nativeCalls = new ConcurrentHashMap<>();
+
+    ServiceMetrics(String service) {
+        this.service = service;
+    }
+
+    /**
+     * Returns the name of the service
+     *
+     * @return the name of the service
+     */
+    public String getService() {
+        return service;
+    }
+
+    /**
+     * Records a callback received from the native platform.
+     *
+     * @return the time of the callback, to be passed to {@link #delivered(long)},
+     * or 0 if metrics are disabled
+     */
+    public long callback() {
+        if (!Metrics.ENABLED) {
+            return 0;
+        }
+        callbacks.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the delivery of a callback to the JavaFX application thread.
+     *
+     * @param callbackTime the time returned by {@link #callback()}
+     */
+    public void delivered(long callbackTime) {
+        if (!Metrics.ENABLED || callbackTime == 0) {
+            return;
+        }
+        long latency = System.nanoTime() - callbackTime;
+        delivered.increment();
+        deliveryLatency.record(latency);
+        if (Metrics.JFR) {
+            JfrEvents.delivery(service, latency);
+        }
+    }
+
+    /**
+     * Records a callback that was replaced by a more recent one before it
+     * could be delivered.
+     */
+    public void coalesced() {
+        if (Metrics.ENABLED) {
+            coalesced.increment();
+        }
+    }
+
+    /**
+     * Records a callback or a request that was discarded.
+     */
+    public void dropped() {
+        if (Metrics.ENABLED) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Returns the start time of a native call.
+     *
+     * @return the start time, to be passed to {@link #nativeCall(String, long)},
+     * or 0 if metrics are disabled
+     */
+    public long start() {
+        return Metrics.ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the duration of a native call.
+     *
+     * @param call the name of the native call
+     * @param start the time returned by {@link #start()}
+     */
+    public void nativeCall(String call, long start) {
+        if (!Metrics.ENABLED || start == 0) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        nativeCalls.computeIfAbsent(call, c -> new LatencyHistogram()).record(duration);
+        if (Metrics.JFR) {
+            JfrEvents.nativeCall(service, call, duration);
+        }
+    }
+
+    /**
+     * Returns the number of callbacks received from the native platform
+     *
+     * @return the number of callbacks
+     */
+    public long getCallbacks() {
+        return callbacks.sum();
+    }
+
+    /**
+     * Returns the number of callbacks delivered to the JavaFX application thread
+     *
+     * @return the number of delivered callbacks
+     */
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    /**
+     * Returns the number of callbacks that were replaced by a more recent one
+     *
+     * @return the number of coalesced callbacks
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Returns the number of callbacks or requests that were discarded
+     *
+     * @return the number of dropped callbacks or requests
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the time from a native callback to its delivery on the JavaFX
+     * application thread
+     *
+     * @return the delivery latency histogram
+     */
+    public LatencyHistogram getDeliveryLatency() {
+        return deliveryLatency;
+    }
+
+    /**
+     * Returns the durations of the native calls, by name of the call
+     *
+     * @return an unmodifiable map with the duration histogram of each native call
+     */
+    public Map<String, LatencyHistogram> getNativeCalls() {
+        return Collections.unmodifiableMap(new TreeMap<>(nativeCalls));
+    }
+
+    void reset() {
+        callbacks.reset();
+        delivered.reset();
+        coalesced.reset();
+        dropped.reset();
+        deliveryLatency.reset();
+        nativeCalls.values().forEach(LatencyHistogram::reset);
+    }
+
+    @Override
+    public String toString() {
+        return "ServiceMetrics{" + service +
+                ": callbacks=" + getCallbacks() +
+                ", delivered=" + getDelivered() +
+                ", coalesced=" + getCoalesced() +
+                ", dropped=" + getDropped() +
+                ", deliveryLatency={" + deliveryLatency +
+                "}, nativeCalls=" + getNativeCalls() + '}';
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -30,17 +30,26 @@ package com.gluonhq.attach.util;
 import com.gluonhq.attach.util.impl.DefaultServiceFactory;
 import com.gluonhq.attach.util.impl.ServiceFactory;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.logging.Logger;
 
 public class Services<T> {
 
     private static final Logger LOGGER = Logger.getLogger(Services.class.getName());
 
-    private static final Map<Class, ServiceFactory> FACTORY_MAP = new HashMap<>();
-    private static final Map<Class, Object> SERVICE_MAP = new HashMap<>();
+    private static final Map<Class<?>, ServiceFactory<?>> FACTORY_MAP = new ConcurrentHashMap<>();
+    // empty optionals are cached too, so an unavailable service is only looked up once
+    private static final Map<Class<?>, Optional<?>> SERVICE_MAP = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Object> LOCK_MAP = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Duration> CREATION_TIMES = new ConcurrentHashMap<>();
 
     // not public API
     private Services() { }
@@ -57,6 +66,8 @@ public class Services<T> {
     public static <T> void registerServiceFactory(ServiceFactory<T> factory) {
         LOGGER.fine("Register " + factory);
         FACTORY_MAP.put(factory.getServiceType(), factory);
+        // a service that wasn't available may be provided by the new factory
+        SERVICE_MAP.remove(factory.getServiceType(), Optional.empty());
     }
 
     /**
@@ -64,32 +75,113 @@ public class Services<T> {
      * Otherwise, it will try to find a service factory in the same package as the service, and
      * otherwise a Runtime Exception will be thrown.
      * Both serviceFactory and service instances are cached, so only one service
-     * is created for the given factory
+     * is created for the given factory, even if several threads request it at the same time.
+     * Once created, the service is returned without locking.
      *
      * @param <T> the type of service
      * @param service the class of service
      * @return An optional with the service 
      */
     public static <T> Optional<T> get(Class<T> service) {
-        LOGGER.fine("Get Service " + service.getName());
-        if (!FACTORY_MAP.containsKey(service)) {
-            final ServiceFactory<T> factory = getFactory(service);
-            if (factory != null) {
-                registerServiceFactory(factory);
-            } else {
-                throw new RuntimeException("The service " + service.getSimpleName() + " can't be registered. "
-                        + "Call Services.registerServiceFactory() with a valid ServiceFactory");
+        Optional<T> instance = cachedInstance(service);
+        if (instance != null) {
+            return instance;
+        }
+        return create(service);
+    }
+
+    private static <T> Optional<T> create(Class<T> service) {
+        // only one thread creates a given service, others wait for it
+        synchronized (LOCK_MAP.computeIfAbsent(service, s -> new Object())) {
+            LOGGER.fine("Get Service " + service.getName());
+            Optional<T> instance = cachedInstance(service);
+            if (instance == null) {
+                @SuppressWarnings("unchecked")
+                ServiceFactory<T> factory = (ServiceFactory<T>) FACTORY_MAP.get(service);
+                if (factory == null) {
+                    factory = getFactory(service);
+                    if (factory != null) {
+                        registerServiceFactory(factory);
+                    } else {
+                        throw new RuntimeException("The service " + service.getSimpleName() + " can't be registered. "
+                                + "Call Services.registerServiceFactory() with a valid ServiceFactory");
+                    }
+                }
+                long start = System.nanoTime();
+                instance = factory.getInstance();
+                Duration time = Duration.ofNanos(System.nanoTime() - start);
+                CREATION_TIMES.put(service, time);
+                LOGGER.fine("Service " + service.getName() + " created in " + time.toMillis() + " ms");
+                SERVICE_MAP.put(service, instance);
             }
+            LOGGER.fine("Return service: " + instance.orElse(null));
+            return instance;
         }
-        if (!SERVICE_MAP.containsKey(service)) {
-            FACTORY_MAP.get(service).getInstance()
-                    .ifPresent(t -> SERVICE_MAP.put(service, t));
+    }
+
+    /**
+     * Creates the given services in parallel, on background threads, so the cost of
+     * creating them is not paid by the first thread that calls {@link #get(Class)}.
+     * This method blocks until all the services have been created.
+     *
+     * @param services the classes of the services to create
+     * @see #preloadAsync(Class[])
+     * @since 4.0.26
+     */
+    public static void preload(Class<?>... services) {
+        preloadAsync(services).join();
+    }
+
+    /**
+     * Creates the given services in parallel, on background threads, so the cost of
+     * creating them is not paid by the first thread that calls {@link #get(Class)}.
+     * Services that were already created are not created again.
+     *
+     * @param services the classes of the services to create
+     * @return a CompletableFuture that completes when all the services have been created,
+     * or completes exceptionally if any of them can't be created
+     * @since 4.0.26
+     */
+    public static CompletableFuture<Void> preloadAsync(Class<?>... services) {
+        if (services.length == 0) {
+            return CompletableFuture.completedFuture(null);
         }
-        LOGGER.fine("Return service: " + SERVICE_MAP.get(service));
-        return Optional.ofNullable((T) SERVICE_MAP.get(service));
+        ExecutorService executor = createPreloadExecutor(services.length);
+        CompletableFuture<?>[] futures = Arrays.stream(services)
+                .map(service -> CompletableFuture.runAsync(() -> get(service), executor))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures)
+                .whenComplete((v, t) -> executor.shutdown());
+    }
+
+    /**
+     * Returns the time it took to create each of the services that have been
+     * requested so far, including those that are not available for the current platform.
+     *
+     * @return an unmodifiable map with the creation time of each service class
+     * @since 4.0.26
+     */
+    public static Map<Class<?>, Duration> getCreationTimes() {
+        return Map.copyOf(CREATION_TIMES);
+    }
+
+    private static ExecutorService createPreloadExecutor(int services) {
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r);
+            t.setName("Attach-Preload");
+            t.setDaemon(true);
+            return t;
+        };
+        int threads = Math.min(services, Runtime.getRuntime().availableProcessors());
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Optional<T> cachedInstance(Class<T> service) {
+        return (Optional<T>) SERVICE_MAP.get(service);
     }
 
     private static <T> ServiceFactory<T> getFactory(Class<T> service) {
         return new DefaultServiceFactory<>(service);
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Gluon
+ * Copyright (c) 2016, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -28,6 +28,8 @@
 package com.gluonhq.attach.util.impl;
 
 import com.gluonhq.attach.util.Platform;
+import com.gluonhq.attach.util.spi.ServiceIndex;
+import com.gluonhq.attach.util.trace.TracePlayer;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Optional;
@@ -59,6 +61,21 @@ public class DefaultServiceFactory<T> implements ServiceFactory<T> {
     }
 
     private T createInstance(Platform platform) {
+        if (platform == Platform.DESKTOP && TracePlayer.isEnabled()) {
+            T replay = createReplayInstance();
+            if (replay != null) {
+                return replay;
+            }
+        }
+        ServiceIndex index = ServiceIndexLoader.getIndex(serviceType);
+        if (index != null) {
+            LOGGER.fine("Service index entry for: " + serviceType.getName());
+            return serviceType.cast(index.create(serviceType));
+        }
+        if (ServiceIndexLoader.isIndexed(serviceType)) {
+            LOGGER.log(Level.WARNING, "No new instance for " + serviceType);
+            return null;
+        }
         String fqn = serviceType.getPackageName() + ".impl." + className(platform);
         try {
             Class<T> clazz = (Class<T>) Class.forName(fqn);
@@ -75,6 +92,20 @@ public class DefaultServiceFactory<T> implements ServiceFactory<T> {
         return null;
     }
 
+    private T createReplayInstance() {
+        String fqn = serviceType.getPackageName() + ".impl.DesktopReplay" + serviceType.getSimpleName();
+        try {
+            Class<? extends T> clazz = Class.forName(fqn).asSubclass(serviceType);
+            LOGGER.fine("Replay service class for: " + clazz.getName());
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException ex) {
+            LOGGER.fine("No replay service for " + serviceType);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            LOGGER.log(Level.SEVERE, null, ex);
+        }
+        return null;
+    }
+
     private String className(Platform platform) {
         return platform.getName() + serviceType.getSimpleName();
     }
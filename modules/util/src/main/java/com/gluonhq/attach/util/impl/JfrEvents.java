@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.util.impl;
+
+/**
+ * Emits the JFR events of {@link com.gluonhq.attach.util.Metrics}. The event
+ * classes are only loaded once {@link #isAvailable()} returns true, so Attach
+ * still runs on images that don't include the {@code jdk.jfr} module.
+ */
+public class JfrEvents {
+
+    private JfrEvents() {}
+
+    public static boolean isAvailable() {
+        try {
+            Class<?> event = Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+            return JfrEvents.class.getModule().canRead(event.getModule());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public static void delivery(String service, long latency) {
+        CallbackDeliveryEvent event = new CallbackDeliveryEvent();
+        if (event.shouldCommit()) {
+            event.service = service;
+            event.latency = latency;
+            event.commit();
+        }
+    }
+
+    public static void nativeCall(String service, String call, long duration) {
+        NativeCallEvent event = new NativeCallEvent();
+        if (event.shouldCommit()) {
+            event.service = service;
+            event.call = call;
+            event.elapsed = duration;
+            event.commit();
+        }
+    }
+}
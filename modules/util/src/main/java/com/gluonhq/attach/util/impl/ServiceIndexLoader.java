@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.util.impl;
+
+import com.gluonhq.attach.util.Platform;
+import com.gluonhq.attach.util.spi.ServiceIndex;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects the services of all the {@link ServiceIndex} instances
+ * found for the current platform. The indexes are loaded only once, the first
+ * time a service is created.
+ * A module with an index for the current platform lists all of its services
+ * for that platform, so there is no need to look for other implementations.
+ */
+class ServiceIndexLoader {
+
+    private static final Logger LOGGER = Logger.getLogger(ServiceIndexLoader.class.getName());
+
+    private ServiceIndexLoader() { }
+
+    static ServiceIndex getIndex(Class<?> serviceType) {
+        return Holder.INDEXES.get(serviceType);
+    }
+
+    static boolean isIndexed(Class<?> serviceType) {
+        return Holder.PACKAGES.contains(serviceType.getPackageName() + ".impl");
+    }
+
+    private static class Holder {
+        private static final Map<Class<?>, ServiceIndex> INDEXES = new HashMap<>();
+        private static final Set<String> PACKAGES = new HashSet<>();
+
+        static {
+            Platform platform = Platform.getCurrent();
+            try {
+                for (ServiceIndex index : ServiceLoader.load(ServiceIndex.class)) {
+                    if (index.getPlatform() == platform) {
+                        LOGGER.fine("Service index found: " + index.getClass().getName());
+                        for (Class<?> service : index.getServices()) {
+                            INDEXES.put(service, index);
+                        }
+                        PACKAGES.add(index.getClass().getPackageName());
+                    }
+                }
+            } catch (ServiceConfigurationError e) {
+                LOGGER.log(Level.WARNING, "Error loading service indexes", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.util.spi;
+
+import com.gluonhq.attach.util.Platform;
+
+import java.util.Set;
+
+/**
+ * An index of the service implementations that a module provides for a given
+ * {@link Platform}.
+ *
+ * Implementations of this interface are generated at build time for each module
+ * and platform, and are found with {@link java.util.ServiceLoader}, so services can
+ * be created without reflection. Services without an index entry are still looked up
+ * by their class name.
+ *
+ * @since 4.0.26
+ */
+public interface ServiceIndex {
+
+    /**
+     * Returns the platform of the service implementations in this index.
+     *
+     * @return the {@link Platform} of this index
+     */
+    Platform getPlatform();
+
+    /**
+     * Returns the service interfaces that have an implementation for the platform
+     * in this index.
+     *
+     * @return a set of service interfaces
+     */
+    Set<Class<?>> getServices();
+
+    /**
+     * Creates a new instance of the implementation of the given service.
+     *
+     * @param service the service interface, one of {@link #getServices()}
+     * @return a new instance of the service implementation, or <code>null</code> if
+     * the service is not in this index
+     */
+    Object create(Class<?> service);
+}
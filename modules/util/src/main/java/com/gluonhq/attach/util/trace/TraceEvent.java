@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.util.trace;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * An event received by a service from the native platform, as stored in a
+ * trace file.
+ *
+ * <p>A trace file is a UTF-8 text file with one event per line. Each line has
+ * the time of the event, in milliseconds since the start of the recording,
+ * the name of the service, the name of the event and its values, separated by
+ * tabs. Backslashes, tabs and line breaks in values are escaped, a {@code null}
+ * value is written as {@code \0}, and binary values are encoded in Base64.
+ * Empty lines and lines starting with {@code #} are ignored.</p>
+ *
+ * <pre>
+ * # time   service         event           values
+ * 0        Accelerometer   acceleration    0.01    9.81    0.2     1700000000000
+ * 5        Accelerometer   acceleration    0.02    9.80    0.2     1700000000005
+ * 1000     Battery         level           0.85
+ * 1000     Battery         plugged         true
+ * </pre>
+ *
+ * @since 4.0.26
+ */
+public final class TraceEvent {
+
+    private static final String NULL = "\\0";
+
+    private final long time;
+    private final String service;
+    private final String name;
+    private final String[] values;
+
+    /**
+     * Creates an event.
+     *
+     * @param time the time of the event, in milliseconds since the start of the trace
+     * @param service the name of the service, like {@code "Accelerometer"}
+     * @param name the name of the event, like {@code "acceleration"}
+     * @param values the values of the event
+     */
+    public TraceEvent(long time, String service, String name, String... values) {
+        this.time = time;
+        this.service = Objects.requireNonNull(service);
+        this.name = Objects.requireNonNull(name);
+        this.values = values.clone();
+    }
+
+    /**
+     * Returns the time of the event
+     *
+     * @return the time of the event, in milliseconds since the start of the trace
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the name of the service that received the event
+     *
+     * @return the name of the service
+     */
+    public String getService() {
+        return service;
+    }
+
+    /**
+     * Returns the name of the event
+     *
+     * @return the name of the event
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of values of the event
+     *
+     * @return the number of values
+     */
+    public int getValueCount() {
+        return values.length;
+    }
+
+    /**
+     * Returns a value of the event
+     *
+     * @param index the index of the value
+     * @return the value, can be null
+     */
+    public String getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns a value of the event as a double
+     *
+     * @param index the index of the value
+     * @return the parsed value
+     */
+    public double getDouble(int index) {
+        return Double.parseDouble(values[index]);
+    }
+
+    /**
+     * Returns a value of the event as a float
+     *
+     * @param index the index of the value
+     * @return the parsed value
+     */
+    public float getFloat(int index) {
+        return Float.parseFloat(values[index]);
+    }
+
+    /**
+     * Returns a value of the event as a int
+     *
+     * @param index the index of the value
+     * @return the parsed value
+     */
+    public int getInt(int index) {
+        return Integer.parseInt(values[index]);
+    }
+
+    /**
+     * Returns a value of the event as a long
+     *
+     * @param index the index of the value
+     * @return the parsed value
+     */
+    public long getLong(int index) {
+        return Long.parseLong(values[index]);
+    }
+
+    /**
+     * Returns a value of the event as a boolean
+     *
+     * @param index the index of the value
+     * @return the parsed value
+     */
+    public boolean getBoolean(int index) {
+        return Boolean.parseBoolean(values[index]);
+    }
+
+    /**
+     * Returns a binary value of the event
+     *
+     * @param index the index of the value
+     * @return the decoded value, or null
+     */
+    public byte[] getBytes(int index) {
+        return values[index] == null ? null : Base64.getDecoder().decode(values[index]);
+    }
+
+    /**
+     * Parses a line of a trace file.
+     *
+     * @param line the line, without line terminator
+     * @return the event
+     * @throws IllegalArgumentException if the line is not a valid event
+     */
+    static TraceEvent parse(String line) {
+        String[] tokens = line.split("\t", -1);
+        if (tokens.length < 3) {
+            throw new IllegalArgumentException("Invalid trace event: " + line);
+        }
+        long time;
+        try {
+            time = Long.parseLong(tokens[0].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid trace event time: " + line, e);
+        }
+        String[] values = new String[tokens.length - 3];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = unescape(tokens[i + 3]);
+        }
+        return new TraceEvent(time, unescapeName(tokens[1], line), unescapeName(tokens[2], line), values);
+    }
+
+    /**
+     * Formats this event as a line of a trace file.
+     *
+     * @return the line, without line terminator
+     */
+    String toLine() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(time).append('\t').append(escape(service)).append('\t').append(escape(name));
+        for (String value : values) {
+            sb.append('\t').append(escape(value));
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        StringBuilder sb = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement;
+            switch (c) {
+                case '\\': replacement = "\\\\"; break;
+                case '\t': replacement = "\\t"; break;
+                case '\n': replacement = "\\n"; break;
+                case '\r': replacement = "\\r"; break;
+                default: replacement = null;
+            }
+            if (replacement != null && sb == null) {
+                sb = new StringBuilder(value.length() + 8).append(value, 0, i);
+            }
+            if (sb != null) {
+                if (replacement != null) {
+                    sb.append(replacement);
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb == null ? value : sb.toString();
+    }
+
+    // the service and event names can't be null
+    private static String unescapeName(String token, String line) {
+        String name = unescape(token);
+        if (name == null) {
+            throw new IllegalArgumentException("Invalid trace event name: " + line);
+        }
+        return name;
+    }
+
+    private static String unescape(String token) {
+        if (NULL.equals(token)) {
+            return null;
+        }
+        if (token.indexOf('\\') < 0) {
+            return token;
+        }
+        StringBuilder sb = new StringBuilder(token.length());
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '\\' && i + 1 < token.length()) {
+                char next = token.charAt(++i);
+                switch (next) {
+                    case 't': sb.append('\t'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    default: sb.append(next);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "TraceEvent{" + time + "ms " + service + "." + name + Arrays.toString(values) + '}';
+    }
+}
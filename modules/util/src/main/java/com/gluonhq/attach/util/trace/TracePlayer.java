@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.util.trace;
+
+import com.gluonhq.attach.util.Constants;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Replays a trace file, recorded with {@link TraceRecorder}, to the services
+ * that subscribe to its events.
+ *
+ * <p>Replay is enabled on desktop by setting the system property
+ * {@link Constants#ATTACH_REPLAY} to the path of the trace file. In that case,
+ * {@link com.gluonhq.attach.util.Services} returns the replay implementation of
+ * the services that have one, like the accelerometer, magnetometer, compass,
+ * position, battery, connectivity and BLE services.</p>
+ *
+ * <p>The trace is played on a single thread, the same way native callbacks are
+ * received, in the order of the file. It starts when the first service subscribes
+ * and events of services that are not subscribed are skipped. The following
+ * system properties control the playback:</p>
+ * <ul>
+ *     <li>{@link Constants#ATTACH_REPLAY_SPEED}: a factor applied to the speed of
+ *     the original trace, 1 by default. With 0, events are played without any delay.</li>
+ *     <li>{@link Constants#ATTACH_REPLAY_LOOP}: if true, the trace is played again
+ *     from the start once it ends.</li>
+ * </ul>
+ *
+ * @since 4.0.26
+ */
+public final class TracePlayer {
+
+    private static final Logger LOG = Logger.getLogger(TracePlayer.class.getName());
+
+    private static final String FILE = System.getProperty(Constants.ATTACH_REPLAY);
+    private static final boolean ENABLED = FILE != null && !FILE.isEmpty();
+
+    private static final Map<String, List<Consumer<TraceEvent>>> LISTENERS = new ConcurrentHashMap<>();
+    private static Thread thread;
+
+    private TracePlayer() {}
+
+    /**
+     * Returns whether a trace is replayed
+     *
+     * @return true if replay is enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Subscribes to the events of a service. Listeners are called on the replay thread.
+     * The first subscription starts playing the trace.
+     *
+     * @param service the name of the service, like {@code "Accelerometer"}
+     * @param listener the listener of the events
+     * @return the subscription, that can be cancelled
+     */
+    public static Subscription subscribe(String service, Consumer<TraceEvent> listener) {
+        LISTENERS.computeIfAbsent(service, s -> new CopyOnWriteArrayList<>()).add(listener);
+        start();
+        return new Subscription(service, listener);
+    }
+
+    private static synchronized void start() {
+        if (!ENABLED || thread != null) {
+            return;
+        }
+        double speed = Double.parseDouble(System.getProperty(Constants.ATTACH_REPLAY_SPEED, "1"));
+        boolean loop = Boolean.getBoolean(Constants.ATTACH_REPLAY_LOOP);
+        Path path = Paths.get(FILE);
+        thread = new Thread(() -> play(path, speed, loop), "Attach-TracePlayer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void play(Path path, double speed, boolean loop) {
+        LOG.info("Replaying trace " + path.toAbsolutePath() + " at speed " + speed + (loop ? ", in a loop" : ""));
+        long start = System.nanoTime();
+        long offset = 0;
+        long time = 0;
+        long events = 0;
+        do {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#")) {
+                        continue;
+                    }
+                    TraceEvent event = TraceEvent.parse(line);
+                    time = offset + event.getTime();
+                    if (speed > 0) {
+                        long due = start + (long) (TimeUnit.MILLISECONDS.toNanos(time) / speed);
+                        long delay;
+                        while ((delay = due - System.nanoTime()) > 0) {
+                            LockSupport.parkNanos(delay);
+                        }
+                    }
+                    dispatch(event);
+                    events++;
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                LOG.log(Level.SEVERE, "Error replaying trace " + path, e);
+                return;
+            }
+            offset = time;
+        } while (loop);
+        LOG.info("Trace replay finished, " + events + " events");
+    }
+
+    private static void dispatch(TraceEvent event) {
+        List<Consumer<TraceEvent>> listeners = LISTENERS.get(event.getService());
+        if (listeners == null) {
+            return;
+        }
+        for (Consumer<TraceEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Error replaying " + event, e);
+            }
+        }
+    }
+
+    /**
+     * A subscription to the events of a service.
+     */
+    public static final class Subscription {
+
+        private final String service;
+        private final Consumer<TraceEvent> listener;
+
+        private Subscription(String service, Consumer<TraceEvent> listener) {
+            this.service = service;
+            this.listener = listener;
+        }
+
+        /**
+         * Stops delivering events to the listener.
+         */
+        public void cancel() {
+            List<Consumer<TraceEvent>> listeners = LISTENERS.get(service);
+            if (listeners != null) {
+                listeners.remove(listener);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.attach.util.trace;
+
+import com.gluonhq.attach.util.Constants;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records the events that services receive from the native platform to a
+ * trace file, that can be replayed later on with {@link TracePlayer}.
+ *
+ * <p>Recording is enabled by setting the system property
+ * {@link Constants#ATTACH_RECORD} to the path of the trace file, that is
+ * overwritten. The file is flushed every second and when the VM exits.</p>
+ *
+ * <p>Native callbacks check {@link #isEnabled()} before recording an event,
+ * so there is no cost when recording is disabled:</p>
+ * <pre>
+ * {@code
+ * if (TraceRecorder.isEnabled()) {
+ *     TraceRecorder.record("Battery", "level", level);
+ *     TraceRecorder.record("Battery", "plugged", plugged);
+ * }
+ * }</pre>
+ *
+ * @since 4.0.26
+ */
+public final class TraceRecorder {
+
+    private static final Logger LOG = Logger.getLogger(TraceRecorder.class.getName());
+
+    private static final String FILE = System.getProperty(Constants.ATTACH_RECORD);
+    private static final boolean ENABLED = FILE != null && !FILE.isEmpty();
+
+    private TraceRecorder() {}
+
+    /**
+     * Returns whether events are recorded
+     *
+     * @return true if recording is enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Records an event, if recording is enabled. Binary values are encoded in Base64,
+     * and any other value is converted to a string.
+     *
+     * @param service the name of the service, like {@code "Accelerometer"}
+     * @param name the name of the event, like {@code "acceleration"}
+     * @param values the values of the event
+     */
+    public static void record(String service, String name, Object... values) {
+        if (!ENABLED) {
+            return;
+        }
+        String[] strings = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value instanceof byte[]) {
+                strings[i] = Base64.getEncoder().encodeToString((byte[]) value);
+            } else {
+                strings[i] = value == null ? null : String.valueOf(value);
+            }
+        }
+        Writer.INSTANCE.write(service, name, strings);
+    }
+
+    private static class Writer {
+
+        private static final Writer INSTANCE = new Writer(Paths.get(FILE));
+
+        private long start;
+        private BufferedWriter writer;
+
+        Writer(Path path) {
+            try {
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                writer.write("# Attach trace");
+                writer.newLine();
+                LOG.info("Recording trace to " + path.toAbsolutePath());
+            } catch (IOException e) {
+                LOG.log(Level.SEVERE, "Error creating trace file " + path, e);
+                return;
+            }
+            ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r);
+                t.setName("Attach-TraceRecorder");
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(this::flush, 1, 1, TimeUnit.SECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "Attach-TraceRecorder-Shutdown"));
+            start = System.nanoTime();
+        }
+
+        synchronized void write(String service, String name, String[] values) {
+            if (writer == null) {
+                return;
+            }
+            long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            try {
+                writer.write(new TraceEvent(time, service, name, values).toLine());
+                writer.newLine();
+            } catch (IOException e) {
+                LOG.log(Level.SEVERE, "Error writing trace, recording stopped", e);
+                writer = null;
+            }
+        }
+
+        synchronized void flush() {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Error flushing trace", e);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, Gluon
+ * Copyright (c) 2019, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -29,6 +29,11 @@ module com.gluonhq.attach.util {
 
     requires javafx.graphics;
     requires transitive java.logging;
+    requires static jdk.jfr;
 
     exports com.gluonhq.attach.util;
+    exports com.gluonhq.attach.util.spi;
+    exports com.gluonhq.attach.util.trace;
+
+    uses com.gluonhq.attach.util.spi.ServiceIndex;
 }
\ No newline at end of file
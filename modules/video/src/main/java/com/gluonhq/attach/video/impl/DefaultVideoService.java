@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2019 Gluon
+ * Copyright (c) 2017, 2026, Gluon
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -32,10 +32,8 @@ import com.gluonhq.attach.storage.StorageService;
 import com.gluonhq.attach.util.Util;
 import com.gluonhq.attach.video.VideoService;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -60,14 +58,16 @@ public abstract class DefaultVideoService implements VideoService {
 
     protected final ObservableList<String> playlist;
     protected final Map<String, Boolean> playlistMap;
+    private final StorageService storageService;
     private final File assetsFolder;
 
     public DefaultVideoService() {
         playlist = FXCollections.observableArrayList();
         playlistMap = new HashMap<>();
 
-        assetsFolder = new File(Services.get(StorageService.class)
-                .flatMap(service -> service.getPrivateStorage())
+        storageService = Services.get(StorageService.class)
+                .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder"));
+        assetsFolder = new File(storageService.getPrivateStorage()
                 .orElseThrow(() -> new RuntimeException("Error accessing Private Storage folder")), "assets");
 
         if (! assetsFolder.exists()) {
@@ -169,29 +169,21 @@ public abstract class DefaultVideoService implements VideoService {
                     pathIni = "/" + pathIni;
                 }
 
-                if (! copyFile(pathIni, videoFile.getAbsolutePath())) {
+                if (! copyFile(pathIni, videoFile)) {
                     return Boolean.FALSE;
                 }
             }
             return Boolean.TRUE;
         }
 
-        private boolean copyFile(String pathIni, String pathEnd)  {
-            try (InputStream myInput = DefaultVideoService.class.getResourceAsStream(pathIni)) {
-                if (myInput == null) {
-                    return false;
-                }
-                try (OutputStream myOutput = new FileOutputStream(pathEnd)) {
-                    byte[] buffer = new byte[1024];
-                    int length;
-                    while ((length = myInput.read(buffer)) > 0) {
-                        myOutput.write(buffer, 0, length);
-                    }
-                    myOutput.flush();
-                    return true;
-                } catch (IOException ex) {
-                    LOG.log(Level.WARNING, "Error copying file", ex);
-                }
+        private boolean copyFile(String pathIni, File videoFile)  {
+            URL resource = DefaultVideoService.class.getResource(pathIni);
+            if (resource == null) {
+                return false;
+            }
+            try {
+                storageService.copy(resource, videoFile);
+                return true;
             } catch (IOException ex) {
                 LOG.log(Level.WARNING, "Error copying file", ex);
             }